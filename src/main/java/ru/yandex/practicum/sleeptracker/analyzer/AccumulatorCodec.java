@@ -0,0 +1,51 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Запись полей аккумуляторов в двоичный вид для {@link SleepReportCache}.
+ */
+final class AccumulatorCodec {
+
+    private AccumulatorCodec() {
+    }
+
+    static void writeDateTime(DataOutput out, LocalDateTime dateTime) throws IOException {
+        out.writeBoolean(dateTime != null);
+        if (dateTime != null) {
+            out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(dateTime.getNano());
+        }
+    }
+
+    static LocalDateTime readDateTime(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long epochSecond = in.readLong();
+        int nano = in.readInt();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    static void writeCounts(DataOutput out, long[] counts) throws IOException {
+        out.writeInt(counts.length);
+        for (long count : counts) {
+            out.writeLong(count);
+        }
+    }
+
+    static void readCounts(DataInput in, long[] counts) throws IOException {
+        int length = in.readInt();
+        if (length != counts.length) {
+            throw new StreamCorruptedException("Ожидалось " + counts.length + " счетчиков, найдено " + length);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = in.readLong();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+import java.util.List;
+
+/**
+ * Вычисление узла {@link AnalysisRegistry}. В {@code dependencies} доступны только результаты
+ * объявленных зависимостей узла.
+ */
+@FunctionalInterface
+public interface AnalysisComputation {
+    SleepAnalysisResult compute(List<SleepingSession> sessions, AnalysisResults dependencies);
+}
@@ -0,0 +1,91 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Запускает анализы одновременно, у каждого свой лимит времени. Анализ, не уложившийся в лимит,
+ * отменяется и попадает в отчет как {@link AnalysisOutcome.Status#TIMED_OUT}, остальные результаты
+ * возвращаются как обычно и в исходном порядке.
+ */
+public class AnalysisExecutor implements AutoCloseable {
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ExecutorService executor;
+    private final Duration defaultTimeout;
+    private final Map<SleepAnalysisFunction, Duration> timeouts = new IdentityHashMap<>();
+
+    public AnalysisExecutor() {
+        this(Executors.newVirtualThreadPerTaskExecutor(), DEFAULT_TIMEOUT);
+    }
+
+    public AnalysisExecutor(ExecutorService executor, Duration defaultTimeout) {
+        if (defaultTimeout.isNegative() || defaultTimeout.isZero()) {
+            throw new IllegalArgumentException("Лимит времени должен быть положительным: " + defaultTimeout);
+        }
+        this.executor = executor;
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public AnalysisExecutor withTimeout(SleepAnalysisFunction function, Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Лимит времени должен быть положительным: " + timeout);
+        }
+        timeouts.put(function, timeout);
+        return this;
+    }
+
+    public Duration getTimeout(SleepAnalysisFunction function) {
+        return timeouts.getOrDefault(function, defaultTimeout);
+    }
+
+    public List<AnalysisOutcome> run(List<? extends SleepAnalysisFunction> functions, List<SleepingSession> sessions) {
+        long startedAt = System.nanoTime();
+        List<Future<SleepAnalysisResult>> futures = new ArrayList<>(functions.size());
+        for (SleepAnalysisFunction function : functions) {
+            futures.add(executor.submit(() -> function.analyze(sessions)));
+        }
+
+        List<AnalysisOutcome> outcomes = new ArrayList<>(functions.size());
+        for (int i = 0; i < functions.size(); i++) {
+            SleepAnalysisFunction function = functions.get(i);
+            Future<SleepAnalysisResult> future = futures.get(i);
+            Duration timeout = getTimeout(function);
+            long remaining = startedAt + timeout.toNanos() - System.nanoTime();
+            try {
+                outcomes.add(AnalysisOutcome.completed(function,
+                        future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS)));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                outcomes.add(AnalysisOutcome.timedOut(function, timeout));
+            } catch (ExecutionException e) {
+                outcomes.add(AnalysisOutcome.failed(function, e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (int j = i; j < functions.size(); j++) {
+                    futures.get(j).cancel(true);
+                    outcomes.add(AnalysisOutcome.failed(functions.get(j), e));
+                }
+                break;
+            }
+        }
+        return outcomes;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,56 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Стабильный идентификатор анализа в {@link AnalysisRegistry}. В отличие от локализованного описания
+ * результата, идентификатор не меняется, поэтому производные анализы и вывод ищут результаты по нему.
+ */
+public final class AnalysisId {
+    public static final AnalysisId REPORT = new AnalysisId("report");
+    public static final AnalysisId TOTAL_SESSIONS = new AnalysisId("total-sessions");
+    public static final AnalysisId MIN_DURATION = new AnalysisId("min-duration");
+    public static final AnalysisId MAX_DURATION = new AnalysisId("max-duration");
+    public static final AnalysisId AVERAGE_DURATION = new AnalysisId("average-duration");
+    public static final AnalysisId BAD_QUALITY_SESSIONS = new AnalysisId("bad-quality-sessions");
+    public static final AnalysisId SLEEPLESS_NIGHTS = new AnalysisId("sleepless-nights");
+    public static final AnalysisId CHRONOTYPE = new AnalysisId("chronotype");
+    public static final AnalysisId NIGHT_SESSIONS = new AnalysisId("night-sessions");
+
+    // Порядок вывода встроенных анализов; результаты берутся из SleepReport по идентификатору
+    public static final List<AnalysisId> BUILT_IN = List.of(TOTAL_SESSIONS, MIN_DURATION, MAX_DURATION,
+            AVERAGE_DURATION, BAD_QUALITY_SESSIONS, SLEEPLESS_NIGHTS, CHRONOTYPE);
+
+    private final String value;
+
+    private AnalysisId(String value) {
+        this.value = value;
+    }
+
+    public static AnalysisId of(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Идентификатор анализа не может быть пустым");
+        }
+        return new AnalysisId(value);
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof AnalysisId other && value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value);
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,77 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+
+import java.time.Duration;
+
+public final class AnalysisOutcome {
+    public enum Status {
+        COMPLETED,
+        TIMED_OUT,
+        FAILED
+    }
+
+    private final SleepAnalysisFunction function;
+    private final Status status;
+    private final SleepAnalysisResult result;
+    private final Throwable error;
+    private final Duration timeout;
+
+    private AnalysisOutcome(SleepAnalysisFunction function, Status status, SleepAnalysisResult result,
+                            Throwable error, Duration timeout) {
+        this.function = function;
+        this.status = status;
+        this.result = result;
+        this.error = error;
+        this.timeout = timeout;
+    }
+
+    static AnalysisOutcome completed(SleepAnalysisFunction function, SleepAnalysisResult result) {
+        return new AnalysisOutcome(function, Status.COMPLETED, result, null, null);
+    }
+
+    static AnalysisOutcome timedOut(SleepAnalysisFunction function, Duration timeout) {
+        return new AnalysisOutcome(function, Status.TIMED_OUT, null, null, timeout);
+    }
+
+    static AnalysisOutcome failed(SleepAnalysisFunction function, Throwable error) {
+        return new AnalysisOutcome(function, Status.FAILED, null, error, null);
+    }
+
+    public SleepAnalysisFunction getFunction() {
+        return function;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+
+    public SleepAnalysisResult getResult() {
+        return result;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    public SleepAnalysisResult toResult() {
+        switch (status) {
+            case COMPLETED:
+                return result;
+            case TIMED_OUT:
+                return new SleepAnalysisResult("Анализ " + functionName(),
+                        "превышено время ожидания (" + timeout.toMillis() + " мс)");
+            default:
+                return new SleepAnalysisResult("Анализ " + functionName(), "ошибка: " + error.getMessage());
+        }
+    }
+
+    private String functionName() {
+        String name = function.getClass().getSimpleName();
+        return name.isEmpty() || name.contains("$$Lambda") ? "пользователя" : name;
+    }
+}
@@ -0,0 +1,145 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.LongAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepReport;
+import ru.yandex.practicum.sleeptracker.model.TypedAnalysisResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Анализы, зарегистрированные под стабильными идентификаторами, вместе с зависимостями между ними.
+ * Зависимости могут ссылаться на узлы, зарегистрированные позже; отсутствующие узлы и циклы
+ * обнаруживаются при построении порядка вычисления.
+ */
+public class AnalysisRegistry {
+    private final Map<AnalysisId, Node> nodes = new LinkedHashMap<>();
+
+    public static AnalysisRegistry withBuiltInAnalyses() {
+        return withBuiltInAnalyses(new ParallelAnalysisEngine());
+    }
+
+    public static AnalysisRegistry withBuiltInAnalyses(ParallelAnalysisEngine engine) {
+        AnalysisRegistry registry = new AnalysisRegistry();
+        registry.register(AnalysisId.REPORT, List.of(),
+                (sessions, dependencies) -> reportResult(engine.report(sessions)));
+        for (AnalysisId id : AnalysisId.BUILT_IN) {
+            registry.register(id, List.of(AnalysisId.REPORT),
+                    (sessions, dependencies) -> builtInResult(report(dependencies), id));
+        }
+        registry.register(AnalysisId.NIGHT_SESSIONS, List.of(AnalysisId.REPORT),
+                (sessions, dependencies) -> new LongAnalysisResult("Количество ночных сессий",
+                        report(dependencies).getNightSessionsCount()));
+        return registry;
+    }
+
+    public static TypedAnalysisResult<SleepReport> reportResult(SleepReport report) {
+        return new TypedAnalysisResult<>("Отчет о сне", report);
+    }
+
+    public AnalysisRegistry register(AnalysisId id, SleepAnalysisFunction function) {
+        Objects.requireNonNull(function);
+        return register(id, List.of(), (sessions, dependencies) -> function.analyze(sessions));
+    }
+
+    public AnalysisRegistry register(AnalysisId id, List<AnalysisId> dependencies, AnalysisComputation computation) {
+        Objects.requireNonNull(id);
+        Objects.requireNonNull(computation);
+        if (nodes.containsKey(id)) {
+            throw new IllegalArgumentException("Анализ " + id + " уже зарегистрирован");
+        }
+        if (dependencies.contains(id)) {
+            throw new IllegalArgumentException("Анализ " + id + " не может зависеть от самого себя");
+        }
+        nodes.put(id, new Node(List.copyOf(dependencies), computation));
+        return this;
+    }
+
+    public boolean contains(AnalysisId id) {
+        return nodes.containsKey(id);
+    }
+
+    public Set<AnalysisId> getIds() {
+        return nodes.keySet();
+    }
+
+    public List<AnalysisId> getDependencies(AnalysisId id) {
+        return node(id).dependencies;
+    }
+
+    AnalysisComputation getComputation(AnalysisId id) {
+        return node(id).computation;
+    }
+
+    // Алгоритм Кана: порядок, в котором каждый узел идет после всех своих зависимостей
+    List<AnalysisId> topologicalOrder() {
+        Map<AnalysisId, Integer> pending = new HashMap<>();
+        Map<AnalysisId, List<AnalysisId>> dependents = new HashMap<>();
+        for (Map.Entry<AnalysisId, Node> entry : nodes.entrySet()) {
+            for (AnalysisId dependency : entry.getValue().dependencies) {
+                if (!nodes.containsKey(dependency)) {
+                    throw new IllegalStateException("Анализ " + entry.getKey()
+                            + " зависит от незарегистрированного анализа " + dependency);
+                }
+                dependents.computeIfAbsent(dependency, id -> new ArrayList<>()).add(entry.getKey());
+            }
+            pending.put(entry.getKey(), entry.getValue().dependencies.size());
+        }
+
+        List<AnalysisId> order = new ArrayList<>(nodes.size());
+        for (AnalysisId id : nodes.keySet()) {
+            if (pending.get(id) == 0) {
+                order.add(id);
+            }
+        }
+        for (int i = 0; i < order.size(); i++) {
+            for (AnalysisId dependent : dependents.getOrDefault(order.get(i), List.of())) {
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    order.add(dependent);
+                }
+            }
+        }
+        if (order.size() != nodes.size()) {
+            List<AnalysisId> cyclic = new ArrayList<>(nodes.keySet());
+            cyclic.removeAll(order);
+            throw new IllegalStateException("Циклическая зависимость между анализами " + cyclic);
+        }
+        return order;
+    }
+
+    private Node node(AnalysisId id) {
+        Node node = nodes.get(id);
+        if (node == null) {
+            throw new IllegalArgumentException("Анализ " + id + " не зарегистрирован");
+        }
+        return node;
+    }
+
+    private static SleepAnalysisResult builtInResult(SleepReport report, AnalysisId id) {
+        SleepAnalysisResult result = report.getResult(id.getValue());
+        if (result == null) {
+            throw new IllegalStateException("Отчет не содержит результата анализа " + id);
+        }
+        return result;
+    }
+
+    private static SleepReport report(AnalysisResults dependencies) {
+        return dependencies.getValue(AnalysisId.REPORT, SleepReport.class);
+    }
+
+    private static final class Node {
+        private final List<AnalysisId> dependencies;
+        private final AnalysisComputation computation;
+
+        Node(List<AnalysisId> dependencies, AnalysisComputation computation) {
+            this.dependencies = dependencies;
+            this.computation = computation;
+        }
+    }
+}
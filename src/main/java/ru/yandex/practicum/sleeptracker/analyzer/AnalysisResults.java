@@ -0,0 +1,75 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.DoubleAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.LongAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+public final class AnalysisResults {
+    private static final AnalysisResults EMPTY = new AnalysisResults(Map.of());
+
+    private final Map<AnalysisId, SleepAnalysisResult> results;
+
+    private AnalysisResults(Map<AnalysisId, SleepAnalysisResult> results) {
+        this.results = results;
+    }
+
+    public static AnalysisResults empty() {
+        return EMPTY;
+    }
+
+    public static AnalysisResults of(AnalysisId id, SleepAnalysisResult result) {
+        return of(Map.of(id, result));
+    }
+
+    public static AnalysisResults of(Map<AnalysisId, ? extends SleepAnalysisResult> results) {
+        return new AnalysisResults(Collections.unmodifiableMap(new LinkedHashMap<>(results)));
+    }
+
+    public boolean contains(AnalysisId id) {
+        return results.containsKey(id);
+    }
+
+    public Set<AnalysisId> getIds() {
+        return results.keySet();
+    }
+
+    public SleepAnalysisResult get(AnalysisId id) {
+        SleepAnalysisResult result = results.get(id);
+        if (result == null) {
+            throw new NoSuchElementException("Нет результата анализа " + id);
+        }
+        return result;
+    }
+
+    public long getLong(AnalysisId id) {
+        SleepAnalysisResult result = get(id);
+        if (result instanceof LongAnalysisResult longResult) {
+            return longResult.getValue();
+        }
+        return getValue(id, Number.class).longValue();
+    }
+
+    public double getDouble(AnalysisId id) {
+        SleepAnalysisResult result = get(id);
+        if (result instanceof DoubleAnalysisResult doubleResult) {
+            return doubleResult.getValue();
+        }
+        return getValue(id, Number.class).doubleValue();
+    }
+
+    public <T> T getValue(AnalysisId id, Class<T> type) {
+        Object value = get(id).getResult();
+        if (!type.isInstance(value)) {
+            throw new IllegalStateException("Результат анализа " + id + " имеет тип "
+                    + (value == null ? "null" : value.getClass().getSimpleName())
+                    + ", а не " + type.getSimpleName());
+        }
+        return type.cast(value);
+    }
+}
@@ -0,0 +1,85 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Вычисляет граф анализов из {@link AnalysisRegistry}: каждый узел считается не более одного раза,
+ * запускается, как только готовы его зависимости, а независимые ветви выполняются параллельно.
+ * Ошибка узла делает недоступными все зависящие от него узлы и пробрасывается из {@link #run}.
+ */
+public class AnalysisScheduler {
+    private final Executor executor;
+
+    public AnalysisScheduler() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public AnalysisScheduler(Executor executor) {
+        this.executor = executor;
+    }
+
+    public AnalysisResults run(AnalysisRegistry registry, List<SleepingSession> sessions) {
+        return run(registry, sessions, AnalysisResults.empty());
+    }
+
+    public AnalysisResults run(AnalysisRegistry registry, List<SleepingSession> sessions, AnalysisResults known) {
+        Map<AnalysisId, CompletableFuture<SleepAnalysisResult>> futures = new HashMap<>();
+        for (AnalysisId id : registry.topologicalOrder()) {
+            if (known.contains(id)) {
+                futures.put(id, CompletableFuture.completedFuture(known.get(id)));
+                continue;
+            }
+            Map<AnalysisId, CompletableFuture<SleepAnalysisResult>> upstream = new LinkedHashMap<>();
+            for (AnalysisId dependency : registry.getDependencies(id)) {
+                upstream.put(dependency, futures.get(dependency));
+            }
+            AnalysisComputation computation = registry.getComputation(id);
+            futures.put(id, CompletableFuture.allOf(upstream.values().toArray(CompletableFuture[]::new))
+                    .thenApplyAsync(ignored -> compute(id, computation, sessions, collect(upstream)), executor));
+        }
+
+        Map<AnalysisId, SleepAnalysisResult> results = new LinkedHashMap<>();
+        try {
+            for (AnalysisId id : registry.getIds()) {
+                results.put(id, futures.get(id).join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return AnalysisResults.of(results);
+    }
+
+    private static SleepAnalysisResult compute(AnalysisId id, AnalysisComputation computation,
+                                               List<SleepingSession> sessions, AnalysisResults dependencies) {
+        SleepAnalysisResult result;
+        try {
+            result = computation.compute(sessions, dependencies);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Анализ " + id + " завершился с ошибкой: " + e.getMessage(), e);
+        }
+        if (result == null) {
+            throw new IllegalStateException("Анализ " + id + " не вернул результат");
+        }
+        return result;
+    }
+
+    // Вызывается, когда все зависимости уже завершены, поэтому join не блокирует
+    private static AnalysisResults collect(Map<AnalysisId, CompletableFuture<SleepAnalysisResult>> upstream) {
+        Map<AnalysisId, SleepAnalysisResult> results = new LinkedHashMap<>();
+        upstream.forEach((dependency, future) -> results.put(dependency, future.join()));
+        return AnalysisResults.of(results);
+    }
+}
@@ -1,18 +1,63 @@
 package ru.yandex.practicum.sleeptracker.analyzer;
 
-import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.DoubleAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SessionField;
 import ru.yandex.practicum.sleeptracker.model.SleepingSession;
-import java.util.List;
-import java.util.Locale;
 
-public class AverageDurationAnalysis implements SleepAnalysisFunction {
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class AverageDurationAnalysis implements MergeableSleepAnalysis<AverageDurationAnalysis.Accumulator> {
+    static final String DESCRIPTION = "Средняя продолжительность сессии (в минутах)";
+
+    @Override
+    public Set<SessionField> getRequiredFields() {
+        return EnumSet.of(SessionField.START, SessionField.END);
+    }
+
+    @Override
+    public Accumulator createAccumulator() {
+        return new Accumulator();
+    }
+
+    @Override
+    public void accumulate(Accumulator accumulator, SleepingSession session) {
+        accumulator.totalDuration += session.getDurationInMinutes();
+        accumulator.count++;
+    }
+
     @Override
-    public SleepAnalysisResult analyze(List<SleepingSession> sessions) {
-        double averageDuration = sessions.stream()
-                .mapToLong(SleepingSession::getDurationInMinutes)
-                .average()
-                .orElse(0.0);
-        return new SleepAnalysisResult("Средняя продолжительность сессии (в минутах)",
-                String.format(Locale.US, "%.1f", averageDuration));
+    public Accumulator combine(Accumulator left, Accumulator right) {
+        left.totalDuration += right.totalDuration;
+        left.count += right.count;
+        return left;
+    }
+
+    @Override
+    public DoubleAnalysisResult finish(Accumulator accumulator) {
+        return result(accumulator.totalDuration, accumulator.count);
+    }
+
+    static DoubleAnalysisResult result(long totalDuration, long count) {
+        double averageDuration = count == 0 ? 0.0 : (double) totalDuration / count;
+        return new DoubleAnalysisResult(DESCRIPTION, averageDuration);
+    }
+
+    public static final class Accumulator {
+        private long totalDuration;
+        private long count;
+
+        void writeTo(DataOutput out) throws IOException {
+            out.writeLong(totalDuration);
+            out.writeLong(count);
+        }
+
+        void readFrom(DataInput in) throws IOException {
+            totalDuration = in.readLong();
+            count = in.readLong();
+        }
     }
-}
\ No newline at end of file
+}
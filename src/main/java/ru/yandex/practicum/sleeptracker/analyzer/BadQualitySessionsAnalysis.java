@@ -1,16 +1,65 @@
 package ru.yandex.practicum.sleeptracker.analyzer;
 
-import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.LongAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SessionField;
 import ru.yandex.practicum.sleeptracker.model.SleepQuality;
 import ru.yandex.practicum.sleeptracker.model.SleepingSession;
-import java.util.List;
 
-public class BadQualitySessionsAnalysis implements SleepAnalysisFunction {
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class BadQualitySessionsAnalysis implements MergeableSleepAnalysis<BadQualitySessionsAnalysis.Accumulator> {
+    static final String DESCRIPTION = "Количество сессий с плохим качеством сна";
+
+    @Override
+    public Set<SessionField> getRequiredFields() {
+        return EnumSet.of(SessionField.QUALITY);
+    }
+
+    @Override
+    public Accumulator createAccumulator() {
+        return new Accumulator();
+    }
+
+    @Override
+    public void accumulate(Accumulator accumulator, SleepingSession session) {
+        accumulator.qualityCounts[session.getQuality().ordinal()]++;
+    }
+
     @Override
-    public SleepAnalysisResult analyze(List<SleepingSession> sessions) {
-        long badSessionsCount = sessions.stream()
-                .filter(session -> session.getQuality() == SleepQuality.BAD)
-                .count();
-        return new SleepAnalysisResult("Количество сессий с плохим качеством сна", badSessionsCount);
+    public Accumulator combine(Accumulator left, Accumulator right) {
+        for (int i = 0; i < left.qualityCounts.length; i++) {
+            left.qualityCounts[i] += right.qualityCounts[i];
+        }
+        return left;
+    }
+
+    @Override
+    public LongAnalysisResult finish(Accumulator accumulator) {
+        return new LongAnalysisResult(DESCRIPTION, accumulator.getCount(SleepQuality.BAD));
+    }
+
+    // Считаются сессии каждого качества: из этого же счетчика отчет берет разбивку по качеству
+    public static final class Accumulator {
+        private final long[] qualityCounts = new long[SleepQuality.values().length];
+
+        long getCount(SleepQuality quality) {
+            return qualityCounts[quality.ordinal()];
+        }
+
+        long[] getCounts() {
+            return qualityCounts.clone();
+        }
+
+        void writeTo(DataOutput out) throws IOException {
+            AccumulatorCodec.writeCounts(out, qualityCounts);
+        }
+
+        void readFrom(DataInput in) throws IOException {
+            AccumulatorCodec.readCounts(in, qualityCounts);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,80 +1,92 @@
 package ru.yandex.practicum.sleeptracker.analyzer;
 
 import ru.yandex.practicum.sleeptracker.model.Chronotype;
-import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.EnumAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SessionField;
 import ru.yandex.practicum.sleeptracker.model.SleepingSession;
 import ru.yandex.practicum.sleeptracker.util.NightUtils;
 
-import java.time.LocalTime;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
 
-public class ChronotypeAnalysis implements SleepAnalysisFunction {
-    @Override
-    public SleepAnalysisResult analyze(List<SleepingSession> sessions) {
-        if (sessions.isEmpty()) {
-            return new SleepAnalysisResult("Хронотип пользователя", Chronotype.DOVE);
-        }
+public class ChronotypeAnalysis implements MergeableSleepAnalysis<ChronotypeAnalysis.Accumulator> {
+    static final String DESCRIPTION = "Хронотип пользователя";
+    private static final Chronotype[] CHRONOTYPES = Chronotype.values();
 
-        Map<Chronotype, Long> chronotypeCounts = sessions.stream()
-                .filter(NightUtils::overlapsNightInterval)
-                .map(this::determineChronotypeForSession)
-                .collect(Collectors.groupingBy(
-                        chronotype -> chronotype,
-                        Collectors.counting()
-                ));
+    private final ChronotypeClassifier classifier;
 
-        Chronotype dominantChronotype = determineDominantChronotype(chronotypeCounts);
-        return new SleepAnalysisResult("Хронотип пользователя", dominantChronotype);
+    public ChronotypeAnalysis() {
+        this(ChronotypeClassifier.DEFAULT);
     }
 
-    private Chronotype determineChronotypeForSession(SleepingSession session) {
-        LocalTime sleepTime = session.getSleepStart().toLocalTime();
-        LocalTime wakeTime = session.getSleepEnd().toLocalTime();
-
-        LocalTime owlSleepThreshold = LocalTime.of(23, 0);
-        LocalTime owlWakeThreshold = LocalTime.of(9, 0);
-        LocalTime birdSleepThreshold = LocalTime.of(22, 0);
-        LocalTime birdWakeThreshold = LocalTime.of(7, 0);
+    public ChronotypeAnalysis(ChronotypeClassifier classifier) {
+        this.classifier = classifier;
+    }
 
-        boolean sleepAfter23 = sleepTime.isAfter(owlSleepThreshold);
-        boolean wakeAfter9 = wakeTime.isAfter(owlWakeThreshold);
-        boolean differentDay = session.getSleepEnd().toLocalDate().isAfter(session.getSleepStart().toLocalDate());
+    @Override
+    public Set<SessionField> getRequiredFields() {
+        return EnumSet.of(SessionField.START, SessionField.END);
+    }
 
-        boolean isOwl = sleepAfter23 && wakeAfter9;
+    @Override
+    public Accumulator createAccumulator() {
+        return new Accumulator();
+    }
 
-        boolean isBird = sleepTime.isBefore(birdSleepThreshold) &&
-                wakeTime.isBefore(birdWakeThreshold);
+    @Override
+    public void accumulate(Accumulator accumulator, SleepingSession session) {
+        accumulate(accumulator, session, NightUtils.overlapsNightInterval(session));
+    }
 
-        if (isOwl) {
-            return Chronotype.NIGHT_OWL;
-        } else if (isBird) {
-            return Chronotype.EARLY_BIRD;
-        } else {
-            return Chronotype.DOVE;
+    void accumulate(Accumulator accumulator, SleepingSession session, boolean overlapsNight) {
+        if (overlapsNight) {
+            accumulator.chronotypeCounts[classifier.classify(session).ordinal()]++;
         }
     }
 
-    private Chronotype determineDominantChronotype(Map<Chronotype, Long> counts) {
-        if (counts.isEmpty()) {
-            return Chronotype.DOVE;
+    @Override
+    public Accumulator combine(Accumulator left, Accumulator right) {
+        for (int i = 0; i < left.chronotypeCounts.length; i++) {
+            left.chronotypeCounts[i] += right.chronotypeCounts[i];
         }
+        return left;
+    }
 
-        long maxCount = counts.values().stream()
-                .mapToLong(Long::longValue)
-                .max()
-                .orElse(0);
+    @Override
+    public EnumAnalysisResult<Chronotype> finish(Accumulator accumulator) {
+        Chronotype dominantChronotype = determineDominantChronotype(accumulator.chronotypeCounts);
+        return new EnumAnalysisResult<>(DESCRIPTION, dominantChronotype);
+    }
 
-        List<Chronotype> dominantTypes = counts.entrySet().stream()
-                .filter(entry -> entry.getValue() == maxCount)
-                .map(Map.Entry::getKey)
-                .toList();
+    static Chronotype determineDominantChronotype(long[] counts) {
+        long maxCount = 0;
+        Chronotype dominant = Chronotype.DOVE;
+        boolean tie = false;
+        for (Chronotype chronotype : CHRONOTYPES) {
+            long count = counts[chronotype.ordinal()];
+            if (count > maxCount) {
+                maxCount = count;
+                dominant = chronotype;
+                tie = false;
+            } else if (count == maxCount && count > 0) {
+                tie = true;
+            }
+        }
+        return tie ? Chronotype.DOVE : dominant;
+    }
 
-        if (dominantTypes.size() > 1) {
-            return Chronotype.DOVE;
+    public static final class Accumulator {
+        private final long[] chronotypeCounts = new long[CHRONOTYPES.length];
+
+        void writeTo(DataOutput out) throws IOException {
+            AccumulatorCodec.writeCounts(out, chronotypeCounts);
         }
 
-        return dominantTypes.get(0);
+        void readFrom(DataInput in) throws IOException {
+            AccumulatorCodec.readCounts(in, chronotypeCounts);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.Chronotype;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import ru.yandex.practicum.sleeptracker.util.EpochMinutes;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Определяет хронотип сессии по таблицам, построенным для заданных порогов.
+ * Сова засыпает позже {@code owlSleepAfter} и просыпается позже {@code owlWakeAfter},
+ * жаворонок засыпает раньше {@code birdSleepBefore} и просыпается раньше {@code birdWakeBefore},
+ * остальные сессии - голубь.
+ *
+ * <p>Таблицы индексируются половинами минут: время с секундами попадает в ячейку между соседними минутами,
+ * поэтому строгие сравнения с порогами остаются точными. Новые пороги - новый экземпляр с новыми таблицами.
+ */
+public final class ChronotypeClassifier {
+    public static final ChronotypeClassifier DEFAULT = new ChronotypeClassifier(
+            LocalTime.of(23, 0), LocalTime.of(9, 0), LocalTime.of(22, 0), LocalTime.of(7, 0));
+
+    private static final int OWL = 1;
+    private static final int BIRD = 2;
+    private static final int SLOTS = EpochMinutes.MINUTES_PER_DAY * 2;
+    private static final Chronotype[] CHRONOTYPE_BY_FLAGS = {
+            Chronotype.DOVE, Chronotype.NIGHT_OWL, Chronotype.EARLY_BIRD, Chronotype.NIGHT_OWL
+    };
+
+    private final LocalTime owlSleepAfter;
+    private final LocalTime owlWakeAfter;
+    private final LocalTime birdSleepBefore;
+    private final LocalTime birdWakeBefore;
+    private final byte[] sleepFlags = new byte[SLOTS];
+    private final byte[] wakeFlags = new byte[SLOTS];
+
+    public ChronotypeClassifier(LocalTime owlSleepAfter, LocalTime owlWakeAfter,
+                                LocalTime birdSleepBefore, LocalTime birdWakeBefore) {
+        this.owlSleepAfter = Objects.requireNonNull(owlSleepAfter);
+        this.owlWakeAfter = Objects.requireNonNull(owlWakeAfter);
+        this.birdSleepBefore = Objects.requireNonNull(birdSleepBefore);
+        this.birdWakeBefore = Objects.requireNonNull(birdWakeBefore);
+        fill(sleepFlags, owlSleepAfter, birdSleepBefore);
+        fill(wakeFlags, owlWakeAfter, birdWakeBefore);
+    }
+
+    public ChronotypeClassifier withOwlThresholds(LocalTime sleepAfter, LocalTime wakeAfter) {
+        return new ChronotypeClassifier(sleepAfter, wakeAfter, birdSleepBefore, birdWakeBefore);
+    }
+
+    public ChronotypeClassifier withBirdThresholds(LocalTime sleepBefore, LocalTime wakeBefore) {
+        return new ChronotypeClassifier(owlSleepAfter, owlWakeAfter, sleepBefore, wakeBefore);
+    }
+
+    public Chronotype classify(SleepingSession session) {
+        return classify(session.getSleepStart(), session.getSleepEnd());
+    }
+
+    public Chronotype classify(LocalDateTime sleepStart, LocalDateTime sleepEnd) {
+        return CHRONOTYPE_BY_FLAGS[sleepFlags[slot(sleepStart.toLocalTime())] & wakeFlags[slot(sleepEnd.toLocalTime())]];
+    }
+
+    public Chronotype classifyEpochMinutes(long startMinute, long endMinute) {
+        return CHRONOTYPE_BY_FLAGS[flags(
+                EpochMinutes.minuteOfDay(startMinute), EpochMinutes.minuteOfDay(endMinute))];
+    }
+
+    public int classifyOrdinal(int sleepMinuteOfDay, int wakeMinuteOfDay) {
+        return CHRONOTYPE_BY_FLAGS[flags(sleepMinuteOfDay, wakeMinuteOfDay)].ordinal();
+    }
+
+    public LocalTime getOwlSleepAfter() {
+        return owlSleepAfter;
+    }
+
+    public LocalTime getOwlWakeAfter() {
+        return owlWakeAfter;
+    }
+
+    public LocalTime getBirdSleepBefore() {
+        return birdSleepBefore;
+    }
+
+    public LocalTime getBirdWakeBefore() {
+        return birdWakeBefore;
+    }
+
+    private int flags(int sleepMinuteOfDay, int wakeMinuteOfDay) {
+        return sleepFlags[sleepMinuteOfDay << 1] & wakeFlags[wakeMinuteOfDay << 1];
+    }
+
+    // Порог всегда целая минута и лежит в четной ячейке; нечетная ячейка - время строго между минутами
+    private static void fill(byte[] flags, LocalTime owlAfter, LocalTime birdBefore) {
+        int owlSlot = thresholdSlot(owlAfter);
+        int birdSlot = thresholdSlot(birdBefore);
+        for (int i = 0; i < SLOTS; i++) {
+            flags[i] = (byte) ((i > owlSlot ? OWL : 0) | (i < birdSlot ? BIRD : 0));
+        }
+    }
+
+    private static int thresholdSlot(LocalTime threshold) {
+        if (threshold.getSecond() != 0 || threshold.getNano() != 0) {
+            throw new IllegalArgumentException("Порог хронотипа задается с точностью до минуты: " + threshold);
+        }
+        return slot(threshold);
+    }
+
+    private static int slot(LocalTime time) {
+        int slot = (time.getHour() * 60 + time.getMinute()) << 1;
+        return time.getSecond() != 0 || time.getNano() != 0 ? slot + 1 : slot;
+    }
+}
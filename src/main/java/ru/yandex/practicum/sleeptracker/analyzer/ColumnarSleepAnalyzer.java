@@ -0,0 +1,64 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.ColumnAggregates;
+import ru.yandex.practicum.sleeptracker.model.ColumnKernels;
+import ru.yandex.practicum.sleeptracker.model.SessionColumns;
+import ru.yandex.practicum.sleeptracker.model.LongAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Считает агрегатные анализы (количество, минимум, максимум, среднее и плохие сессии) прямо по колонкам
+ * {@link SessionColumns}, без объектов {@code SleepingSession}. Результаты совпадают с обычными анализами.
+ * Агрегаты считаются ядрами {@link ColumnKernels#best()}: на Vector API, если модуль подключен, иначе скалярными.
+ */
+public final class ColumnarSleepAnalyzer {
+    public static final Set<AnalysisId> SUPPORTED_IDS = Set.of(AnalysisId.TOTAL_SESSIONS, AnalysisId.MIN_DURATION,
+            AnalysisId.MAX_DURATION, AnalysisId.AVERAGE_DURATION, AnalysisId.BAD_QUALITY_SESSIONS);
+
+    private ColumnarSleepAnalyzer() {
+    }
+
+    public static List<SleepAnalysisResult> analyze(SessionColumns columns) {
+        return toResults(columns.aggregate());
+    }
+
+    // Результаты в порядке ids; каждый идентификатор должен входить в SUPPORTED_IDS
+    public static List<SleepAnalysisResult> analyze(SessionColumns columns, List<AnalysisId> ids) {
+        Map<AnalysisId, SleepAnalysisResult> results = resultsById(columns.aggregate());
+        List<SleepAnalysisResult> selected = new ArrayList<>(ids.size());
+        for (AnalysisId id : ids) {
+            SleepAnalysisResult result = results.get(id);
+            if (result == null) {
+                throw new IllegalArgumentException("Анализ " + id + " не считается по колонкам");
+            }
+            selected.add(result);
+        }
+        return selected;
+    }
+
+    public static List<SleepAnalysisResult> toResults(ColumnAggregates aggregates) {
+        return List.copyOf(resultsById(aggregates).values());
+    }
+
+    private static Map<AnalysisId, SleepAnalysisResult> resultsById(ColumnAggregates aggregates) {
+        Map<AnalysisId, SleepAnalysisResult> results = new LinkedHashMap<>();
+        results.put(AnalysisId.TOTAL_SESSIONS,
+                new LongAnalysisResult(TotalSessionsAnalysis.DESCRIPTION, aggregates.getCount()));
+        results.put(AnalysisId.MIN_DURATION,
+                new LongAnalysisResult(MinDurationAnalysis.DESCRIPTION, aggregates.getMinDuration()));
+        results.put(AnalysisId.MAX_DURATION,
+                new LongAnalysisResult(MaxDurationAnalysis.DESCRIPTION, aggregates.getMaxDuration()));
+        results.put(AnalysisId.AVERAGE_DURATION,
+                AverageDurationAnalysis.result(aggregates.getTotalDuration(), aggregates.getCount()));
+        results.put(AnalysisId.BAD_QUALITY_SESSIONS, new LongAnalysisResult(BadQualitySessionsAnalysis.DESCRIPTION,
+                aggregates.getQualityCount(SleepQuality.BAD)));
+        return results;
+    }
+}
@@ -0,0 +1,152 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.Chronotype;
+import ru.yandex.practicum.sleeptracker.model.DoubleAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.EnumAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.LongAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepReport;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import ru.yandex.practicum.sleeptracker.util.NightUtils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Считает все встроенные анализы и данные для рекомендаций за один проход по сессиям.
+ * Используются аккумуляторы самих анализов, поэтому результаты совпадают с их {@code analyze}.
+ */
+public class FusedSleepAnalyzer implements Consumer<SleepingSession> {
+    public static final int BUILT_IN_ANALYSES = 7;
+    // Меняется вместе с логикой анализов или форматом writeTo:
+    // сохраненные состояния с другой конфигурацией не используются
+    static final String CONFIGURATION = "fused-2;chronotype=" + ChronotypeClassifier.DEFAULT.getOwlSleepAfter()
+            + "/" + ChronotypeClassifier.DEFAULT.getOwlWakeAfter()
+            + "/" + ChronotypeClassifier.DEFAULT.getBirdSleepBefore()
+            + "/" + ChronotypeClassifier.DEFAULT.getBirdWakeBefore();
+
+    private static final TotalSessionsAnalysis TOTAL = new TotalSessionsAnalysis();
+    private static final MinDurationAnalysis MIN = new MinDurationAnalysis();
+    private static final MaxDurationAnalysis MAX = new MaxDurationAnalysis();
+    private static final AverageDurationAnalysis AVERAGE = new AverageDurationAnalysis();
+    private static final BadQualitySessionsAnalysis BAD_QUALITY = new BadQualitySessionsAnalysis();
+    private static final SleeplessNightsAnalysis SLEEPLESS_NIGHTS = new SleeplessNightsAnalysis();
+    private static final ChronotypeAnalysis CHRONOTYPE = new ChronotypeAnalysis();
+
+    private final TotalSessionsAnalysis.Accumulator total = TOTAL.createAccumulator();
+    private final MinDurationAnalysis.Accumulator min = MIN.createAccumulator();
+    private final MaxDurationAnalysis.Accumulator max = MAX.createAccumulator();
+    private final AverageDurationAnalysis.Accumulator average = AVERAGE.createAccumulator();
+    private final BadQualitySessionsAnalysis.Accumulator badQuality = BAD_QUALITY.createAccumulator();
+    private final SleeplessNightsAnalysis.Accumulator sleeplessNights = SLEEPLESS_NIGHTS.createAccumulator();
+    private final ChronotypeAnalysis.Accumulator chronotype = CHRONOTYPE.createAccumulator();
+
+    // Состояние, которого нет в аккумуляторах анализов
+    private long nightSessionsCount;
+    private LocalDateTime firstSleepStart;
+    private LocalDateTime lastSleepEnd;
+
+    public static SleepReport analyze(Iterable<SleepingSession> sessions) {
+        FusedSleepAnalyzer analyzer = new FusedSleepAnalyzer();
+        for (SleepingSession session : sessions) {
+            analyzer.accept(session);
+        }
+        return analyzer.getReport();
+    }
+
+    @Override
+    public void accept(SleepingSession session) {
+        boolean overlapsNight = NightUtils.overlapsNightInterval(session);
+
+        TOTAL.accumulate(total, session);
+        MIN.accumulate(min, session);
+        MAX.accumulate(max, session);
+        AVERAGE.accumulate(average, session);
+        BAD_QUALITY.accumulate(badQuality, session);
+        SLEEPLESS_NIGHTS.accumulate(sleeplessNights, session, overlapsNight);
+        CHRONOTYPE.accumulate(chronotype, session, overlapsNight);
+
+        int hour = session.getSleepStart().getHour();
+        if (hour >= 22 || hour < 6) {
+            nightSessionsCount++;
+        }
+        if (firstSleepStart == null) {
+            firstSleepStart = session.getSleepStart();
+        }
+        lastSleepEnd = session.getSleepEnd();
+    }
+
+    public FusedSleepAnalyzer combine(FusedSleepAnalyzer right) {
+        TOTAL.combine(total, right.total);
+        MIN.combine(min, right.min);
+        MAX.combine(max, right.max);
+        AVERAGE.combine(average, right.average);
+        BAD_QUALITY.combine(badQuality, right.badQuality);
+        SLEEPLESS_NIGHTS.combine(sleeplessNights, right.sleeplessNights);
+        CHRONOTYPE.combine(chronotype, right.chronotype);
+
+        nightSessionsCount += right.nightSessionsCount;
+        if (firstSleepStart == null) {
+            firstSleepStart = right.firstSleepStart;
+        }
+        if (right.lastSleepEnd != null) {
+            lastSleepEnd = right.lastSleepEnd;
+        }
+        return this;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        total.writeTo(out);
+        min.writeTo(out);
+        max.writeTo(out);
+        average.writeTo(out);
+        badQuality.writeTo(out);
+        sleeplessNights.writeTo(out);
+        chronotype.writeTo(out);
+
+        out.writeLong(nightSessionsCount);
+        AccumulatorCodec.writeDateTime(out, firstSleepStart);
+        AccumulatorCodec.writeDateTime(out, lastSleepEnd);
+    }
+
+    static FusedSleepAnalyzer readFrom(DataInput in) throws IOException {
+        FusedSleepAnalyzer analyzer = new FusedSleepAnalyzer();
+        analyzer.total.readFrom(in);
+        analyzer.min.readFrom(in);
+        analyzer.max.readFrom(in);
+        analyzer.average.readFrom(in);
+        analyzer.badQuality.readFrom(in);
+        analyzer.sleeplessNights.readFrom(in);
+        analyzer.chronotype.readFrom(in);
+
+        analyzer.nightSessionsCount = in.readLong();
+        analyzer.firstSleepStart = AccumulatorCodec.readDateTime(in);
+        analyzer.lastSleepEnd = AccumulatorCodec.readDateTime(in);
+        return analyzer;
+    }
+
+    public SleepReport getReport() {
+        LongAnalysisResult totalResult = TOTAL.finish(total);
+        DoubleAnalysisResult averageResult = AVERAGE.finish(average);
+        LongAnalysisResult sleeplessResult = SLEEPLESS_NIGHTS.finish(sleeplessNights);
+        EnumAnalysisResult<Chronotype> chronotypeResult = CHRONOTYPE.finish(chronotype);
+        Map<String, SleepAnalysisResult> results = new LinkedHashMap<>();
+        results.put(AnalysisId.TOTAL_SESSIONS.getValue(), totalResult);
+        results.put(AnalysisId.MIN_DURATION.getValue(), MIN.finish(min));
+        results.put(AnalysisId.MAX_DURATION.getValue(), MAX.finish(max));
+        results.put(AnalysisId.AVERAGE_DURATION.getValue(), averageResult);
+        results.put(AnalysisId.BAD_QUALITY_SESSIONS.getValue(), BAD_QUALITY.finish(badQuality));
+        results.put(AnalysisId.SLEEPLESS_NIGHTS.getValue(), sleeplessResult);
+        results.put(AnalysisId.CHRONOTYPE.getValue(), chronotypeResult);
+
+        return new SleepReport(results, totalResult.getValue(), badQuality.getCounts(), averageResult.getValue(),
+                nightSessionsCount, sleeplessResult.getValue(), chronotypeResult.getValue(),
+                firstSleepStart, lastSleepEnd);
+    }
+}
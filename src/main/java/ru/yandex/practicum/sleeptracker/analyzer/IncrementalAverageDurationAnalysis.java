@@ -0,0 +1,29 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.DoubleAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+public class IncrementalAverageDurationAnalysis implements IncrementalSleepAnalysis {
+    private long totalDuration;
+    private long count;
+
+    @Override
+    public void add(SleepingSession session) {
+        totalDuration += session.getDurationInMinutes();
+        count++;
+    }
+
+    @Override
+    public void remove(SleepingSession session) {
+        if (count == 0) {
+            throw new IllegalStateException("Нет сессий для удаления");
+        }
+        totalDuration -= session.getDurationInMinutes();
+        count--;
+    }
+
+    @Override
+    public DoubleAnalysisResult getResult() {
+        return AverageDurationAnalysis.result(totalDuration, count);
+    }
+}
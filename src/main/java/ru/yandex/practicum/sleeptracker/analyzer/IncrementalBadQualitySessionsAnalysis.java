@@ -0,0 +1,31 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.LongAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+public class IncrementalBadQualitySessionsAnalysis implements IncrementalSleepAnalysis {
+    private long badSessionsCount;
+
+    @Override
+    public void add(SleepingSession session) {
+        if (session.getQuality() == SleepQuality.BAD) {
+            badSessionsCount++;
+        }
+    }
+
+    @Override
+    public void remove(SleepingSession session) {
+        if (session.getQuality() == SleepQuality.BAD) {
+            if (badSessionsCount == 0) {
+                throw new IllegalStateException("Нет сессий для удаления");
+            }
+            badSessionsCount--;
+        }
+    }
+
+    @Override
+    public LongAnalysisResult getResult() {
+        return new LongAnalysisResult(BadQualitySessionsAnalysis.DESCRIPTION, badSessionsCount);
+    }
+}
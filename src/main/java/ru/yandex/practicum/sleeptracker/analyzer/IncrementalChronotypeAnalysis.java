@@ -0,0 +1,43 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.Chronotype;
+import ru.yandex.practicum.sleeptracker.model.EnumAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import ru.yandex.practicum.sleeptracker.util.NightUtils;
+
+public class IncrementalChronotypeAnalysis implements IncrementalSleepAnalysis {
+    private final ChronotypeClassifier classifier;
+    private final long[] chronotypeCounts = new long[Chronotype.values().length];
+
+    public IncrementalChronotypeAnalysis() {
+        this(ChronotypeClassifier.DEFAULT);
+    }
+
+    public IncrementalChronotypeAnalysis(ChronotypeClassifier classifier) {
+        this.classifier = classifier;
+    }
+
+    @Override
+    public void add(SleepingSession session) {
+        if (NightUtils.overlapsNightInterval(session)) {
+            chronotypeCounts[classifier.classify(session).ordinal()]++;
+        }
+    }
+
+    @Override
+    public void remove(SleepingSession session) {
+        if (NightUtils.overlapsNightInterval(session)) {
+            int index = classifier.classify(session).ordinal();
+            if (chronotypeCounts[index] == 0) {
+                throw new IllegalArgumentException("Сессия не была добавлена: " + session);
+            }
+            chronotypeCounts[index]--;
+        }
+    }
+
+    @Override
+    public EnumAnalysisResult<Chronotype> getResult() {
+        return new EnumAnalysisResult<>(ChronotypeAnalysis.DESCRIPTION,
+                ChronotypeAnalysis.determineDominantChronotype(chronotypeCounts));
+    }
+}
@@ -0,0 +1,39 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.LongAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+import java.util.TreeMap;
+
+/**
+ * Хранит мультимножество длительностей, поэтому после удаления текущего
+ * максимума следующий максимум находится за O(log n).
+ */
+public class IncrementalMaxDurationAnalysis implements IncrementalSleepAnalysis {
+    private final TreeMap<Long, Integer> durationCounts = new TreeMap<>();
+
+    @Override
+    public void add(SleepingSession session) {
+        durationCounts.merge(session.getDurationInMinutes(), 1, Integer::sum);
+    }
+
+    @Override
+    public void remove(SleepingSession session) {
+        long duration = session.getDurationInMinutes();
+        Integer count = durationCounts.get(duration);
+        if (count == null) {
+            throw new IllegalArgumentException("Сессия не была добавлена: " + session);
+        }
+        if (count == 1) {
+            durationCounts.remove(duration);
+        } else {
+            durationCounts.put(duration, count - 1);
+        }
+    }
+
+    @Override
+    public LongAnalysisResult getResult() {
+        long maxDuration = durationCounts.isEmpty() ? 0 : durationCounts.lastKey();
+        return new LongAnalysisResult(MaxDurationAnalysis.DESCRIPTION, maxDuration);
+    }
+}
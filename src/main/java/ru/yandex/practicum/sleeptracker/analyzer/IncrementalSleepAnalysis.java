@@ -0,0 +1,17 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+/**
+ * Анализ, результат которого поддерживается при добавлении и удалении отдельных сессий
+ * за O(1) или O(log n), без повторного прохода по всей истории.
+ * Удалять можно только ранее добавленную сессию.
+ */
+public interface IncrementalSleepAnalysis {
+    void add(SleepingSession session);
+
+    void remove(SleepingSession session);
+
+    SleepAnalysisResult getResult();
+}
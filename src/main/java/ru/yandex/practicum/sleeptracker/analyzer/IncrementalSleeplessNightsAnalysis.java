@@ -0,0 +1,58 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.LongAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import ru.yandex.practicum.sleeptracker.util.NightUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Считает бессонные ночи в диапазоне от начала самой ранней сессии до конца самой поздней по началу сессии,
+ * что для журнала, упорядоченного по времени, совпадает с {@link SleeplessNightsAnalysis}.
+ * Для каждой ночи хранится число покрывающих её сессий, поэтому удаление не требует пересчёта.
+ */
+public class IncrementalSleeplessNightsAnalysis implements IncrementalSleepAnalysis {
+    private final TreeMap<LocalDateTime, TreeMap<LocalDateTime, Integer>> endsByStart = new TreeMap<>();
+    private final Map<LocalDate, Integer> sessionsPerNight = new HashMap<>();
+
+    @Override
+    public void add(SleepingSession session) {
+        endsByStart.computeIfAbsent(session.getSleepStart(), start -> new TreeMap<>())
+                .merge(session.getSleepEnd(), 1, Integer::sum);
+        if (NightUtils.overlapsNightInterval(session)) {
+            sessionsPerNight.merge(NightUtils.getNightDate(session), 1, Integer::sum);
+        }
+    }
+
+    @Override
+    public void remove(SleepingSession session) {
+        TreeMap<LocalDateTime, Integer> ends = endsByStart.get(session.getSleepStart());
+        if (ends == null || !ends.containsKey(session.getSleepEnd())) {
+            throw new IllegalArgumentException("Сессия не была добавлена: " + session);
+        }
+        decrement(ends, session.getSleepEnd());
+        if (ends.isEmpty()) {
+            endsByStart.remove(session.getSleepStart());
+        }
+        if (NightUtils.overlapsNightInterval(session)) {
+            decrement(sessionsPerNight, NightUtils.getNightDate(session));
+        }
+    }
+
+    @Override
+    public LongAnalysisResult getResult() {
+        if (endsByStart.isEmpty()) {
+            return SleeplessNightsAnalysis.result(null, null, 0);
+        }
+        return SleeplessNightsAnalysis.result(endsByStart.firstKey(),
+                endsByStart.lastEntry().getValue().lastKey(), sessionsPerNight.size());
+    }
+
+    private static <K> void decrement(Map<K, Integer> counts, K key) {
+        counts.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+    }
+}
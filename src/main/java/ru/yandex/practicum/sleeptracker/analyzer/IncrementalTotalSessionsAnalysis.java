@@ -0,0 +1,26 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.LongAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+public class IncrementalTotalSessionsAnalysis implements IncrementalSleepAnalysis {
+    private long count;
+
+    @Override
+    public void add(SleepingSession session) {
+        count++;
+    }
+
+    @Override
+    public void remove(SleepingSession session) {
+        if (count == 0) {
+            throw new IllegalStateException("Нет сессий для удаления");
+        }
+        count--;
+    }
+
+    @Override
+    public LongAnalysisResult getResult() {
+        return new LongAnalysisResult(TotalSessionsAnalysis.DESCRIPTION, count);
+    }
+}
@@ -1,16 +1,59 @@
 package ru.yandex.practicum.sleeptracker.analyzer;
 
-import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.LongAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SessionField;
 import ru.yandex.practicum.sleeptracker.model.SleepingSession;
-import java.util.List;
 
-public class MaxDurationAnalysis implements SleepAnalysisFunction {
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class MaxDurationAnalysis implements MergeableSleepAnalysis<MaxDurationAnalysis.Accumulator> {
+    static final String DESCRIPTION = "Максимальная продолжительность сессии (в минутах)";
+
+    @Override
+    public Set<SessionField> getRequiredFields() {
+        return EnumSet.of(SessionField.START, SessionField.END);
+    }
+
+    @Override
+    public Accumulator createAccumulator() {
+        return new Accumulator();
+    }
+
+    @Override
+    public void accumulate(Accumulator accumulator, SleepingSession session) {
+        accumulator.maxDuration = Math.max(accumulator.maxDuration, session.getDurationInMinutes());
+        accumulator.empty = false;
+    }
+
+    @Override
+    public Accumulator combine(Accumulator left, Accumulator right) {
+        left.maxDuration = Math.max(left.maxDuration, right.maxDuration);
+        left.empty &= right.empty;
+        return left;
+    }
+
     @Override
-    public SleepAnalysisResult analyze(List<SleepingSession> sessions) {
-        long maxDuration = sessions.stream()
-                .mapToLong(SleepingSession::getDurationInMinutes)
-                .max()
-                .orElse(0);
-        return new SleepAnalysisResult("Максимальная продолжительность сессии (в минутах)", maxDuration);
+    public LongAnalysisResult finish(Accumulator accumulator) {
+        long maxDuration = accumulator.empty ? 0 : accumulator.maxDuration;
+        return new LongAnalysisResult(DESCRIPTION, maxDuration);
+    }
+
+    public static final class Accumulator {
+        private long maxDuration = Long.MIN_VALUE;
+        private boolean empty = true;
+
+        void writeTo(DataOutput out) throws IOException {
+            out.writeLong(maxDuration);
+            out.writeBoolean(empty);
+        }
+
+        void readFrom(DataInput in) throws IOException {
+            maxDuration = in.readLong();
+            empty = in.readBoolean();
+        }
     }
-}
\ No newline at end of file
+}
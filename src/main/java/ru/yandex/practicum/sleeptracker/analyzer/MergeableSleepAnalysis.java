@@ -0,0 +1,10 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+/**
+ * Потоковый анализ, частичные состояния которого можно объединять: входные данные делятся на части,
+ * каждая часть накапливается независимо, а {@link #combine} сливает соседние части.
+ * Левый аргумент {@code combine} всегда предшествует правому в исходном порядке сессий.
+ */
+public interface MergeableSleepAnalysis<A> extends StreamingSleepAnalysis<A> {
+    A combine(A left, A right);
+}
@@ -1,16 +1,59 @@
 package ru.yandex.practicum.sleeptracker.analyzer;
 
-import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.LongAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SessionField;
 import ru.yandex.practicum.sleeptracker.model.SleepingSession;
-import java.util.List;
 
-public class MinDurationAnalysis implements SleepAnalysisFunction {
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class MinDurationAnalysis implements MergeableSleepAnalysis<MinDurationAnalysis.Accumulator> {
+    static final String DESCRIPTION = "Минимальная продолжительность сессии (в минутах)";
+
+    @Override
+    public Set<SessionField> getRequiredFields() {
+        return EnumSet.of(SessionField.START, SessionField.END);
+    }
+
+    @Override
+    public Accumulator createAccumulator() {
+        return new Accumulator();
+    }
+
+    @Override
+    public void accumulate(Accumulator accumulator, SleepingSession session) {
+        accumulator.minDuration = Math.min(accumulator.minDuration, session.getDurationInMinutes());
+        accumulator.empty = false;
+    }
+
+    @Override
+    public Accumulator combine(Accumulator left, Accumulator right) {
+        left.minDuration = Math.min(left.minDuration, right.minDuration);
+        left.empty &= right.empty;
+        return left;
+    }
+
     @Override
-    public SleepAnalysisResult analyze(List<SleepingSession> sessions) {
-        long minDuration = sessions.stream()
-                .mapToLong(SleepingSession::getDurationInMinutes)
-                .min()
-                .orElse(0);
-        return new SleepAnalysisResult("Минимальная продолжительность сессии (в минутах)", minDuration);
+    public LongAnalysisResult finish(Accumulator accumulator) {
+        long minDuration = accumulator.empty ? 0 : accumulator.minDuration;
+        return new LongAnalysisResult(DESCRIPTION, minDuration);
+    }
+
+    public static final class Accumulator {
+        private long minDuration = Long.MAX_VALUE;
+        private boolean empty = true;
+
+        void writeTo(DataOutput out) throws IOException {
+            out.writeLong(minDuration);
+            out.writeBoolean(empty);
+        }
+
+        void readFrom(DataInput in) throws IOException {
+            minDuration = in.readLong();
+            empty = in.readBoolean();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepReport;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Выполняет объединяемые анализы на fork/join пуле: вход делится через {@link Spliterator#trySplit()},
+ * части накапливаются параллельно и объединяются слева направо, поэтому результат не зависит
+ * от количества потоков и совпадает с последовательным.
+ */
+public class ParallelAnalysisEngine {
+    static final int DEFAULT_LEAF_SIZE = 16_384;
+
+    private final ForkJoinPool pool;
+    private final int leafSize;
+
+    public ParallelAnalysisEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_LEAF_SIZE);
+    }
+
+    public ParallelAnalysisEngine(ForkJoinPool pool, int leafSize) {
+        if (leafSize < 1) {
+            throw new IllegalArgumentException("Размер части должен быть положительным: " + leafSize);
+        }
+        this.pool = pool;
+        this.leafSize = leafSize;
+    }
+
+    public <A> SleepAnalysisResult analyze(MergeableSleepAnalysis<A> analysis, List<SleepingSession> sessions) {
+        A accumulator = reduce(sessions.spliterator(), analysis::createAccumulator, analysis::accumulate,
+                analysis::combine);
+        return analysis.finish(accumulator);
+    }
+
+    public SleepReport report(List<SleepingSession> sessions) {
+        return reduce(sessions.spliterator(), FusedSleepAnalyzer::new, FusedSleepAnalyzer::accept,
+                FusedSleepAnalyzer::combine).getReport();
+    }
+
+    private <A> A reduce(Spliterator<SleepingSession> spliterator, Supplier<A> supplier,
+                         BiConsumer<A, SleepingSession> accumulator, BinaryOperator<A> combiner) {
+        return pool.invoke(new ReduceTask<>(spliterator, supplier, accumulator, combiner, leafSize));
+    }
+
+    // Задача не сериализуется: вход и функции анализа живут только во время вычисления
+    private static final class ReduceTask<A> extends RecursiveTask<A> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Spliterator<SleepingSession> spliterator;
+        private final transient Supplier<A> supplier;
+        private final transient BiConsumer<A, SleepingSession> accumulator;
+        private final transient BinaryOperator<A> combiner;
+        private final int leafSize;
+
+        ReduceTask(Spliterator<SleepingSession> spliterator, Supplier<A> supplier,
+                   BiConsumer<A, SleepingSession> accumulator, BinaryOperator<A> combiner, int leafSize) {
+            this.spliterator = spliterator;
+            this.supplier = supplier;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected A compute() {
+            Spliterator<SleepingSession> prefix;
+            if (spliterator.estimateSize() > leafSize && (prefix = spliterator.trySplit()) != null) {
+                ReduceTask<A> left = new ReduceTask<>(prefix, supplier, accumulator, combiner, leafSize);
+                ReduceTask<A> right = new ReduceTask<>(spliterator, supplier, accumulator, combiner, leafSize);
+                left.fork();
+                A rightResult = right.compute();
+                return combiner.apply(left.join(), rightResult);
+            }
+            A result = supplier.get();
+            spliterator.forEachRemaining(session -> accumulator.accept(result, session));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Метрики стадий {@link PipelinedSleepAnalyzer}: время работы и ожидания каждой стадии и глубина очередей
+ * между ними. Узкое место - стадия с наибольшей загрузкой; очередь перед ней почти всегда полна,
+ * а после нее почти всегда пуста.
+ */
+public class PipelineMetrics {
+    private final Stage reader = new Stage("Чтение", "байт", 1);
+    private final Stage parser;
+    private final Stage aggregator = new Stage("Агрегация", "сессий", 1);
+    private final QueueDepth rawQueue;
+    private final QueueDepth parsedQueue;
+    private long wallNanos;
+
+    PipelineMetrics(int parserThreads, int queueCapacity) {
+        this.parser = new Stage("Разбор", "сессий", parserThreads);
+        this.rawQueue = new QueueDepth("Очередь строк", queueCapacity);
+        this.parsedQueue = new QueueDepth("Очередь сессий", queueCapacity);
+    }
+
+    public Stage getReader() {
+        return reader;
+    }
+
+    public Stage getParser() {
+        return parser;
+    }
+
+    public Stage getAggregator() {
+        return aggregator;
+    }
+
+    public List<Stage> getStages() {
+        return List.of(reader, parser, aggregator);
+    }
+
+    public QueueDepth getRawQueue() {
+        return rawQueue;
+    }
+
+    public QueueDepth getParsedQueue() {
+        return parsedQueue;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    void setWallNanos(long wallNanos) {
+        this.wallNanos = wallNanos;
+    }
+
+    public Stage getBottleneck() {
+        Stage bottleneck = reader;
+        for (Stage stage : getStages()) {
+            if (stage.getUtilization(wallNanos) > bottleneck.getUtilization(wallNanos)) {
+                bottleneck = stage;
+            }
+        }
+        return bottleneck;
+    }
+
+    public String format() {
+        StringBuilder builder = new StringBuilder();
+        for (Stage stage : getStages()) {
+            builder.append(String.format(Locale.US,
+                    "%s: %d пакетов, %d %s, %.0f %s/с, загрузка %.0f%%, ожидание %d мс%n",
+                    stage.getName(), stage.getBatches(), stage.getItems(), stage.getUnit(),
+                    stage.getItemsPerSecond(), stage.getUnit(), stage.getUtilization(wallNanos) * 100,
+                    stage.getWaitNanos() / 1_000_000));
+        }
+        for (QueueDepth queue : List.of(rawQueue, parsedQueue)) {
+            builder.append(String.format(Locale.US, "%s: средняя глубина %.1f, максимум %d из %d%n",
+                    queue.getName(), queue.getAverageDepth(), queue.getMaxDepth(), queue.getCapacity()));
+        }
+        builder.append("Узкое место: ").append(getBottleneck().getName());
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+
+    public static final class Stage {
+        private final String name;
+        private final String unit;
+        private final int threads;
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder items = new LongAdder();
+        private final LongAdder busyNanos = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+
+        private Stage(String name, String unit, int threads) {
+            this.name = name;
+            this.unit = unit;
+            this.threads = threads;
+        }
+
+        void recordBatch(long itemCount, long busy) {
+            batches.increment();
+            items.add(itemCount);
+            busyNanos.add(busy);
+        }
+
+        void recordWait(long nanos) {
+            waitNanos.add(nanos);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public long getBatches() {
+            return batches.sum();
+        }
+
+        public long getItems() {
+            return items.sum();
+        }
+
+        public long getBusyNanos() {
+            return busyNanos.sum();
+        }
+
+        public long getWaitNanos() {
+            return waitNanos.sum();
+        }
+
+        // Пропускная способность стадии при полной загрузке всех ее потоков, без учета ожидания очередей
+        public double getItemsPerSecond() {
+            long busy = getBusyNanos();
+            return busy == 0 ? 0.0 : getItems() * 1e9 * threads / busy;
+        }
+
+        public double getUtilization(long wallNanos) {
+            return wallNanos == 0 ? 0.0 : (double) getBusyNanos() / ((double) wallNanos * threads);
+        }
+    }
+
+    public static final class QueueDepth {
+        private final String name;
+        private final int capacity;
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder depthSum = new LongAdder();
+        private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+
+        private QueueDepth(String name, int capacity) {
+            this.name = name;
+            this.capacity = capacity;
+        }
+
+        void sample(int depth) {
+            samples.increment();
+            depthSum.add(depth);
+            maxDepth.accumulate(depth);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public double getAverageDepth() {
+            long count = samples.sum();
+            return count == 0 ? 0.0 : (double) depthSum.sum() / count;
+        }
+
+        public long getMaxDepth() {
+            return maxDepth.get();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SleepReport;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import ru.yandex.practicum.sleeptracker.util.SleepLogReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Разбирает журнал сна конвейером: поток чтения режет вход на пакеты целых строк, несколько потоков
+ * разбирают пакеты в сессии, а поток агрегации накапливает их в {@link FusedSleepAnalyzer} в исходном
+ * порядке. Стадии связаны ограниченными очередями, а число пакетов в работе ограничено семафором,
+ * поэтому чтение, разбор и агрегация идут одновременно, а память не растет с размером файла.
+ */
+public class PipelinedSleepAnalyzer {
+    static final int DEFAULT_BATCH_SIZE = 256 * 1024;
+    static final int DEFAULT_QUEUE_CAPACITY = 8;
+
+    private static final RawBatch END_OF_INPUT = new RawBatch(-1, new byte[0], 0);
+    private static final ParsedBatch END_OF_PARSING = new ParsedBatch(-1, List.of());
+
+    private final int parserThreads;
+    private final int batchSize;
+    private final int queueCapacity;
+
+    public PipelinedSleepAnalyzer() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() - 2), DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public PipelinedSleepAnalyzer(int parserThreads, int batchSize, int queueCapacity) {
+        if (parserThreads < 1 || batchSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Параметры конвейера должны быть положительными: потоков "
+                    + parserThreads + ", пакет " + batchSize + ", очередь " + queueCapacity);
+        }
+        this.parserThreads = parserThreads;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Result analyze(Path path) throws IOException {
+        try (InputStream input = Files.newInputStream(path)) {
+            return analyze(input);
+        }
+    }
+
+    public Result analyze(InputStream input) throws IOException {
+        PipelineMetrics metrics = new PipelineMetrics(parserThreads, queueCapacity);
+        BlockingQueue<RawBatch> rawQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<ParsedBatch> parsedQueue = new ArrayBlockingQueue<>(queueCapacity);
+        // Пакеты в очередях, у потоков разбора и в буфере упорядочивания агрегации
+        Semaphore inFlight = new Semaphore(2 * queueCapacity + parserThreads);
+        FusedSleepAnalyzer analyzer = new FusedSleepAnalyzer();
+
+        long started = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(parserThreads + 2);
+        try {
+            CompletionService<Void> stages = new ExecutorCompletionService<>(executor);
+            List<Callable<Void>> tasks = new ArrayList<>();
+            tasks.add(() -> read(input, rawQueue, inFlight, metrics));
+            for (int i = 0; i < parserThreads; i++) {
+                tasks.add(() -> parse(rawQueue, parsedQueue, metrics));
+            }
+            tasks.add(() -> aggregate(parsedQueue, inFlight, analyzer, metrics));
+            for (Callable<Void> task : tasks) {
+                stages.submit(task);
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                awaitStage(stages.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Анализ конвейером прерван");
+        } finally {
+            executor.shutdownNow();
+        }
+        metrics.setWallNanos(System.nanoTime() - started);
+        return new Result(analyzer.getReport(), metrics);
+    }
+
+    // Первая ошибка любой стадии останавливает остальные, иначе они ждали бы очереди бесконечно
+    private static void awaitStage(Future<Void> stage) throws IOException, InterruptedException {
+        try {
+            stage.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Стадия конвейера завершилась с ошибкой", cause);
+        }
+    }
+
+    private Void read(InputStream input, BlockingQueue<RawBatch> rawQueue, Semaphore inFlight,
+                      PipelineMetrics metrics) throws IOException, InterruptedException {
+        PipelineMetrics.Stage stage = metrics.getReader();
+        byte[] carry = new byte[0];
+        long sequence = 0;
+        boolean endOfInput = false;
+        while (!endOfInput) {
+            long waitStart = System.nanoTime();
+            inFlight.acquire();
+            stage.recordWait(System.nanoTime() - waitStart);
+
+            long busyStart = System.nanoTime();
+            // Строка длиннее пакета переносится целиком, поэтому буфер растет до ее размера
+            byte[] buffer = Arrays.copyOf(carry, Math.max(batchSize, carry.length * 2));
+            int read = input.readNBytes(buffer, carry.length, buffer.length - carry.length);
+            int length = carry.length + read;
+            endOfInput = length < buffer.length;
+            int end = endOfInput ? length : lastLineEnd(buffer, length);
+            carry = Arrays.copyOfRange(buffer, end, length);
+            stage.recordBatch(read, System.nanoTime() - busyStart);
+            if (end == 0) {
+                inFlight.release();
+                continue;
+            }
+            put(rawQueue, new RawBatch(sequence++, buffer, end), metrics.getRawQueue(), stage);
+        }
+        for (int i = 0; i < parserThreads; i++) {
+            put(rawQueue, END_OF_INPUT, metrics.getRawQueue(), stage);
+        }
+        return null;
+    }
+
+    private static int lastLineEnd(byte[] buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer[i] == '\n' || buffer[i] == '\r') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static Void parse(BlockingQueue<RawBatch> rawQueue, BlockingQueue<ParsedBatch> parsedQueue,
+                              PipelineMetrics metrics) throws InterruptedException {
+        PipelineMetrics.Stage stage = metrics.getParser();
+        while (true) {
+            RawBatch batch = take(rawQueue, stage);
+            if (batch == END_OF_INPUT) {
+                put(parsedQueue, END_OF_PARSING, metrics.getParsedQueue(), stage);
+                return null;
+            }
+            long busyStart = System.nanoTime();
+            List<SleepingSession> sessions = new ArrayList<>();
+            SleepLogReader.forEachSession(batch.bytes, 0, batch.length, sessions::add);
+            stage.recordBatch(sessions.size(), System.nanoTime() - busyStart);
+            put(parsedQueue, new ParsedBatch(batch.sequence, sessions), metrics.getParsedQueue(), stage);
+        }
+    }
+
+    private Void aggregate(BlockingQueue<ParsedBatch> parsedQueue, Semaphore inFlight, FusedSleepAnalyzer analyzer,
+                           PipelineMetrics metrics) throws InterruptedException {
+        PipelineMetrics.Stage stage = metrics.getAggregator();
+        Map<Long, ParsedBatch> pending = new HashMap<>();
+        long next = 0;
+        int finishedParsers = 0;
+        while (finishedParsers < parserThreads) {
+            ParsedBatch batch = take(parsedQueue, stage);
+            if (batch == END_OF_PARSING) {
+                finishedParsers++;
+                continue;
+            }
+            pending.put(batch.sequence, batch);
+            // Пакеты приходят от разных потоков разбора вразнобой, а аккумуляторам важен исходный порядок
+            while ((batch = pending.remove(next)) != null) {
+                long busyStart = System.nanoTime();
+                for (SleepingSession session : batch.sessions) {
+                    analyzer.accept(session);
+                }
+                stage.recordBatch(batch.sessions.size(), System.nanoTime() - busyStart);
+                inFlight.release();
+                next++;
+            }
+        }
+        return null;
+    }
+
+    private static <T> void put(BlockingQueue<T> queue, T item, PipelineMetrics.QueueDepth depth,
+                                PipelineMetrics.Stage stage) throws InterruptedException {
+        long waitStart = System.nanoTime();
+        queue.put(item);
+        stage.recordWait(System.nanoTime() - waitStart);
+        depth.sample(queue.size());
+    }
+
+    private static <T> T take(BlockingQueue<T> queue, PipelineMetrics.Stage stage) throws InterruptedException {
+        long waitStart = System.nanoTime();
+        T item = queue.take();
+        stage.recordWait(System.nanoTime() - waitStart);
+        return item;
+    }
+
+    public static final class Result {
+        private final SleepReport report;
+        private final PipelineMetrics metrics;
+
+        private Result(SleepReport report, PipelineMetrics metrics) {
+            this.report = report;
+            this.metrics = metrics;
+        }
+
+        public SleepReport getReport() {
+            return report;
+        }
+
+        public PipelineMetrics getMetrics() {
+            return metrics;
+        }
+    }
+
+    private static final class RawBatch {
+        private final long sequence;
+        private final byte[] bytes;
+        private final int length;
+
+        private RawBatch(long sequence, byte[] bytes, int length) {
+            this.sequence = sequence;
+            this.bytes = bytes;
+            this.length = length;
+        }
+    }
+
+    private static final class ParsedBatch {
+        private final long sequence;
+        private final List<SleepingSession> sessions;
+
+        private ParsedBatch(long sequence, List<SleepingSession> sessions) {
+            this.sequence = sequence;
+            this.sessions = sessions;
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package ru.yandex.practicum.sleeptracker.analyzer;
 
+import ru.yandex.practicum.sleeptracker.model.SessionField;
 import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
 import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 @FunctionalInterface
 public interface SleepAnalysisFunction {
     SleepAnalysisResult analyze(List<SleepingSession> sessions);
+
+    // Поля, которые анализ читает; остальные загрузчик может не разбирать. По умолчанию - все
+    default Set<SessionField> getRequiredFields() {
+        return EnumSet.allOf(SessionField.class);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,360 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SleepReport;
+import ru.yandex.practicum.sleeptracker.util.SleepLogReader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.DateTimeException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Дисковый кэш отчета {@link FusedSleepAnalyzer} по файлу журнала сна.
+ * Запись хранит состояние аккумуляторов, длину обработанной части файла, ее размер, время изменения
+ * и ключ файла, SHA-256 части, разобранной при полном пересчете, и SHA-256 выборки из последних
+ * {@value #SAMPLE_SIZE} байт обработанной части. Если метаданные файла не изменились, отчет берется
+ * из кэша без чтения файла. Если тот же файл только вырос, сверяется выборка перед старым концом,
+ * а разбирается лишь дописанная часть, и ее состояние объединяется с сохраненным. Полный хеш
+ * считается, только когда изменились время или ключ файла без роста размера. Изменение обработанной
+ * части раньше выборки при одновременном дописывании таким образом не обнаруживается. Любое другое
+ * изменение файла или конфигурации анализов приводит к полному пересчету.
+ */
+public class SleepReportCache {
+    private static final int MAGIC = 0x534C5244;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    static final int SAMPLE_SIZE = 64 * 1024;
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final String ENTRY_SUFFIX = ".report";
+
+    public enum Status {
+        HIT,
+        APPENDED,
+        REBUILT
+    }
+
+    private final Path directory;
+    private final String configuration;
+
+    public SleepReportCache(Path directory) {
+        this(directory, FusedSleepAnalyzer.CONFIGURATION);
+    }
+
+    SleepReportCache(Path directory, String configuration) {
+        this.directory = directory;
+        this.configuration = configuration;
+    }
+
+    public SleepReport report(Path logFile) throws IOException {
+        return analyze(logFile).getReport();
+    }
+
+    public Result analyze(Path logFile) throws IOException {
+        Path entryFile = entryFile(logFile);
+        // Метаданные читаются до содержимого: изменение во время разбора заметит следующий запуск
+        BasicFileAttributes attributes = Files.readAttributes(logFile, BasicFileAttributes.class);
+        Entry cached = readEntry(entryFile);
+        if (cached != null) {
+            Result resumed = resume(logFile, attributes, entryFile, cached);
+            if (resumed != null) {
+                return resumed;
+            }
+        }
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            MessageDigest digest = newDigest();
+            DigestingInputStream input = new DigestingInputStream(
+                    new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE), digest);
+            FusedSleepAnalyzer analyzer = new FusedSleepAnalyzer();
+            SleepLogReader.forEachSession(input, analyzer);
+            long length = input.count;
+            writeEntry(entryFile, new Entry(length, input.count > 0 && isLineBreak(input.lastByte),
+                    FileState.of(attributes), length, digest.digest(), sampleDigest(channel, length), analyzer));
+            return new Result(analyzer.getReport(), Status.REBUILT, length);
+        }
+    }
+
+    Path entryFile(Path logFile) {
+        byte[] key = newDigest().digest(logFile.toAbsolutePath().normalize().toString()
+                .getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(HexFormat.of().formatHex(key) + ENTRY_SUFFIX);
+    }
+
+    // null, если сохраненная часть файла изменилась и состояние нельзя продолжить
+    private Result resume(Path logFile, BasicFileAttributes attributes, Path entryFile, Entry cached)
+            throws IOException {
+        long size = attributes.size();
+        if (size < cached.length) {
+            return null;
+        }
+        FileState state = FileState.of(attributes);
+        boolean sameFile = state.fileKey.equals(cached.state.fileKey);
+        if (sameFile && size == cached.length && state.modifiedNanos == cached.state.modifiedNanos) {
+            return new Result(cached.analyzer.getReport(), Status.HIT, 0);
+        }
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            if (!MessageDigest.isEqual(sampleDigest(channel, cached.length), cached.sampleDigest)) {
+                return null;
+            }
+            // Дописывание в тот же файл сверяется только по выборке, иначе проверяется и полный хеш
+            boolean appended = sameFile && size > cached.length;
+            if (!appended && !MessageDigest.isEqual(prefixDigest(channel, cached.prefixLength), cached.prefixDigest)) {
+                return null;
+            }
+            if (size == cached.length) {
+                writeEntry(entryFile, cached.withState(state));
+                return new Result(cached.analyzer.getReport(), Status.HIT, 0);
+            }
+            InputStream input = new BufferedInputStream(Channels.newInputStream(channel.position(cached.length)),
+                    BUFFER_SIZE);
+            input.mark(1);
+            int next = input.read();
+            // Последняя строка без перевода строки могла быть продолжена, а не завершена
+            if (!cached.endsWithLineBreak && !isLineBreak(next)) {
+                return null;
+            }
+            input.reset();
+            return append(channel, input, state, cached, entryFile);
+        }
+    }
+
+    private Result append(FileChannel channel, InputStream input, FileState state, Entry base, Path entryFile)
+            throws IOException {
+        DigestingInputStream tail = new DigestingInputStream(input, null);
+        FusedSleepAnalyzer appended = new FusedSleepAnalyzer();
+        SleepLogReader.forEachSession(tail, appended);
+
+        FusedSleepAnalyzer analyzer = base.analyzer.combine(appended);
+        long length = base.length + tail.count;
+        boolean endsWithLineBreak = tail.count == 0 ? base.endsWithLineBreak : isLineBreak(tail.lastByte);
+        writeEntry(entryFile, new Entry(length, endsWithLineBreak, state, base.prefixLength, base.prefixDigest,
+                sampleDigest(channel, length), analyzer));
+        return new Result(analyzer.getReport(), Status.APPENDED, tail.count);
+    }
+
+    private Entry readEntry(Path entryFile) {
+        if (!Files.isRegularFile(entryFile)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entryFile)))) {
+            if (in.readInt() != MAGIC || !configuration.equals(in.readUTF())) {
+                return null;
+            }
+            long length = in.readLong();
+            boolean endsWithLineBreak = in.readBoolean();
+            FileState state = new FileState(in.readLong(), in.readUTF());
+            long prefixLength = in.readLong();
+            byte[] prefixDigest = readDigest(in);
+            byte[] sampleDigest = readDigest(in);
+            return new Entry(length, endsWithLineBreak, state, prefixLength, prefixDigest, sampleDigest,
+                    FusedSleepAnalyzer.readFrom(in));
+        } catch (IOException | DateTimeException e) {
+            return null;
+        }
+    }
+
+    private void writeEntry(Path entryFile, Entry entry) throws IOException {
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, entryFile.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeUTF(configuration);
+                out.writeLong(entry.length);
+                out.writeBoolean(entry.endsWithLineBreak);
+                out.writeLong(entry.state.modifiedNanos);
+                out.writeUTF(entry.state.fileKey);
+                out.writeLong(entry.prefixLength);
+                writeDigest(out, entry.prefixDigest);
+                writeDigest(out, entry.sampleDigest);
+                entry.analyzer.writeTo(out);
+            }
+            Files.move(temporary, entryFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static byte[] readDigest(DataInputStream in) throws IOException {
+        byte[] digest = new byte[in.readUnsignedByte()];
+        in.readFully(digest);
+        return digest;
+    }
+
+    private static void writeDigest(DataOutputStream out, byte[] digest) throws IOException {
+        out.writeByte(digest.length);
+        out.write(digest);
+    }
+
+    // Хеш последних SAMPLE_SIZE байт перед length вместе с самой длиной
+    private static byte[] sampleDigest(FileChannel channel, long length) throws IOException {
+        MessageDigest digest = newDigest();
+        digest.update(ByteBuffer.allocate(Long.BYTES).putLong(0, length));
+        return digestRange(channel, Math.max(0, length - SAMPLE_SIZE), length, digest) ? digest.digest() : null;
+    }
+
+    private static byte[] prefixDigest(FileChannel channel, long length) throws IOException {
+        MessageDigest digest = newDigest();
+        return digestRange(channel, 0, length, digest) ? digest.digest() : null;
+    }
+
+    // false, если файл закончился раньше to
+    private static boolean digestRange(FileChannel channel, long from, long to, MessageDigest digest)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = from;
+        while (position < to) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), to - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return false;
+            }
+            digest.update(buffer.flip());
+            position += read;
+        }
+        return true;
+    }
+
+    private static boolean isLineBreak(int value) {
+        return value == '\n' || value == '\r';
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " недоступен", e);
+        }
+    }
+
+    public static final class Result {
+        private final SleepReport report;
+        private final Status status;
+        private final long processedBytes;
+
+        private Result(SleepReport report, Status status, long processedBytes) {
+            this.report = report;
+            this.status = status;
+            this.processedBytes = processedBytes;
+        }
+
+        public SleepReport getReport() {
+            return report;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public long getProcessedBytes() {
+            return processedBytes;
+        }
+    }
+
+    private static final class Entry {
+        private final long length;
+        private final boolean endsWithLineBreak;
+        private final FileState state;
+        private final long prefixLength;
+        private final byte[] prefixDigest;
+        private final byte[] sampleDigest;
+        private final FusedSleepAnalyzer analyzer;
+
+        private Entry(long length, boolean endsWithLineBreak, FileState state, long prefixLength,
+                      byte[] prefixDigest, byte[] sampleDigest, FusedSleepAnalyzer analyzer) {
+            this.length = length;
+            this.endsWithLineBreak = endsWithLineBreak;
+            this.state = state;
+            this.prefixLength = prefixLength;
+            this.prefixDigest = prefixDigest;
+            this.sampleDigest = sampleDigest;
+            this.analyzer = analyzer;
+        }
+
+        private Entry withState(FileState newState) {
+            return new Entry(length, endsWithLineBreak, newState, prefixLength, prefixDigest, sampleDigest,
+                    analyzer);
+        }
+    }
+
+    // Время изменения и ключ файла (устройство и inode), если файловая система его сообщает
+    private static final class FileState {
+        private final long modifiedNanos;
+        private final String fileKey;
+
+        private FileState(long modifiedNanos, String fileKey) {
+            this.modifiedNanos = modifiedNanos;
+            this.fileKey = fileKey;
+        }
+
+        private static FileState of(BasicFileAttributes attributes) {
+            Object key = attributes.fileKey();
+            return new FileState(attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS),
+                    key == null ? "" : key.toString());
+        }
+    }
+
+    // Хеширует, если задан хеш, и считает прочитанные байты, запоминая последний
+    private static final class DigestingInputStream extends FilterInputStream {
+        private final MessageDigest digest;
+        private long count;
+        private int lastByte = -1;
+
+        private DigestingInputStream(InputStream in, MessageDigest digest) {
+            super(in);
+            this.digest = digest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = in.read();
+            if (value >= 0) {
+                if (digest != null) {
+                    digest.update((byte) value);
+                }
+                count++;
+                lastByte = value;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = in.read(buffer, offset, length);
+            if (read > 0) {
+                if (digest != null) {
+                    digest.update(buffer, offset, read);
+                }
+                count += read;
+                lastByte = buffer[offset + read - 1] & 0xFF;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            return n <= 0 ? 0 : Math.max(0, read(new byte[(int) Math.min(n, BUFFER_SIZE)]));
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -1,41 +1,92 @@
 package ru.yandex.practicum.sleeptracker.analyzer;
 
-import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.LongAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.NightOccupancyIndex;
+import ru.yandex.practicum.sleeptracker.model.SessionField;
 import ru.yandex.practicum.sleeptracker.model.SleepingSession;
 import ru.yandex.practicum.sleeptracker.util.NightUtils;
 
-import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
-import java.util.List;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
-public class SleeplessNightsAnalysis implements SleepAnalysisFunction {
+public class SleeplessNightsAnalysis implements MergeableSleepAnalysis<SleeplessNightsAnalysis.Accumulator> {
+    static final String DESCRIPTION = "Количество бессонных ночей";
 
     @Override
-    public SleepAnalysisResult analyze(List<SleepingSession> sessions) {
-        if (sessions.isEmpty()) {
-            return new SleepAnalysisResult("Количество бессонных ночей", 0);
+    public Set<SessionField> getRequiredFields() {
+        return EnumSet.of(SessionField.START, SessionField.END);
+    }
+
+    @Override
+    public Accumulator createAccumulator() {
+        return new Accumulator();
+    }
+
+    @Override
+    public void accumulate(Accumulator accumulator, SleepingSession session) {
+        accumulate(accumulator, session, NightUtils.overlapsNightInterval(session));
+    }
+
+    void accumulate(Accumulator accumulator, SleepingSession session, boolean overlapsNight) {
+        if (accumulator.firstSleepStart == null) {
+            accumulator.firstSleepStart = session.getSleepStart();
+        }
+        accumulator.lastSleepEnd = session.getSleepEnd();
+        if (overlapsNight) {
+            accumulator.nightsWithSleep.add(NightUtils.getNightEpochDay(session.getSleepStart()));
+        }
+    }
+
+    @Override
+    public Accumulator combine(Accumulator left, Accumulator right) {
+        if (left.firstSleepStart == null) {
+            left.firstSleepStart = right.firstSleepStart;
+        }
+        if (right.lastSleepEnd != null) {
+            left.lastSleepEnd = right.lastSleepEnd;
         }
+        left.nightsWithSleep.or(right.nightsWithSleep);
+        return left;
+    }
 
-        LocalDate firstNight = NightUtils.getNightDate(sessions.get(0).getSleepStart());
-        LocalDate lastNight = NightUtils.getNightDate(sessions.get(sessions.size() - 1).getSleepEnd());
+    @Override
+    public LongAnalysisResult finish(Accumulator accumulator) {
+        return result(accumulator.firstSleepStart, accumulator.lastSleepEnd, accumulator.nightsWithSleep.cardinality());
+    }
 
-        Set<LocalDate> nightsWithSleep = sessions.stream()
-                .filter(NightUtils::overlapsNightInterval)
-                .map(NightUtils::getNightDate)
-                .collect(Collectors.toSet());
+    static LongAnalysisResult result(LocalDateTime firstSleepStart, LocalDateTime lastSleepEnd, long nightsWithSleep) {
+        if (firstSleepStart == null) {
+            return new LongAnalysisResult(DESCRIPTION, 0);
+        }
+
+        long firstNight = NightUtils.getNightEpochDay(firstSleepStart);
+        long lastNight = NightUtils.getNightEpochDay(lastSleepEnd);
 
-        long totalNights = countNightsBetween(firstNight, lastNight);
-        long sleeplessNights = Math.max(0, totalNights - nightsWithSleep.size());
+        long totalNights = Math.max(0, lastNight - firstNight + 1);
+        long sleeplessNights = Math.max(0, totalNights - nightsWithSleep);
 
-        return new SleepAnalysisResult("Количество бессонных ночей", sleeplessNights);
+        return new LongAnalysisResult(DESCRIPTION, sleeplessNights);
     }
 
-    private long countNightsBetween(LocalDate start, LocalDate end) {
-        if (start.isAfter(end)) {
-            return 0;
+    public static final class Accumulator {
+        private LocalDateTime firstSleepStart;
+        private LocalDateTime lastSleepEnd;
+        private final NightOccupancyIndex nightsWithSleep = new NightOccupancyIndex();
+
+        void writeTo(DataOutput out) throws IOException {
+            AccumulatorCodec.writeDateTime(out, firstSleepStart);
+            AccumulatorCodec.writeDateTime(out, lastSleepEnd);
+            nightsWithSleep.writeTo(out);
+        }
+
+        void readFrom(DataInput in) throws IOException {
+            firstSleepStart = AccumulatorCodec.readDateTime(in);
+            lastSleepEnd = AccumulatorCodec.readDateTime(in);
+            nightsWithSleep.or(NightOccupancyIndex.readFrom(in));
         }
-        return ChronoUnit.DAYS.between(start, end) + 1;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SessionField;
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class StreamingAnalyzer implements Consumer<SleepingSession> {
+    private final List<BoundAnalysis<?>> analyses = new ArrayList<>();
+
+    public StreamingAnalyzer(List<? extends StreamingSleepAnalysis<?>> analyses) {
+        for (StreamingSleepAnalysis<?> analysis : analyses) {
+            this.analyses.add(new BoundAnalysis<>(analysis));
+        }
+    }
+
+    @Override
+    public void accept(SleepingSession session) {
+        for (BoundAnalysis<?> analysis : analyses) {
+            analysis.accumulate(session);
+        }
+    }
+
+    // Объединение полей всех анализов: его достаточно разобрать из журнала
+    public Set<SessionField> getRequiredFields() {
+        Set<SessionField> fields = EnumSet.noneOf(SessionField.class);
+        for (BoundAnalysis<?> analysis : analyses) {
+            fields.addAll(analysis.analysis.getRequiredFields());
+        }
+        return fields;
+    }
+
+    public List<SleepAnalysisResult> getResults() {
+        List<SleepAnalysisResult> results = new ArrayList<>(analyses.size());
+        for (BoundAnalysis<?> analysis : analyses) {
+            results.add(analysis.finish());
+        }
+        return results;
+    }
+
+    private static final class BoundAnalysis<A> {
+        private final StreamingSleepAnalysis<A> analysis;
+        private final A accumulator;
+
+        BoundAnalysis(StreamingSleepAnalysis<A> analysis) {
+            this.analysis = analysis;
+            this.accumulator = analysis.createAccumulator();
+        }
+
+        void accumulate(SleepingSession session) {
+            analysis.accumulate(accumulator, session);
+        }
+
+        SleepAnalysisResult finish() {
+            return analysis.finish(accumulator);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import java.util.List;
+
+/**
+ * Анализ, который получает сессии по одной и хранит только собственное накопленное состояние,
+ * поэтому может работать с журналом любой длины без построения {@code List<SleepingSession>}.
+ */
+public interface StreamingSleepAnalysis<A> extends SleepAnalysisFunction {
+    A createAccumulator();
+
+    void accumulate(A accumulator, SleepingSession session);
+
+    SleepAnalysisResult finish(A accumulator);
+
+    @Override
+    default SleepAnalysisResult analyze(List<SleepingSession> sessions) {
+        A accumulator = createAccumulator();
+        for (SleepingSession session : sessions) {
+            accumulate(accumulator, session);
+        }
+        return finish(accumulator);
+    }
+}
@@ -1,12 +1,53 @@
 package ru.yandex.practicum.sleeptracker.analyzer;
 
-import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.LongAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SessionField;
 import ru.yandex.practicum.sleeptracker.model.SleepingSession;
-import java.util.List;
 
-public class TotalSessionsAnalysis implements SleepAnalysisFunction {
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class TotalSessionsAnalysis implements MergeableSleepAnalysis<TotalSessionsAnalysis.Accumulator> {
+    static final String DESCRIPTION = "Общее количество сессий сна";
+
+    @Override
+    public Set<SessionField> getRequiredFields() {
+        return EnumSet.noneOf(SessionField.class);
+    }
+
+    @Override
+    public Accumulator createAccumulator() {
+        return new Accumulator();
+    }
+
+    @Override
+    public void accumulate(Accumulator accumulator, SleepingSession session) {
+        accumulator.count++;
+    }
+
+    @Override
+    public Accumulator combine(Accumulator left, Accumulator right) {
+        left.count += right.count;
+        return left;
+    }
+
     @Override
-    public SleepAnalysisResult analyze(List<SleepingSession> sessions) {
-        return new SleepAnalysisResult("Общее количество сессий сна", sessions.size());
+    public LongAnalysisResult finish(Accumulator accumulator) {
+        return new LongAnalysisResult(DESCRIPTION, accumulator.count);
+    }
+
+    public static final class Accumulator {
+        private long count;
+
+        void writeTo(DataOutput out) throws IOException {
+            out.writeLong(count);
+        }
+
+        void readFrom(DataInput in) throws IOException {
+            count = in.readLong();
+        }
     }
-}
\ No newline at end of file
+}
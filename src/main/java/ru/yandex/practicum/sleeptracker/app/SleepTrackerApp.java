@@ -1,29 +1,99 @@
 package ru.yandex.practicum.sleeptracker.app;
 
+import ru.yandex.practicum.sleeptracker.util.ExternalSessionSorter;
+import ru.yandex.practicum.sleeptracker.util.FastSleepSessionParser;
+import ru.yandex.practicum.sleeptracker.util.MappedSessionFile;
+import ru.yandex.practicum.sleeptracker.util.MappedSleepLogLoader;
+import ru.yandex.practicum.sleeptracker.util.MultiFileSleepLogLoader;
+import ru.yandex.practicum.sleeptracker.util.SessionOverlapMerger;
+import ru.yandex.practicum.sleeptracker.util.SleepDateRange;
+import ru.yandex.practicum.sleeptracker.util.SleepLogConverter;
+import ru.yandex.practicum.sleeptracker.util.SleepLogReader;
+import ru.yandex.practicum.sleeptracker.util.SleepLogTailer;
 import ru.yandex.practicum.sleeptracker.util.SleepSessionParser;
 import ru.yandex.practicum.sleeptracker.analyzer.*;
+import ru.yandex.practicum.sleeptracker.model.Chronotype;
 import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SessionColumns;
+import ru.yandex.practicum.sleeptracker.model.SleepReport;
 import ru.yandex.practicum.sleeptracker.model.SleepingSession;
 import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import ru.yandex.practicum.sleeptracker.model.TypedAnalysisResult;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class SleepTrackerApp {
+    private static final String STREAM_OPTION = "--stream";
+    private static final String CONVERT_OPTION = "--convert";
+    private static final String CACHE_OPTION = "--cache";
+    private static final String FOLLOW_OPTION = "--follow";
+    private static final String PIPELINE_OPTION = "--pipeline";
+    private static final String SORT_OPTION = "--sort";
+    private static final String NORMALIZE_OPTION = "--normalize";
+    private static final String RANGE_OPTION = "--range";
+    private static final String ONLY_OPTION = "--only";
+    private static final DateTimeFormatter RANGE_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yy");
+    private static final Duration FOLLOW_POLL_INTERVAL = Duration.ofSeconds(1);
+    private static final Path DEFAULT_CACHE_DIRECTORY = Paths.get(System.getProperty("java.io.tmpdir"),
+            "sleep-tracker-cache");
+    private static final Path DEFAULT_SORT_DIRECTORY = Paths.get(System.getProperty("java.io.tmpdir"),
+            "sleep-tracker-sort");
+    private static final String STDIN_PATH = "-";
+
+    static final AnalysisId SLEEP_TIPS = AnalysisId.of("sleep-tips");
+    private static final List<AnalysisId> SLEEP_TIPS_DEPENDENCIES = List.of(AnalysisId.TOTAL_SESSIONS,
+            AnalysisId.AVERAGE_DURATION, AnalysisId.BAD_QUALITY_SESSIONS, AnalysisId.SLEEPLESS_NIGHTS,
+            AnalysisId.CHRONOTYPE, AnalysisId.NIGHT_SESSIONS);
+    private static final Set<AnalysisId> RESERVED_IDS = reservedIds();
+
+    private static final Map<AnalysisId, String> EMOJI = Map.of(
+            AnalysisId.TOTAL_SESSIONS, "🔢",
+            AnalysisId.MIN_DURATION, "📉",
+            AnalysisId.MAX_DURATION, "📈",
+            AnalysisId.AVERAGE_DURATION, "📊",
+            AnalysisId.BAD_QUALITY_SESSIONS, "⚠️",
+            AnalysisId.SLEEPLESS_NIGHTS, "🌙"
+    );
+    private static final Map<Chronotype, String> CHRONOTYPE_EMOJI = new EnumMap<>(Map.of(
+            Chronotype.NIGHT_OWL, "🦉",
+            Chronotype.EARLY_BIRD, "🐦",
+            Chronotype.DOVE, "🕊️"
+    ));
+    private static final Map<Chronotype, String> CHRONOTYPE_TIPS = new EnumMap<>(Map.of(
+            Chronotype.NIGHT_OWL, "вечерние тренировки, яркий свет утром",
+            Chronotype.EARLY_BIRD, "утренние тренировки, избегайте света вечером",
+            Chronotype.DOVE, "гибкий график, слушайте свой организм"
+    ));
+
     private List<SleepAnalysisFunction> analysisFunctions;
+    private final int builtInCount;
+    private final Map<SleepAnalysisFunction, Duration> timeouts = new IdentityHashMap<>();
+    private final Map<AnalysisId, SleepAnalysisFunction> customFunctions = new LinkedHashMap<>();
 
     public List<SleepAnalysisFunction> getAnalysisFunctions() {
         return Collections.unmodifiableList(analysisFunctions);
@@ -38,15 +108,156 @@ public class SleepTrackerApp {
         this.analysisFunctions.add(new BadQualitySessionsAnalysis());
         this.analysisFunctions.add(new SleeplessNightsAnalysis());
         this.analysisFunctions.add(new ChronotypeAnalysis());
+        this.builtInCount = analysisFunctions.size();
     }
 
     public void addAnalysisFunction(SleepAnalysisFunction function) {
+        addAnalysisFunction(AnalysisId.of("custom-" + (customFunctions.size() + 1)), function);
+    }
+
+    public void addAnalysisFunction(AnalysisId id, SleepAnalysisFunction function) {
+        if (customFunctions.containsKey(id) || RESERVED_IDS.contains(id)) {
+            throw new IllegalArgumentException("Анализ " + id + " уже зарегистрирован");
+        }
+        customFunctions.put(id, Objects.requireNonNull(function));
         analysisFunctions.add(function);
     }
 
+    public void addAnalysisFunction(SleepAnalysisFunction function, Duration timeout) {
+        addAnalysisFunction(function);
+        timeouts.put(function, timeout);
+    }
+
+    public List<SleepAnalysisFunction> getCustomAnalysisFunctions() {
+        return Collections.unmodifiableList(analysisFunctions.subList(builtInCount, analysisFunctions.size()));
+    }
+
+    public List<AnalysisId> getDisplayedAnalysisIds() {
+        List<AnalysisId> ids = new ArrayList<>(AnalysisId.BUILT_IN);
+        ids.addAll(customFunctions.keySet());
+        return ids;
+    }
+
+    public List<SleepAnalysisResult> analyze(List<SleepingSession> sessions, SleepReport report) {
+        AnalysisResults results = run(sessions,
+                AnalysisResults.of(AnalysisId.REPORT, AnalysisRegistry.reportResult(report)));
+        List<SleepAnalysisResult> displayed = new ArrayList<>();
+        for (AnalysisId id : getDisplayedAnalysisIds()) {
+            displayed.add(results.get(id));
+        }
+        return displayed;
+    }
+
+    public AnalysisResults run(List<SleepingSession> sessions) {
+        return run(sessions, AnalysisResults.empty());
+    }
+
+    public AnalysisResults run(List<SleepingSession> sessions, AnalysisResults known) {
+        try (AnalysisExecutor executor = new AnalysisExecutor();
+             ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            timeouts.forEach(executor::withTimeout);
+            return new AnalysisScheduler(threads).run(createRegistry(executor), sessions, known);
+        }
+    }
+
+    private static Set<AnalysisId> reservedIds() {
+        Set<AnalysisId> ids = new HashSet<>(AnalysisRegistry.withBuiltInAnalyses().getIds());
+        ids.add(SLEEP_TIPS);
+        return Set.copyOf(ids);
+    }
+
+    // Пользовательские анализы идут через AnalysisExecutor, чтобы у каждого оставался свой лимит времени
+    private AnalysisRegistry createRegistry(AnalysisExecutor executor) {
+        AnalysisRegistry registry = AnalysisRegistry.withBuiltInAnalyses();
+        customFunctions.forEach((id, function) -> registry.register(id, List.of(),
+                (sessions, dependencies) -> executor.run(List.of(function), sessions).get(0).toResult()));
+        registry.register(SLEEP_TIPS, SLEEP_TIPS_DEPENDENCIES,
+                (sessions, dependencies) -> new TypedAnalysisResult<>("Рекомендации", sleepTips(dependencies)));
+        return registry;
+    }
+
+    public List<StreamingSleepAnalysis<?>> getStreamingAnalysisFunctions() {
+        return analysisFunctions.stream()
+                .filter(function -> function instanceof StreamingSleepAnalysis)
+                .map(function -> (StreamingSleepAnalysis<?>) function)
+                .collect(Collectors.toList());
+    }
+
+    public List<SleepAnalysisResult> analyzeStream(InputStream inputStream) throws IOException {
+        return streamAnalyses(inputStream, getStreamingAnalysisFunctions());
+    }
+
+    // Только выбранные анализы: из журнала разбираются лишь поля, которые они объявили
+    public List<SleepAnalysisResult> analyzeStream(InputStream inputStream, List<AnalysisId> ids) throws IOException {
+        List<StreamingSleepAnalysis<?>> selected = new ArrayList<>(ids.size());
+        for (AnalysisId id : ids) {
+            int builtIn = AnalysisId.BUILT_IN.indexOf(id);
+            SleepAnalysisFunction function = builtIn >= 0 ? analysisFunctions.get(builtIn) : customFunctions.get(id);
+            if (!(function instanceof StreamingSleepAnalysis<?> streaming)) {
+                throw new IllegalArgumentException(function == null ? "Анализ " + id + " не зарегистрирован"
+                        : "Анализ " + id + " не поддерживает потоковую обработку");
+            }
+            selected.add(streaming);
+        }
+        return streamAnalyses(inputStream, selected);
+    }
+
+    // Агрегаты по файлу считаются по колонкам ядрами ColumnKernels.best(), остальные анализы - потоковым разбором
+    public List<SleepAnalysisResult> analyzeSelected(String filePath, List<AnalysisId> ids) throws IOException {
+        Path path = STDIN_PATH.equals(filePath) ? null : Paths.get(filePath);
+        if (path != null && Files.isRegularFile(path) && ColumnarSleepAnalyzer.SUPPORTED_IDS.containsAll(ids)) {
+            SessionColumns columns = MappedSessionFile.isSessionFile(path)
+                    ? SessionColumns.copyOf(MappedSessionFile.open(path))
+                    : MappedSleepLogLoader.loadColumns(path);
+            return ColumnarSleepAnalyzer.analyze(columns, ids);
+        }
+        try (InputStream inputStream = openSleepLog(filePath)) {
+            return analyzeStream(inputStream, ids);
+        }
+    }
+
+    private static List<SleepAnalysisResult> streamAnalyses(InputStream inputStream,
+                                                            List<StreamingSleepAnalysis<?>> functions)
+            throws IOException {
+        StreamingAnalyzer analyzer = new StreamingAnalyzer(functions);
+        SleepLogReader.forEachSession(inputStream, analyzer.getRequiredFields(), analyzer);
+        return analyzer.getResults();
+    }
+
+    public static InputStream openSleepLog(String filePath) throws IOException {
+        if (STDIN_PATH.equals(filePath)) {
+            return System.in;
+        }
+
+        InputStream inputStream = SleepTrackerApp.class.getClassLoader().getResourceAsStream(filePath);
+        if (inputStream != null) {
+            return inputStream;
+        }
+
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new IOException("Файл не найден: " + filePath);
+        }
+        return Files.newInputStream(path);
+    }
+
     public static List<SleepingSession> loadSleepSessions(String filePath) throws IOException {
+        return loadSleepSessions(filePath, SleepDateRange.ALL);
+    }
+
+    // Диапазон дат передается разбору: строки вне него отбрасываются по байтам даты, без полного разбора
+    public static List<SleepingSession> loadSleepSessions(String filePath, SleepDateRange range) throws IOException {
         InputStream inputStream = SleepTrackerApp.class.getClassLoader().getResourceAsStream(filePath);
 
+        if (inputStream != null && !range.isUnbounded()) {
+            try (InputStream resource = inputStream) {
+                List<SleepingSession> sessions = new ArrayList<>();
+                SleepLogReader.forEachRecord(resource, range,
+                        record -> sessions.add(FastSleepSessionParser.toSession(record)));
+                return sessions;
+            }
+        }
+
         if (inputStream != null) {
             try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
                 return reader.lines()
@@ -57,19 +268,70 @@ public class SleepTrackerApp {
             }
         }
 
+        // Каталог или glob-шаблон: журналы по месяцам или устройствам сливаются в один поток по началу сна
+        if (MultiFileSleepLogLoader.isGlob(filePath) || Files.isDirectory(Paths.get(filePath))) {
+            return MultiFileSleepLogLoader.load(filePath, range);
+        }
+
         Path path = Paths.get(filePath);
         if (!Files.exists(path)) {
             throw new IOException("Файл не найден: " + filePath);
         }
 
-        return Files.lines(path)
-                .filter(line -> !line.trim().isEmpty())
-                .map(SleepSessionParser::parse)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        if (MappedSessionFile.isSessionFile(path)) {
+            MappedSessionFile table = MappedSessionFile.open(path);
+            if (range.isUnbounded()) {
+                return table.asList();
+            }
+            List<SleepingSession> sessions = new ArrayList<>();
+            for (int i = 0; i < table.size(); i++) {
+                if (range.contains(table.getStartMinute(i))) {
+                    sessions.add(table.getSession(i));
+                }
+            }
+            return sessions;
+        }
+        return MappedSleepLogLoader.load(path, range);
     }
 
     public static void main(String[] args) {
+        if (args.length > 0 && STREAM_OPTION.equals(args[0])) {
+            runStreaming(args.length > 1 ? args[1] : STDIN_PATH);
+            return;
+        }
+        if (args.length > 0 && CONVERT_OPTION.equals(args[0])) {
+            runConversion(args);
+            return;
+        }
+        if (args.length > 0 && PIPELINE_OPTION.equals(args[0])) {
+            runPipeline(args.length > 1 ? args[1] : STDIN_PATH);
+            return;
+        }
+        if (args.length > 0 && FOLLOW_OPTION.equals(args[0])) {
+            runFollowing(args.length > 1 ? args[1] : "sleep_log.txt");
+            return;
+        }
+        if (args.length > 0 && CACHE_OPTION.equals(args[0])) {
+            runCached(args);
+            return;
+        }
+        if (args.length > 0 && SORT_OPTION.equals(args[0])) {
+            runExternallySorted(args);
+            return;
+        }
+        if (args.length > 0 && NORMALIZE_OPTION.equals(args[0])) {
+            runNormalized(args);
+            return;
+        }
+        if (args.length > 0 && RANGE_OPTION.equals(args[0])) {
+            runInRange(args);
+            return;
+        }
+        if (args.length > 0 && ONLY_OPTION.equals(args[0])) {
+            runSelected(args);
+            return;
+        }
+
         String filePath;
 
         if (args.length > 0) {
@@ -88,65 +350,263 @@ public class SleepTrackerApp {
                 return;
             }
 
-            System.out.println("\n" + "=".repeat(60));
-            System.out.println("           📊 АНАЛИЗ КАЧЕСТВА СНА");
-            System.out.println("=".repeat(60));
-
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM);
-            System.out.printf("📅 Период анализа: %s - %s%n",
-                    sessions.get(0).getSleepStart().format(dateFormatter),
-                    sessions.get(sessions.size() - 1).getSleepEnd().format(dateFormatter));
-
-            long goodCount = sessions.stream().filter(s -> s.getQuality() == SleepQuality.GOOD).count();
-            long normalCount = sessions.stream().filter(s -> s.getQuality() == SleepQuality.NORMAL).count();
-            long badCount = sessions.stream().filter(s -> s.getQuality() == SleepQuality.BAD).count();
-
-            System.out.println("\n📈 КАЧЕСТВО СНА:");
-            System.out.printf("   ✅ Хорошее:      %s%n", formatSessions(goodCount));
-            System.out.printf("   ⚠️ Нормальное:   %s%n", formatSessions(normalCount));
-            System.out.printf("   ❌ Плохое:       %s%n", formatSessions(badCount));
-
-            double avgDuration = sessions.stream()
-                    .mapToLong(SleepingSession::getDurationInMinutes)
-                    .average()
-                    .orElse(0);
-            System.out.printf("\n⏱️  Средняя продолжительность сна: %.1f мин (%.1f часов)%n",
-                    avgDuration, avgDuration / 60);
-
-            System.out.println("\n" + "-".repeat(60));
-            System.out.println("           📋 РЕЗУЛЬТАТЫ АНАЛИЗА");
-            System.out.println("-".repeat(60));
-
-            List<SleepAnalysisResult> results = app.getAnalysisFunctions().stream()
-                    .map(function -> function.analyze(sessions))
-                    .collect(Collectors.toList());
-
-            results.forEach(result -> {
-                String emoji = getEmojiForResult(result.getDescription(), result.getResult());
-                System.out.printf("%s %s%n", emoji, result);
-            });
-
-            System.out.println("\n" + "=".repeat(60));
-            System.out.println("           💡 РЕКОМЕНДАЦИИ");
-            System.out.println("=".repeat(60));
-
-            printSleepTips(app, sessions);
-
-            System.out.println("\n" + "✨".repeat(30));
-            System.out.println("          Анализ завершен успешно!");
-            System.out.println("✨".repeat(30));
-
+            printReport(app.run(sessions), app.getDisplayedAnalysisIds());
         } catch (IOException e) {
             System.err.println("\n❌ ОШИБКА ЧТЕНИЯ ФАЙЛА: " + e.getMessage());
             System.err.println("\n🔧 Проверьте:");
             System.err.println("   1. Файл находится в src/main/resources/");
             System.err.println("   2. Или укажите полный путь к файлу");
             System.err.println("      java SleepTrackerApp /полный/путь/к/файлу.txt");
+            System.err.println("   3. Или укажите каталог либо шаблон с журналами");
+            System.err.println("      java SleepTrackerApp 'журналы/*.txt'");
         } catch (Exception e) {
             System.err.println("\n💥 НЕПРЕДВИДЕННАЯ ОШИБКА: " + e.getMessage());
         }
     }
 
+    private static void runStreaming(String filePath) {
+        try (InputStream inputStream = openSleepLog(filePath)) {
+            FusedSleepAnalyzer analyzer = new FusedSleepAnalyzer();
+            SleepLogReader.forEachSession(inputStream, analyzer);
+            printStreamedReport(analyzer.getReport());
+        } catch (IOException e) {
+            System.err.println("\n❌ ОШИБКА ЧТЕНИЯ ФАЙЛА: " + e.getMessage());
+        }
+    }
+
+    private static void runPipeline(String filePath) {
+        try (InputStream inputStream = openSleepLog(filePath)) {
+            PipelinedSleepAnalyzer.Result result = new PipelinedSleepAnalyzer().analyze(inputStream);
+            if (printStreamedReport(result.getReport())) {
+                System.out.println("\n⚙️ Стадии конвейера:");
+                System.out.println(result.getMetrics().format());
+            }
+        } catch (IOException e) {
+            System.err.println("\n❌ ОШИБКА ЧТЕНИЯ ФАЙЛА: " + e.getMessage());
+        }
+    }
+
+    private static void runCached(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Использование: java SleepTrackerApp --cache <журнал.txt> [каталог кэша]");
+            return;
+        }
+        Path logFile = Paths.get(args[1]);
+        Path cacheDirectory = args.length > 2 ? Paths.get(args[2]) : DEFAULT_CACHE_DIRECTORY;
+        try {
+            if (!Files.exists(logFile)) {
+                throw new IOException("Файл не найден: " + args[1]);
+            }
+            printStreamedReport(new SleepReportCache(cacheDirectory).report(logFile),
+                    "📭 Файл не содержит корректных данных о сне");
+        } catch (IOException e) {
+            System.err.println("\n❌ ОШИБКА ЧТЕНИЯ ФАЙЛА: " + e.getMessage());
+        }
+    }
+
+    // Например, --only total-sessions,bad-quality-sessions: даты строк проверяются, но не переводятся;
+    // агрегаты по файлу или журналу .slpc считаются по колонкам
+    private static void runSelected(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Использование: java SleepTrackerApp --only <анализ,...> [журнал.txt]");
+            return;
+        }
+        List<AnalysisId> ids = new ArrayList<>();
+        for (String id : args[1].split(",")) {
+            ids.add(AnalysisId.of(id.trim()));
+        }
+        try {
+            List<SleepAnalysisResult> results = new SleepTrackerApp()
+                    .analyzeSelected(args.length > 2 ? args[2] : STDIN_PATH, ids);
+            for (int i = 0; i < ids.size(); i++) {
+                System.out.printf("%s %s%n", EMOJI.getOrDefault(ids.get(i), "•"), results.get(i));
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+        } catch (IOException e) {
+            System.err.println("\n❌ ОШИБКА ЧТЕНИЯ ФАЙЛА: " + e.getMessage());
+        }
+    }
+
+    private static void runInRange(String[] args) {
+        SleepDateRange range;
+        try {
+            range = SleepDateRange.of(LocalDate.parse(args[1], RANGE_DATE_FORMATTER),
+                    LocalDate.parse(args[2], RANGE_DATE_FORMATTER));
+        } catch (RuntimeException e) {
+            System.err.println("Использование: java SleepTrackerApp --range <дд.ММ.гг> <дд.ММ.гг> [журнал.txt]");
+            return;
+        }
+        String filePath = args.length > 3 ? args[3] : "sleep_log.txt";
+        try {
+            SleepTrackerApp app = new SleepTrackerApp();
+            List<SleepingSession> sessions = loadSleepSessions(filePath, range);
+
+            if (sessions.isEmpty()) {
+                System.out.println("📭 Нет данных о сне за период " + range);
+                return;
+            }
+            printReport(app.run(sessions), app.getDisplayedAnalysisIds());
+        } catch (IOException e) {
+            System.err.println("\n❌ ОШИБКА ЧТЕНИЯ ФАЙЛА: " + e.getMessage());
+        }
+    }
+
+    // Журнал в произвольном порядке сортируется на диске и передается аккумуляторам уже упорядоченным
+    private static void runExternallySorted(String[] args) {
+        String filePath = args.length > 1 ? args[1] : STDIN_PATH;
+        Path sortDirectory = args.length > 2 ? Paths.get(args[2]) : DEFAULT_SORT_DIRECTORY;
+        FusedSleepAnalyzer analyzer = new FusedSleepAnalyzer();
+        try {
+            sortExternally(filePath, sortDirectory, analyzer);
+            printStreamedReport(analyzer.getReport());
+        } catch (UncheckedIOException e) {
+            System.err.println("\n❌ ОШИБКА ЧТЕНИЯ ФАЙЛА: " + e.getCause().getMessage());
+        } catch (IOException e) {
+            System.err.println("\n❌ ОШИБКА ЧТЕНИЯ ФАЙЛА: " + e.getMessage());
+        }
+    }
+
+    // Пересекающиеся сессии разных устройств объединяются после сортировки, до аккумуляторов
+    private static void runNormalized(String[] args) {
+        String filePath = args.length > 1 ? args[1] : STDIN_PATH;
+        SessionOverlapMerger.QualityPolicy policy;
+        try {
+            policy = args.length > 2 ? SessionOverlapMerger.QualityPolicy.valueOf(args[2].toUpperCase())
+                    : SessionOverlapMerger.QualityPolicy.WORST;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Использование: java SleepTrackerApp --normalize [журнал.txt] [WORST|BEST|LONGEST]");
+            return;
+        }
+        FusedSleepAnalyzer analyzer = new FusedSleepAnalyzer();
+        SessionOverlapMerger merger = new SessionOverlapMerger(policy, analyzer);
+        try {
+            sortExternally(filePath, DEFAULT_SORT_DIRECTORY, merger);
+            merger.finish();
+            if (printStreamedReport(analyzer.getReport())) {
+                System.out.println("🔗 Объединено пересекающихся сессий: " + merger.getMergedCount());
+            }
+        } catch (UncheckedIOException e) {
+            System.err.println("\n❌ ОШИБКА ЧТЕНИЯ ФАЙЛА: " + e.getCause().getMessage());
+        } catch (IOException e) {
+            System.err.println("\n❌ ОШИБКА ЧТЕНИЯ ФАЙЛА: " + e.getMessage());
+        }
+    }
+
+    private static void sortExternally(String filePath, Path sortDirectory, Consumer<SleepingSession> consumer)
+            throws IOException {
+        try (InputStream inputStream = openSleepLog(filePath);
+             ExternalSessionSorter sorter = new ExternalSessionSorter(sortDirectory)) {
+            SleepLogReader.forEachRecord(inputStream, record -> addSorted(sorter, record));
+            sorter.forEachSorted(consumer);
+        }
+    }
+
+    private static void addSorted(ExternalSessionSorter sorter, long record) {
+        try {
+            sorter.add(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean printStreamedReport(SleepReport report) {
+        return printStreamedReport(report, "📭 Поток не содержит корректных данных о сне");
+    }
+
+    // false, если корректных сессий нет и вместо отчета напечатано emptyMessage
+    private static boolean printStreamedReport(SleepReport report, String emptyMessage) {
+        if (report.isEmpty()) {
+            System.out.println(emptyMessage);
+            return false;
+        }
+        printReport(new SleepTrackerApp(), report);
+        return true;
+    }
+
+    // Отчет, уже посчитанный аккумуляторами, подставляется как готовый результат REPORT
+    private static void printReport(SleepTrackerApp app, SleepReport report) {
+        AnalysisResults results = app.run(List.of(),
+                AnalysisResults.of(AnalysisId.REPORT, AnalysisRegistry.reportResult(report)));
+        printReport(results, app.getDisplayedAnalysisIds());
+    }
+
+    private static void runFollowing(String filePath) {
+        FusedSleepAnalyzer analyzer = new FusedSleepAnalyzer();
+        SleepTrackerApp app = new SleepTrackerApp();
+        try (SleepLogTailer tailer = new SleepLogTailer(Paths.get(filePath), analyzer)) {
+            System.out.println("👀 Слежение за файлом " + filePath + " (Ctrl+C для выхода)");
+            tailer.follow(FOLLOW_POLL_INTERVAL, update -> {
+                if (update.isRotated()) {
+                    System.out.println("\n🔄 Файл заменен новым, чтение продолжается с его начала");
+                }
+                if (update.isTruncated()) {
+                    System.out.println("\n✂️ Файл усечен, чтение продолжается с его начала");
+                }
+                SleepReport report = analyzer.getReport();
+                if (update.getSessions() > 0 && !report.isEmpty()) {
+                    printReport(app, report);
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("\n❌ ОШИБКА ЧТЕНИЯ ФАЙЛА: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void printReport(AnalysisResults results, List<AnalysisId> displayedIds) {
+        SleepReport report = results.getValue(AnalysisId.REPORT, SleepReport.class);
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("           📊 АНАЛИЗ КАЧЕСТВА СНА");
+        System.out.println("=".repeat(60));
+
+        DateTimeFormatter dateFormatter = DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM);
+        System.out.printf("📅 Период анализа: %s - %s%n",
+                report.getFirstSleepStart().format(dateFormatter),
+                report.getLastSleepEnd().format(dateFormatter));
+
+        System.out.println("\n📈 КАЧЕСТВО СНА:");
+        System.out.printf("   ✅ Хорошее:      %s%n", formatSessions(report.getQualityCount(SleepQuality.GOOD)));
+        System.out.printf("   ⚠️ Нормальное:   %s%n", formatSessions(report.getQualityCount(SleepQuality.NORMAL)));
+        System.out.printf("   ❌ Плохое:       %s%n", formatSessions(report.getQualityCount(SleepQuality.BAD)));
+
+        double avgDuration = report.getAverageDurationMinutes();
+        System.out.printf("\n⏱️  Средняя продолжительность сна: %.1f мин (%.1f часов)%n",
+                avgDuration, avgDuration / 60);
+
+        System.out.println("\n" + "-".repeat(60));
+        System.out.println("           📋 РЕЗУЛЬТАТЫ АНАЛИЗА");
+        System.out.println("-".repeat(60));
+
+        for (AnalysisId id : displayedIds) {
+            System.out.printf("%s %s%n", getEmojiForResult(id, results), results.get(id));
+        }
+
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("           💡 РЕКОМЕНДАЦИИ");
+        System.out.println("=".repeat(60));
+
+        printSleepTips(results);
+
+        System.out.println("\n" + "✨".repeat(30));
+        System.out.println("          Анализ завершен успешно!");
+        System.out.println("✨".repeat(30));
+    }
+
+    private static void runConversion(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Использование: java SleepTrackerApp --convert <журнал.txt> <журнал.slpc>");
+            return;
+        }
+        try {
+            long count = SleepLogConverter.convert(Paths.get(args[1]), Paths.get(args[2]));
+            System.out.printf("💾 Сохранено %s в %s%n", formatSessions(count), args[2]);
+        } catch (IOException e) {
+            System.err.println("\n❌ ОШИБКА КОНВЕРТАЦИИ: " + e.getMessage());
+        }
+    }
+
     private static String formatSessions(long count) {
         if (count % 10 == 1 && count % 100 != 11) {
             return count + " сессия";
@@ -157,117 +617,61 @@ public class SleepTrackerApp {
         }
     }
 
-    private static String getEmojiForResult(String description, Object result) {
-        if (description.contains("Общее количество")) return "🔢";
-        if (description.contains("Минимальная")) return "📉";
-        if (description.contains("Максимальная")) return "📈";
-        if (description.contains("Средняя")) return "📊";
-        if (description.contains("плохим качеством")) return "⚠️";
-        if (description.contains("бессонных")) return "🌙";
-        if (description.contains("Хронотип")) {
-            String resultStr = result.toString();
-            if (resultStr.contains("Сова")) return "🦉";
-            if (resultStr.contains("Жаворонок")) return "🐦";
-            if (resultStr.contains("Голубь")) return "🕊️";
+    private static String getEmojiForResult(AnalysisId id, AnalysisResults results) {
+        if (AnalysisId.CHRONOTYPE.equals(id)) {
+            return CHRONOTYPE_EMOJI.get(results.getValue(id, Chronotype.class));
         }
-        return "•";
+        return EMOJI.getOrDefault(id, "•");
     }
 
-    private static void printSleepTips(SleepTrackerApp app, List<SleepingSession> sessions) {
-        if (sessions.isEmpty()) {
+    private static void printSleepTips(AnalysisResults results) {
+        if (results.getLong(AnalysisId.TOTAL_SESSIONS) == 0) {
             return;
         }
+        System.out.println(results.getValue(SLEEP_TIPS, String.class));
+        System.out.println("\n💭 Помните: качественный сон - основа здоровья и продуктивности!");
+    }
 
-        List<SleepAnalysisResult> analysisResults = app.getAnalysisFunctions().stream()
-                .map(function -> function.analyze(sessions))
-                .collect(Collectors.toList());
+    static String sleepTips(AnalysisResults results) {
+        long sessionCount = results.getLong(AnalysisId.TOTAL_SESSIONS);
+        if (sessionCount == 0) {
+            return "";
+        }
+        List<String> tips = new ArrayList<>();
 
-        long badSessionsCount = analysisResults.stream()
-                .filter(r -> r.getDescription().contains("плохим качеством"))
-                .findFirst()
-                .map(r -> convertToLong(r.getResult()))
-                .orElse(0L);
-
-        long sleeplessNights = analysisResults.stream()
-                .filter(r -> r.getDescription().contains("бессонных"))
-                .findFirst()
-                .map(r -> convertToLong(r.getResult()))
-                .orElse(0L);
-
-        String chronotype = analysisResults.stream()
-                .filter(r -> r.getDescription().contains("Хронотип"))
-                .findFirst()
-                .map(r -> r.getResult().toString())
-                .orElse("Голубь");
-
-        double badPercentage = (double) badSessionsCount / sessions.size() * 100;
+        double badPercentage = (double) results.getLong(AnalysisId.BAD_QUALITY_SESSIONS) / sessionCount * 100;
         if (badPercentage > 30) {
-            System.out.println("⚠️  Более 30% сна плохого качества - обратите внимание на режим!");
+            tips.add("⚠️  Более 30% сна плохого качества - обратите внимание на режим!");
         }
 
-        double avgDuration = sessions.stream()
-                .mapToLong(SleepingSession::getDurationInMinutes)
-                .average()
-                .orElse(0);
+        double avgDuration = results.getDouble(AnalysisId.AVERAGE_DURATION);
 
         if (avgDuration < 420) {
-            System.out.println("😴 Средняя продолжительность сна меньше 7 часов");
-            System.out.println("💡 Рекомендация: старайтесь спать 7-9 часов в сутки");
+            tips.add("😴 Средняя продолжительность сна меньше 7 часов");
+            tips.add("💡 Рекомендация: старайтесь спать 7-9 часов в сутки");
         } else if (avgDuration > 540) {
-            System.out.println("⏳ Слишком долгий сон (более 9 часов)");
-            System.out.println("💡 Рекомендация: избыток сна может снижать продуктивность");
+            tips.add("⏳ Слишком долгий сон (более 9 часов)");
+            tips.add("💡 Рекомендация: избыток сна может снижать продуктивность");
         } else {
-            System.out.println("✅ Продолжительность сна в норме (7-9 часов)");
+            tips.add("✅ Продолжительность сна в норме (7-9 часов)");
         }
 
-        long nightSessionsCount = sessions.stream()
-                .filter(s -> {
-                    int hour = s.getSleepStart().getHour();
-                    return hour >= 22 || hour < 6;
-                })
-                .count();
-
-        double nightSessionsPercentage = (double) nightSessionsCount / sessions.size() * 100;
+        double nightSessionsPercentage = (double) results.getLong(AnalysisId.NIGHT_SESSIONS) / sessionCount * 100;
         if (nightSessionsPercentage < 70) {
-            System.out.println("🌜 Много дневного сна");
-            System.out.println("💡 Рекомендация: старайтесь ложиться до 23:00");
+            tips.add("🌜 Много дневного сна");
+            tips.add("💡 Рекомендация: старайтесь ложиться до 23:00");
         }
 
+        long sleeplessNights = results.getLong(AnalysisId.SLEEPLESS_NIGHTS);
         if (sleeplessNights > 0) {
-            System.out.printf("🌙 Обнаружено %d бессонных ночей%n", sleeplessNights);
-            System.out.println("💡 Рекомендация: соблюдайте режим сна и отдыха");
+            tips.add(String.format("🌙 Обнаружено %d бессонных ночей", sleeplessNights));
+            tips.add("💡 Рекомендация: соблюдайте режим сна и отдыха");
         }
 
-        System.out.printf("👤 Ваш хронотип: %s%n", chronotype);
-
-        Map<String, String> chronotypeTips = Map.of(
-                "Сова", "вечерние тренировки, яркий свет утром",
-                "Жаворонок", "утренние тренировки, избегайте света вечером",
-                "Голубь", "гибкий график, слушайте свой организм"
-        );
+        Chronotype chronotype = results.getValue(AnalysisId.CHRONOTYPE, Chronotype.class);
+        tips.add("👤 Ваш хронотип: " + chronotype);
+        tips.add("💡 Совет: " + CHRONOTYPE_TIPS.get(chronotype));
 
-        chronotypeTips.entrySet().stream()
-                .filter(entry -> chronotype.contains(entry.getKey()))
-                .findFirst()
-                .ifPresent(entry ->
-                        System.out.println("💡 Совет: " + entry.getValue())
-                );
-
-        System.out.println("\n💭 Помните: качественный сон - основа здоровья и продуктивности!");
-    }
-
-    private static long convertToLong(Object value) {
-        if (value instanceof Integer) {
-            return ((Integer) value).longValue();
-        } else if (value instanceof Long) {
-            return (Long) value;
-        } else if (value instanceof String) {
-            try {
-                return Long.parseLong((String) value);
-            } catch (NumberFormatException e) {
-                return 0;
-            }
-        }
-        return 0;
+        return String.join(System.lineSeparator(), tips);
     }
-}
\ No newline at end of file
+}
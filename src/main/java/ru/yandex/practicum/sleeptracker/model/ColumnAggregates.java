@@ -0,0 +1,70 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+import java.util.Objects;
+
+/**
+ * Минимум, максимум и сумма длительностей и число сессий каждого качества по колоночным массивам.
+ * По умолчанию считается ядрами {@link ColumnKernels#best()}: на Vector API, если модуль подключен,
+ * иначе скалярными.
+ */
+public final class ColumnAggregates {
+
+    private final long count;
+    private final int minDuration;
+    private final int maxDuration;
+    private final long totalDuration;
+    private final long[] qualityCounts;
+
+    private ColumnAggregates(long count, int minDuration, int maxDuration, long totalDuration, long[] qualityCounts) {
+        this.count = count;
+        this.minDuration = minDuration;
+        this.maxDuration = maxDuration;
+        this.totalDuration = totalDuration;
+        this.qualityCounts = qualityCounts;
+    }
+
+    public static ColumnAggregates of(int[] durations, byte[] qualities, int from, int to) {
+        return of(ColumnKernels.best(), durations, qualities, from, to);
+    }
+
+    public static ColumnAggregates of(ColumnKernels kernels, int[] durations, byte[] qualities, int from, int to) {
+        Objects.checkFromToIndex(from, to, durations.length);
+        Objects.checkFromToIndex(from, to, qualities.length);
+        long[] qualityCounts = kernels.countQualities(qualities, from, to);
+        return new ColumnAggregates(to - from, kernels.min(durations, from, to), kernels.max(durations, from, to),
+                kernels.sum(durations, from, to), qualityCounts);
+    }
+
+    public ColumnAggregates combine(ColumnAggregates other) {
+        long[] counts = new long[qualityCounts.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = qualityCounts[i] + other.qualityCounts[i];
+        }
+        return new ColumnAggregates(count + other.count, Math.min(minDuration, other.minDuration),
+                Math.max(maxDuration, other.maxDuration), totalDuration + other.totalDuration, counts);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public int getMinDuration() {
+        return isEmpty() ? 0 : minDuration;
+    }
+
+    public int getMaxDuration() {
+        return isEmpty() ? 0 : maxDuration;
+    }
+
+    public long getTotalDuration() {
+        return totalDuration;
+    }
+
+    public long getQualityCount(SleepQuality quality) {
+        return qualityCounts[quality.ordinal()];
+    }
+}
@@ -0,0 +1,52 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ядра агрегатов по колонкам длительностей и качеств. Скалярные ядра есть всегда; ядра на Vector API
+ * лежат в отдельном корне исходников {@code src/vector/java}, потому что их компиляция и запуск требуют
+ * {@code --add-modules jdk.incubator.vector}. Они загружаются через отражение, только если модуль есть
+ * в загрузочном слое, а иначе используются скалярные.
+ */
+public interface ColumnKernels {
+    String VECTOR_MODULE = "jdk.incubator.vector";
+    String VECTOR_KERNELS_CLASS = "ru.yandex.practicum.sleeptracker.model.VectorColumnKernels";
+
+    // Пустой диапазон дает Integer.MAX_VALUE
+    int min(int[] values, int from, int to);
+
+    // Пустой диапазон дает Integer.MIN_VALUE
+    int max(int[] values, int from, int to);
+
+    long sum(int[] values, int from, int to);
+
+    // Число сессий каждого качества по порядковому номеру
+    long[] countQualities(byte[] qualities, int from, int to);
+
+    String getName();
+
+    static ColumnKernels scalar() {
+        return ScalarColumnKernels.INSTANCE;
+    }
+
+    // null, если модуль Vector API не подключен или ядра не скомпилированы
+    static ColumnKernels vector() {
+        return VectorKernelsLoader.KERNELS;
+    }
+
+    static ColumnKernels best() {
+        ColumnKernels vector = vector();
+        return vector != null ? vector : scalar();
+    }
+
+    // Все доступные ядра, скалярные первыми
+    static List<ColumnKernels> available() {
+        List<ColumnKernels> kernels = new ArrayList<>(List.of(scalar()));
+        if (vector() != null) {
+            kernels.add(vector());
+        }
+        return Collections.unmodifiableList(kernels);
+    }
+}
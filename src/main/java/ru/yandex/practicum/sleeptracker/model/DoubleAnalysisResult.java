@@ -0,0 +1,45 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+import java.util.Locale;
+
+/**
+ * Дробный результат; округление до {@code fractionDigits} знаков выполняется только при выводе.
+ */
+public class DoubleAnalysisResult extends SleepAnalysisResult {
+    private static final int DEFAULT_FRACTION_DIGITS = 1;
+
+    private final double value;
+    private final int fractionDigits;
+
+    public DoubleAnalysisResult(String description, double value) {
+        this(description, value, DEFAULT_FRACTION_DIGITS);
+    }
+
+    public DoubleAnalysisResult(String description, double value, int fractionDigits) {
+        super(description);
+        if (fractionDigits < 0) {
+            throw new IllegalArgumentException("Число знаков после запятой не может быть отрицательным: "
+                    + fractionDigits);
+        }
+        this.value = value;
+        this.fractionDigits = fractionDigits;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public int getFractionDigits() {
+        return fractionDigits;
+    }
+
+    @Override
+    public Object getResult() {
+        return value;
+    }
+
+    @Override
+    public String format() {
+        return String.format(Locale.US, "%." + fractionDigits + "f", value);
+    }
+}
@@ -0,0 +1,13 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+import java.util.Objects;
+
+public class EnumAnalysisResult<E extends Enum<E>> extends TypedAnalysisResult<E> {
+    public EnumAnalysisResult(String description, E value) {
+        super(description, Objects.requireNonNull(value));
+    }
+
+    public int getOrdinal() {
+        return getValue().ordinal();
+    }
+}
@@ -0,0 +1,27 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+/**
+ * Результат-счетчик без упаковки: {@link #getResult()} создает {@code Long} только по запросу.
+ */
+public class LongAnalysisResult extends SleepAnalysisResult {
+    private final long value;
+
+    public LongAnalysisResult(String description, long value) {
+        super(description);
+        this.value = value;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    @Override
+    public Object getResult() {
+        return value;
+    }
+
+    @Override
+    public String format() {
+        return Long.toString(value);
+    }
+}
@@ -0,0 +1,182 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Битовая карта ночей со сном, индексированная днем эпохи: один бит на ночь,
+ * то есть около 46 байт на год истории вместо объекта {@code LocalDate} на каждую ночь.
+ * Подсчеты по диапазонам выполняются по словам через {@link Long#bitCount}.
+ */
+public class NightOccupancyIndex {
+    private static final int WORD_SHIFT = 6;
+    private static final long[] EMPTY = new long[0];
+
+    private long firstWord;
+    private long[] words = EMPTY;
+    private long cardinality;
+
+    public boolean add(long epochDay) {
+        long wordIndex = epochDay >> WORD_SHIFT;
+        ensureCovers(wordIndex);
+        int index = (int) (wordIndex - firstWord);
+        long bit = 1L << epochDay;
+        if ((words[index] & bit) != 0) {
+            return false;
+        }
+        words[index] |= bit;
+        cardinality++;
+        return true;
+    }
+
+    public boolean contains(long epochDay) {
+        long index = (epochDay >> WORD_SHIFT) - firstWord;
+        return index >= 0 && index < words.length && (words[(int) index] & (1L << epochDay)) != 0;
+    }
+
+    public void or(NightOccupancyIndex other) {
+        if (other.cardinality == 0) {
+            return;
+        }
+        ensureCovers(other.firstWord);
+        ensureCovers(other.firstWord + other.words.length - 1);
+        int offset = (int) (other.firstWord - firstWord);
+        for (int i = 0; i < other.words.length; i++) {
+            long added = other.words[i] & ~words[offset + i];
+            words[offset + i] |= added;
+            cardinality += Long.bitCount(added);
+        }
+    }
+
+    public long cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    public long firstDay() {
+        for (int i = 0; i < words.length; i++) {
+            if (words[i] != 0) {
+                return ((firstWord + i) << WORD_SHIFT) + Long.numberOfTrailingZeros(words[i]);
+            }
+        }
+        throw new NoSuchElementException("Индекс ночей пуст");
+    }
+
+    public long lastDay() {
+        for (int i = words.length - 1; i >= 0; i--) {
+            if (words[i] != 0) {
+                return ((firstWord + i) << WORD_SHIFT) + 63 - Long.numberOfLeadingZeros(words[i]);
+            }
+        }
+        throw new NoSuchElementException("Индекс ночей пуст");
+    }
+
+    public long countOccupied(long fromDay, long toDay) {
+        if (fromDay > toDay || words.length == 0) {
+            return 0;
+        }
+        long fromWord = fromDay >> WORD_SHIFT;
+        long toWord = toDay >> WORD_SHIFT;
+        long lastWord = Math.min(toWord, firstWord + words.length - 1);
+        long count = 0;
+        for (long w = Math.max(fromWord, firstWord); w <= lastWord; w++) {
+            long word = words[(int) (w - firstWord)];
+            if (w == fromWord) {
+                word &= -1L << fromDay;
+            }
+            if (w == toWord) {
+                word &= -1L >>> (63 - (toDay & 63));
+            }
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public long countSleepless(long fromDay, long toDay) {
+        if (fromDay > toDay) {
+            return 0;
+        }
+        return toDay - fromDay + 1 - countOccupied(fromDay, toDay);
+    }
+
+    public long longestSleeplessStreak(long fromDay, long toDay) {
+        long longest = 0;
+        long day = fromDay;
+        while (day <= toDay) {
+            long occupied = nextOccupied(day, toDay);
+            longest = Math.max(longest, occupied - day);
+            day = occupied + 1;
+        }
+        return longest;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(firstWord);
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    public static NightOccupancyIndex readFrom(DataInput in) throws IOException {
+        NightOccupancyIndex index = new NightOccupancyIndex();
+        long firstWord = in.readLong();
+        int length = in.readInt();
+        if (length < 0) {
+            throw new StreamCorruptedException("Отрицательная длина индекса ночей: " + length);
+        }
+        long[] words = new long[length];
+        long cardinality = 0;
+        for (int i = 0; i < length; i++) {
+            words[i] = in.readLong();
+            cardinality += Long.bitCount(words[i]);
+        }
+        index.firstWord = firstWord;
+        index.words = length == 0 ? EMPTY : words;
+        index.cardinality = cardinality;
+        return index;
+    }
+
+    // Первая ночь со сном в [fromDay, toDay] или toDay + 1, если таких нет; пустые слова пропускаются целиком
+    private long nextOccupied(long fromDay, long toDay) {
+        long fromWord = fromDay >> WORD_SHIFT;
+        long lastWord = Math.min(toDay >> WORD_SHIFT, firstWord + words.length - 1);
+        for (long w = Math.max(fromWord, firstWord); w <= lastWord; w++) {
+            long word = words[(int) (w - firstWord)];
+            if (w == fromWord) {
+                word &= -1L << fromDay;
+            }
+            if (word != 0) {
+                long day = (w << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+                return Math.min(day, toDay + 1);
+            }
+        }
+        return toDay + 1;
+    }
+
+    private void ensureCovers(long wordIndex) {
+        if (words.length == 0) {
+            firstWord = wordIndex;
+            words = new long[1];
+            return;
+        }
+        long lastWord = firstWord + words.length - 1;
+        if (wordIndex > lastWord) {
+            long needed = wordIndex - firstWord + 1;
+            words = Arrays.copyOf(words, Math.toIntExact(Math.max(needed, words.length * 2L)));
+        } else if (wordIndex < firstWord) {
+            long newFirst = Math.min(wordIndex, firstWord - words.length);
+            long[] grown = new long[Math.toIntExact(lastWord - newFirst + 1)];
+            System.arraycopy(words, 0, grown, (int) (firstWord - newFirst), words.length);
+            words = grown;
+            firstWord = newFirst;
+        }
+    }
+}
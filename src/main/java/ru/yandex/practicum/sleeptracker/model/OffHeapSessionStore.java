@@ -0,0 +1,161 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Хранилище сессий вне кучи Java: записи фиксированной ширины лежат в прямых буферах по сегментам,
+ * поэтому даже очень длинная история не увеличивает работу сборщика мусора.
+ *
+ * <p>Запись занимает {@value #RECORD_SIZE} байт: минута начала ({@code int}), минута окончания ({@code int})
+ * и порядковый номер качества ({@code byte}), выровненные до 4 байт. Последний сегмент растет удвоением
+ * до полного размера, поэтому небольшое хранилище не занимает целый сегмент. После {@link #close()} хранилище
+ * отпускает все сегменты, и любое обращение к нему приводит к {@link IllegalStateException}; память буферов
+ * возвращается, когда их соберет сборщик мусора.
+ */
+public class OffHeapSessionStore implements SessionTable, AutoCloseable {
+    static final int RECORD_SIZE = 12;
+    private static final int START_OFFSET = 0;
+    private static final int END_OFFSET = 4;
+    private static final int QUALITY_OFFSET = 8;
+    private static final int SEGMENT_SHIFT = 20;
+    private static final int RECORDS_PER_SEGMENT = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = RECORDS_PER_SEGMENT - 1;
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final int initialCapacity;
+    private List<ByteBuffer> segments = new ArrayList<>();
+    private int size;
+
+    public OffHeapSessionStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public OffHeapSessionStore(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Емкость не может быть отрицательной: " + initialCapacity);
+        }
+        this.initialCapacity = initialCapacity;
+    }
+
+    public static OffHeapSessionStore copyOf(SessionTable table) {
+        OffHeapSessionStore store = new OffHeapSessionStore(table.size());
+        for (int i = 0; i < table.size(); i++) {
+            long start = table.getStartMinute(i);
+            store.add(start, start + table.getDurationMinutes(i), table.getQualityOrdinal(i));
+        }
+        return store;
+    }
+
+    public void add(SleepingSession session) {
+        add(Math.floorDiv(session.getSleepStart().toEpochSecond(ZoneOffset.UTC), 60),
+                Math.floorDiv(session.getSleepEnd().toEpochSecond(ZoneOffset.UTC), 60),
+                session.getQuality().ordinal());
+    }
+
+    public void add(long startMinute, long endMinute, int qualityOrdinal) {
+        checkOpen();
+        if (endMinute < startMinute) {
+            throw new IllegalArgumentException("Время окончания сна не может быть раньше времени начала");
+        }
+        if (qualityOrdinal < 0 || qualityOrdinal > SleepQuality.BAD.ordinal()) {
+            throw new IllegalArgumentException("Некорректный порядковый номер качества сна: " + qualityOrdinal);
+        }
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Превышена максимальная емкость хранилища сессий");
+        }
+        ByteBuffer segment = writableSegment();
+        int offset = (size & SEGMENT_MASK) * RECORD_SIZE;
+        segment.putInt(offset + START_OFFSET, Math.toIntExact(startMinute));
+        segment.putInt(offset + END_OFFSET, Math.toIntExact(endMinute));
+        segment.put(offset + QUALITY_OFFSET, (byte) qualityOrdinal);
+        size++;
+    }
+
+    @Override
+    public int size() {
+        checkOpen();
+        return size;
+    }
+
+    @Override
+    public int getStartMinute(int index) {
+        return segmentOf(index).getInt(offsetOf(index) + START_OFFSET);
+    }
+
+    public int getEndMinute(int index) {
+        return segmentOf(index).getInt(offsetOf(index) + END_OFFSET);
+    }
+
+    @Override
+    public int getDurationMinutes(int index) {
+        ByteBuffer segment = segmentOf(index);
+        int offset = offsetOf(index);
+        return segment.getInt(offset + END_OFFSET) - segment.getInt(offset + START_OFFSET);
+    }
+
+    @Override
+    public int getQualityOrdinal(int index) {
+        return segmentOf(index).get(offsetOf(index) + QUALITY_OFFSET);
+    }
+
+    public long getOffHeapBytes() {
+        checkOpen();
+        long bytes = 0;
+        for (ByteBuffer segment : segments) {
+            bytes += segment.capacity();
+        }
+        return bytes;
+    }
+
+    public boolean isClosed() {
+        return segments == null;
+    }
+
+    @Override
+    public void close() {
+        segments = null;
+        size = 0;
+    }
+
+    // Новый сегмент получает емкость по ожидаемому числу оставшихся записей, заполненный неполный - вдвое больше
+    private ByteBuffer writableSegment() {
+        int segmentIndex = size >>> SEGMENT_SHIFT;
+        int required = ((size & SEGMENT_MASK) + 1) * RECORD_SIZE;
+        if (segmentIndex == segments.size()) {
+            long expected = (long) initialCapacity - ((long) segmentIndex << SEGMENT_SHIFT);
+            int records = (int) Math.min(RECORDS_PER_SEGMENT, Math.max(DEFAULT_CAPACITY, expected));
+            segments.add(allocateSegment(records));
+        } else if (segments.get(segmentIndex).capacity() < required) {
+            ByteBuffer segment = segments.get(segmentIndex);
+            int records = Math.min(RECORDS_PER_SEGMENT, segment.capacity() / RECORD_SIZE * 2);
+            ByteBuffer grown = allocateSegment(records);
+            grown.put(0, segment, 0, segment.capacity());
+            segments.set(segmentIndex, grown);
+        }
+        return segments.get(segmentIndex);
+    }
+
+    private static ByteBuffer allocateSegment(int records) {
+        return ByteBuffer.allocateDirect(records * RECORD_SIZE).order(ByteOrder.nativeOrder());
+    }
+
+    private ByteBuffer segmentOf(int index) {
+        checkOpen();
+        return segments.get(Objects.checkIndex(index, size) >>> SEGMENT_SHIFT);
+    }
+
+    private static int offsetOf(int index) {
+        return (index & SEGMENT_MASK) * RECORD_SIZE;
+    }
+
+    private void checkOpen() {
+        if (segments == null) {
+            throw new IllegalStateException("Хранилище сессий уже закрыто");
+        }
+    }
+}
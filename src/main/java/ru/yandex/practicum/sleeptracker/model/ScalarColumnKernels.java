@@ -0,0 +1,93 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+/**
+ * Скалярные ядра агрегатов. Циклы написаны без ветвлений и зависимостей между итерациями,
+ * чтобы JIT мог их векторизовать.
+ */
+final class ScalarColumnKernels implements ColumnKernels {
+    static final ScalarColumnKernels INSTANCE = new ScalarColumnKernels();
+
+    private static final int LANES = 4;
+
+    private ScalarColumnKernels() {
+    }
+
+    @Override
+    public String getName() {
+        return "скалярные";
+    }
+
+    @Override
+    public int min(int[] values, int from, int to) {
+        int m0 = Integer.MAX_VALUE;
+        int m1 = Integer.MAX_VALUE;
+        int m2 = Integer.MAX_VALUE;
+        int m3 = Integer.MAX_VALUE;
+        int i = from;
+        for (; i + LANES <= to; i += LANES) {
+            m0 = Math.min(m0, values[i]);
+            m1 = Math.min(m1, values[i + 1]);
+            m2 = Math.min(m2, values[i + 2]);
+            m3 = Math.min(m3, values[i + 3]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.min(m0, values[i]);
+        }
+        return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+    }
+
+    @Override
+    public int max(int[] values, int from, int to) {
+        int m0 = Integer.MIN_VALUE;
+        int m1 = Integer.MIN_VALUE;
+        int m2 = Integer.MIN_VALUE;
+        int m3 = Integer.MIN_VALUE;
+        int i = from;
+        for (; i + LANES <= to; i += LANES) {
+            m0 = Math.max(m0, values[i]);
+            m1 = Math.max(m1, values[i + 1]);
+            m2 = Math.max(m2, values[i + 2]);
+            m3 = Math.max(m3, values[i + 3]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.max(m0, values[i]);
+        }
+        return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+    }
+
+    @Override
+    public long sum(int[] values, int from, int to) {
+        long s0 = 0;
+        long s1 = 0;
+        long s2 = 0;
+        long s3 = 0;
+        int i = from;
+        for (; i + LANES <= to; i += LANES) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += values[i];
+        }
+        return s0 + s1 + s2 + s3;
+    }
+
+    // Порядковые номера GOOD = 0, NORMAL = 1, BAD = 2: младший бит отмечает NORMAL, старший - BAD
+    @Override
+    public long[] countQualities(byte[] qualities, int from, int to) {
+        int normal = 0;
+        int bad = 0;
+        for (int i = from; i < to; i++) {
+            int quality = qualities[i];
+            normal += quality & 1;
+            bad += quality >> 1;
+        }
+        long[] counts = new long[SleepQuality.values().length];
+        counts[SleepQuality.NORMAL.ordinal()] = normal;
+        counts[SleepQuality.BAD.ordinal()] = bad;
+        counts[SleepQuality.GOOD.ordinal()] = (long) (to - from) - normal - bad;
+        return counts;
+    }
+}
@@ -0,0 +1,162 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Хранилище сессий в примитивных массивах: около 9 байт на сессию вместо сотни с лишним
+ * для {@link SleepingSession} с двумя {@code LocalDateTime}.
+ */
+public class SessionColumns implements SessionTable {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] startMinutes;
+    private int[] durations;
+    private byte[] qualities;
+    private int size;
+
+    public SessionColumns() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SessionColumns(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Емкость не может быть отрицательной: " + initialCapacity);
+        }
+        startMinutes = new int[initialCapacity];
+        durations = new int[initialCapacity];
+        qualities = new byte[initialCapacity];
+    }
+
+    public static SessionColumns of(Iterable<SleepingSession> sessions) {
+        SessionColumns columns = new SessionColumns();
+        for (SleepingSession session : sessions) {
+            columns.add(session);
+        }
+        return columns;
+    }
+
+    public static SessionColumns copyOf(SessionTable table) {
+        SessionColumns columns = new SessionColumns(table.size());
+        for (int i = 0; i < table.size(); i++) {
+            columns.add(table.getStartMinute(i), table.getDurationMinutes(i), table.getQualityOrdinal(i));
+        }
+        return columns;
+    }
+
+    public void add(SleepingSession session) {
+        long start = Math.floorDiv(session.getSleepStart().toEpochSecond(ZoneOffset.UTC), 60);
+        add(start, session.getDurationInMinutes(), session.getQuality().ordinal());
+    }
+
+    public void add(long startMinute, long durationMinutes, int qualityOrdinal) {
+        if (qualityOrdinal < 0 || qualityOrdinal > SleepQuality.BAD.ordinal()) {
+            throw new IllegalArgumentException("Некорректный порядковый номер качества сна: " + qualityOrdinal);
+        }
+        if (durationMinutes < 0) {
+            throw new IllegalArgumentException("Продолжительность сна не может быть отрицательной");
+        }
+        ensureCapacity(size + 1);
+        startMinutes[size] = Math.toIntExact(startMinute);
+        durations[size] = Math.toIntExact(durationMinutes);
+        qualities[size] = (byte) qualityOrdinal;
+        size++;
+    }
+
+    public void addAll(SessionColumns other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.startMinutes, 0, startMinutes, size, other.size);
+        System.arraycopy(other.durations, 0, durations, size, other.size);
+        System.arraycopy(other.qualities, 0, qualities, size, other.size);
+        size += other.size;
+    }
+
+    public ColumnAggregates aggregate() {
+        return ColumnAggregates.of(durations, qualities, 0, size);
+    }
+
+    public ColumnAggregates aggregate(ColumnKernels kernels) {
+        return ColumnAggregates.of(kernels, durations, qualities, 0, size);
+    }
+
+    public ColumnAggregates aggregate(int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        return ColumnAggregates.of(durations, qualities, from, to);
+    }
+
+    public boolean isSortedByStart() {
+        for (int i = 1; i < size; i++) {
+            if (startMinutes[i - 1] > startMinutes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Ключ - минута начала в старших 32 битах и исходный индекс в младших: сортировка примитивов без
+    // компаратора, а равные начала сохраняют исходный порядок. false, если порядок уже был верным.
+    public boolean sortByStart() {
+        if (isSortedByStart()) {
+            return false;
+        }
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (long) startMinutes[i] << Integer.SIZE | i;
+        }
+        Arrays.parallelSort(keys);
+
+        int[] sortedStarts = new int[startMinutes.length];
+        int[] sortedDurations = new int[durations.length];
+        byte[] sortedQualities = new byte[qualities.length];
+        for (int i = 0; i < size; i++) {
+            int source = (int) keys[i];
+            sortedStarts[i] = startMinutes[source];
+            sortedDurations[i] = durations[source];
+            sortedQualities[i] = qualities[source];
+        }
+        startMinutes = sortedStarts;
+        durations = sortedDurations;
+        qualities = sortedQualities;
+        return true;
+    }
+
+    public void trimToSize() {
+        startMinutes = Arrays.copyOf(startMinutes, size);
+        durations = Arrays.copyOf(durations, size);
+        qualities = Arrays.copyOf(qualities, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int getStartMinute(int index) {
+        return startMinutes[Objects.checkIndex(index, size)];
+    }
+
+    @Override
+    public int getDurationMinutes(int index) {
+        return durations[Objects.checkIndex(index, size)];
+    }
+
+    @Override
+    public int getQualityOrdinal(int index) {
+        return qualities[Objects.checkIndex(index, size)];
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= startMinutes.length) {
+            return;
+        }
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, startMinutes.length * 3L / 2 + 1));
+        if (capacity < required) {
+            throw new IllegalStateException("Превышена максимальная емкость хранилища сессий");
+        }
+        startMinutes = Arrays.copyOf(startMinutes, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        qualities = Arrays.copyOf(qualities, capacity);
+    }
+}
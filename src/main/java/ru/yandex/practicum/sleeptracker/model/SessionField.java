@@ -0,0 +1,11 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+/**
+ * Поля сессии сна, которые анализ читает из журнала. Продолжительность вычисляется
+ * из начала и конца, поэтому требует обоих полей.
+ */
+public enum SessionField {
+    START,
+    END,
+    QUALITY
+}
@@ -0,0 +1,53 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Сессии сна в колоночном виде: минуты от эпохи начала, продолжительность и порядковый номер качества.
+ * Объекты {@link SleepingSession} создаются только по запросу.
+ */
+public interface SessionTable {
+    int size();
+
+    int getStartMinute(int index);
+
+    int getDurationMinutes(int index);
+
+    int getQualityOrdinal(int index);
+
+    default SleepQuality getQuality(int index) {
+        return SleepQuality.ofOrdinal(getQualityOrdinal(index));
+    }
+
+    default SleepingSession getSession(int index) {
+        long start = getStartMinute(index);
+        return new SleepingSession(
+                toLocalDateTime(start),
+                toLocalDateTime(start + getDurationMinutes(index)),
+                getQuality(index));
+    }
+
+    default List<SleepingSession> asList() {
+        SessionTable table = this;
+        class SessionListView extends AbstractList<SleepingSession> implements RandomAccess {
+            @Override
+            public SleepingSession get(int index) {
+                return table.getSession(index);
+            }
+
+            @Override
+            public int size() {
+                return table.size();
+            }
+        }
+        return new SessionListView();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+}
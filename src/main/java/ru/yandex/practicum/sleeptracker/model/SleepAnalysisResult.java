@@ -9,6 +9,10 @@ public class SleepAnalysisResult {
         this.result = result;
     }
 
+    protected SleepAnalysisResult(String description) {
+        this(description, null);
+    }
+
     public String getDescription() {
         return description;
     }
@@ -17,8 +21,12 @@ public class SleepAnalysisResult {
         return result;
     }
 
+    public String format() {
+        return String.valueOf(getResult());
+    }
+
     @Override
     public String toString() {
-        return description + ": " + result;
+        return description + ": " + format();
     }
-}
\ No newline at end of file
+}
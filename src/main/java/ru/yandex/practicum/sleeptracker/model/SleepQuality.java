@@ -3,5 +3,11 @@ package ru.yandex.practicum.sleeptracker.model;
 public enum SleepQuality {
     GOOD,
     NORMAL,
-    BAD
+    BAD;
+
+    private static final SleepQuality[] VALUES = values();
+
+    public static SleepQuality ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
 }
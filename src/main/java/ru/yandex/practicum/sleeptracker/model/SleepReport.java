@@ -0,0 +1,79 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Результаты встроенных анализов хранятся по значению их идентификатора, в порядке вывода
+public class SleepReport {
+    private final Map<String, SleepAnalysisResult> results;
+    private final long sessionCount;
+    private final long[] qualityCounts;
+    private final double averageDurationMinutes;
+    private final long nightSessionsCount;
+    private final long sleeplessNights;
+    private final Chronotype chronotype;
+    private final LocalDateTime firstSleepStart;
+    private final LocalDateTime lastSleepEnd;
+
+    public SleepReport(Map<String, SleepAnalysisResult> results, long sessionCount, long[] qualityCounts,
+                       double averageDurationMinutes, long nightSessionsCount, long sleeplessNights,
+                       Chronotype chronotype, LocalDateTime firstSleepStart, LocalDateTime lastSleepEnd) {
+        this.results = Collections.unmodifiableMap(new LinkedHashMap<>(results));
+        this.sessionCount = sessionCount;
+        this.qualityCounts = qualityCounts.clone();
+        this.averageDurationMinutes = averageDurationMinutes;
+        this.nightSessionsCount = nightSessionsCount;
+        this.sleeplessNights = sleeplessNights;
+        this.chronotype = chronotype;
+        this.firstSleepStart = firstSleepStart;
+        this.lastSleepEnd = lastSleepEnd;
+    }
+
+    public List<SleepAnalysisResult> getResults() {
+        return List.copyOf(results.values());
+    }
+
+    // null, если анализа с таким идентификатором в отчете нет
+    public SleepAnalysisResult getResult(String analysisId) {
+        return results.get(analysisId);
+    }
+
+    public long getSessionCount() {
+        return sessionCount;
+    }
+
+    public boolean isEmpty() {
+        return sessionCount == 0;
+    }
+
+    public long getQualityCount(SleepQuality quality) {
+        return qualityCounts[quality.ordinal()];
+    }
+
+    public double getAverageDurationMinutes() {
+        return averageDurationMinutes;
+    }
+
+    public long getNightSessionsCount() {
+        return nightSessionsCount;
+    }
+
+    public long getSleeplessNights() {
+        return sleeplessNights;
+    }
+
+    public Chronotype getChronotype() {
+        return chronotype;
+    }
+
+    public LocalDateTime getFirstSleepStart() {
+        return firstSleepStart;
+    }
+
+    public LocalDateTime getLastSleepEnd() {
+        return lastSleepEnd;
+    }
+}
@@ -7,6 +7,7 @@ public class SleepingSession {
     private final LocalDateTime sleepStart;
     private final LocalDateTime sleepEnd;
     private final SleepQuality quality;
+    private final long durationInMinutes;
 
     public SleepingSession(LocalDateTime sleepStart, LocalDateTime sleepEnd, SleepQuality quality) {
         if (sleepEnd.isBefore(sleepStart)) {
@@ -15,6 +16,7 @@ public class SleepingSession {
         this.sleepStart = sleepStart;
         this.sleepEnd = sleepEnd;
         this.quality = quality;
+        this.durationInMinutes = ChronoUnit.MINUTES.between(sleepStart, sleepEnd);
     }
 
     public LocalDateTime getSleepStart() {
@@ -30,7 +32,7 @@ public class SleepingSession {
     }
 
     public long getDurationInMinutes() {
-        return ChronoUnit.MINUTES.between(sleepStart, sleepEnd);
+        return durationInMinutes;
     }
 
     @Override
@@ -0,0 +1,19 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+public class TypedAnalysisResult<T> extends SleepAnalysisResult {
+    private final T value;
+
+    public TypedAnalysisResult(String description, T value) {
+        super(description);
+        this.value = value;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    @Override
+    public Object getResult() {
+        return value;
+    }
+}
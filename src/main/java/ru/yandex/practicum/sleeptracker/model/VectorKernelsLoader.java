@@ -0,0 +1,22 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+// Загружает ядра на Vector API один раз при первом обращении; без модуля или класса ядер - null
+final class VectorKernelsLoader {
+    static final ColumnKernels KERNELS = load();
+
+    private VectorKernelsLoader() {
+    }
+
+    private static ColumnKernels load() {
+        if (ModuleLayer.boot().findModule(ColumnKernels.VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            return (ColumnKernels) Class.forName(ColumnKernels.VECTOR_KERNELS_CLASS)
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
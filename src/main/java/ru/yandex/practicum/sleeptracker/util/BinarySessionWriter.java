@@ -0,0 +1,132 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Пишет сессии в колоночный бинарный формат, который читает {@link MappedSessionFile}.
+ * Колонки пишутся во временные файлы рядом с целевым и склеиваются за заголовком в {@link #finish()},
+ * поэтому количество записей не нужно знать заранее. Целевой файл появляется только после успешного
+ * {@link #finish()}: если запись прервана ошибкой, {@link #close()} удаляет временные файлы,
+ * и незавершенный журнал не может быть прочитан как корректный.
+ */
+public class BinarySessionWriter implements Closeable {
+    private final Path target;
+    private final Path[] columnFiles = new Path[3];
+    private final DataOutputStream starts;
+    private final DataOutputStream durations;
+    private final DataOutputStream qualities;
+    private long count;
+    private boolean closed;
+
+    public BinarySessionWriter(Path target) throws IOException {
+        this.target = target;
+        Path directory = target.toAbsolutePath().getParent();
+        for (int i = 0; i < columnFiles.length; i++) {
+            columnFiles[i] = Files.createTempFile(directory, target.getFileName().toString(), ".column");
+        }
+        this.starts = open(columnFiles[0]);
+        this.durations = open(columnFiles[1]);
+        this.qualities = open(columnFiles[2]);
+    }
+
+    public void write(SleepingSession session) throws IOException {
+        write(EpochMinutes.of(session.getSleepStart()), session.getDurationInMinutes(),
+                session.getQuality().ordinal());
+    }
+
+    public void writeRecord(long record) throws IOException {
+        long start = FastSleepSessionParser.startMinute(record);
+        write(start, FastSleepSessionParser.endMinute(record) - start, FastSleepSessionParser.qualityOrdinal(record));
+    }
+
+    public void write(long startMinute, long durationMinutes, int qualityOrdinal) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Запись бинарного журнала уже завершена");
+        }
+        starts.writeInt(Math.toIntExact(startMinute));
+        durations.writeInt(Math.toIntExact(durationMinutes));
+        qualities.writeByte(qualityOrdinal);
+        count++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // Склеивает заголовок и колонки во временный файл и атомарно переименовывает его в целевой
+    public void finish() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Запись бинарного журнала уже завершена");
+        }
+        closed = true;
+        Path directory = target.toAbsolutePath().getParent();
+        Path output = null;
+        try {
+            starts.close();
+            durations.close();
+            qualities.close();
+
+            output = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+            try (DataOutputStream header = new DataOutputStream(Files.newOutputStream(output))) {
+                header.writeInt(MappedSessionFile.MAGIC);
+                header.writeInt(MappedSessionFile.VERSION);
+                header.writeLong(count);
+            }
+            try (FileChannel channel = FileChannel.open(output, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                for (Path columnFile : columnFiles) {
+                    try (FileChannel input = FileChannel.open(columnFile, StandardOpenOption.READ)) {
+                        long position = 0;
+                        long size = input.size();
+                        while (position < size) {
+                            position += input.transferTo(position, size - position, channel);
+                        }
+                    }
+                }
+                channel.force(true);
+            }
+            Files.move(output, target, StandardCopyOption.ATOMIC_MOVE);
+            output = null;
+        } finally {
+            if (output != null) {
+                Files.deleteIfExists(output);
+            }
+            deleteColumnFiles();
+        }
+    }
+
+    // Без успешного finish() запись отменяется: временные файлы удаляются, целевой файл не меняется
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            starts.close();
+            durations.close();
+            qualities.close();
+        } finally {
+            deleteColumnFiles();
+        }
+    }
+
+    private void deleteColumnFiles() throws IOException {
+        for (Path columnFile : columnFiles) {
+            Files.deleteIfExists(columnFile);
+        }
+    }
+
+    private static DataOutputStream open(Path path) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+    }
+}
@@ -0,0 +1,60 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+public final class EpochMinutes {
+    public static final int MINUTES_PER_DAY = 1440;
+
+    private EpochMinutes() {
+    }
+
+    public static long of(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().toEpochDay() * MINUTES_PER_DAY
+                + dateTime.getHour() * 60L + dateTime.getMinute();
+    }
+
+    public static long of(int year, int month, int day, int hour, int minute) {
+        return daysFromCivil(year, month, day) * MINUTES_PER_DAY + hour * 60L + minute;
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    public static long epochDay(long epochMinute) {
+        return Math.floorDiv(epochMinute, MINUTES_PER_DAY);
+    }
+
+    public static int minuteOfDay(long epochMinute) {
+        return Math.floorMod(epochMinute, MINUTES_PER_DAY);
+    }
+
+    // Алгоритм days_from_civil (Howard Hinnant): пролептический григорианский календарь без объектов LocalDate
+    public static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    public static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    public static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+}
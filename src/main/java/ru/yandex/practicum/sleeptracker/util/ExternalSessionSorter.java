@@ -0,0 +1,295 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Внешняя сортировка сессий сна по началу сна для журналов, которые не помещаются в память.
+ * Сессии копятся в массиве упакованных записей {@link FastSleepSessionParser}; заполненный массив
+ * сортируется и сбрасывается на диск отсортированным отрезком, где каждая запись хранится
+ * приращением начала сна и длительностью в формате varint. Отрезки затем сливаются кучей, а результат отдается потоком,
+ * поэтому память ограничена размером массива и буферами одновременно сливаемых отрезков.
+ *
+ * <p>Упакованная запись начинается с минуты начала сна, поэтому при равном начале сессии
+ * упорядочены по концу сна, а затем по качеству.
+ */
+public class ExternalSessionSorter implements Closeable {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Массив записей занимает не больше восьмой части кучи и не больше 32 МБ
+    public static final int DEFAULT_MAX_RECORDS_IN_MEMORY = (int) Math.max(INITIAL_CAPACITY,
+            Math.min(4 * 1024 * 1024, Runtime.getRuntime().maxMemory() / 8 / Long.BYTES));
+    static final int DEFAULT_MERGE_FAN_IN = 64;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final int maxRecordsInMemory;
+    private final int mergeFanIn;
+    private final Deque<Run> runs = new ArrayDeque<>();
+    private long[] records;
+    private int buffered;
+    private long size;
+
+    public ExternalSessionSorter(Path directory) {
+        this(directory, DEFAULT_MAX_RECORDS_IN_MEMORY);
+    }
+
+    public ExternalSessionSorter(Path directory, int maxRecordsInMemory) {
+        this(directory, maxRecordsInMemory, DEFAULT_MERGE_FAN_IN);
+    }
+
+    ExternalSessionSorter(Path directory, int maxRecordsInMemory, int mergeFanIn) {
+        if (maxRecordsInMemory < 1 || mergeFanIn < 2) {
+            throw new IllegalArgumentException("Некорректные параметры сортировки: записей в памяти "
+                    + maxRecordsInMemory + ", отрезков в слиянии " + mergeFanIn);
+        }
+        this.directory = directory;
+        this.maxRecordsInMemory = maxRecordsInMemory;
+        this.mergeFanIn = mergeFanIn;
+        this.records = new long[Math.min(maxRecordsInMemory, INITIAL_CAPACITY)];
+    }
+
+    public void add(SleepingSession session) throws IOException {
+        if (session.getSleepStart().getSecond() != 0 || session.getSleepStart().getNano() != 0
+                || session.getSleepEnd().getSecond() != 0 || session.getSleepEnd().getNano() != 0) {
+            throw new IllegalArgumentException("Время сессии должно быть с точностью до минуты: " + session);
+        }
+        add(FastSleepSessionParser.toRecord(EpochMinutes.of(session.getSleepStart()),
+                EpochMinutes.of(session.getSleepEnd()), session.getQuality().ordinal()));
+    }
+
+    public void add(long record) throws IOException {
+        if (record < 0) {
+            throw new IllegalArgumentException("Некорректная упакованная запись: " + record);
+        }
+        if (buffered == records.length) {
+            if (records.length < maxRecordsInMemory) {
+                records = Arrays.copyOf(records, (int) Math.min(maxRecordsInMemory, records.length * 2L));
+            } else {
+                spill();
+            }
+        }
+        records[buffered++] = record;
+        size++;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public int getRunCount() {
+        return runs.size();
+    }
+
+    public void forEachSorted(Consumer<? super SleepingSession> consumer) throws IOException {
+        forEachSortedRecord(record -> consumer.accept(FastSleepSessionParser.toSession(record)));
+    }
+
+    // Без сброса на диск сортировка идет целиком в памяти; иначе остаток массива становится последним отрезком
+    public void forEachSortedRecord(LongConsumer consumer) throws IOException {
+        if (runs.isEmpty()) {
+            Arrays.sort(records, 0, buffered);
+            for (int i = 0; i < buffered; i++) {
+                consumer.accept(records[i]);
+            }
+            return;
+        }
+        if (buffered > 0) {
+            spill();
+        }
+        // Промежуточные проходы ограничивают число одновременно открытых отрезков и их буферов
+        while (runs.size() > mergeFanIn) {
+            List<Run> inputs = new ArrayList<>(mergeFanIn);
+            for (int i = 0; i < mergeFanIn; i++) {
+                inputs.add(runs.removeFirst());
+            }
+            Run merged = newRun();
+            runs.addLast(merged);
+            try (RunWriter writer = new RunWriter(merged)) {
+                merge(inputs, writer::write);
+            } finally {
+                for (Run input : inputs) {
+                    Files.deleteIfExists(input.file);
+                }
+            }
+        }
+        merge(new ArrayList<>(runs), consumer::accept);
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (Run run : runs) {
+            try {
+                Files.deleteIfExists(run.file);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        runs.clear();
+        buffered = 0;
+        size = 0;
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void spill() throws IOException {
+        Arrays.sort(records, 0, buffered);
+        Run run = newRun();
+        runs.addLast(run);
+        try (RunWriter writer = new RunWriter(run)) {
+            for (int i = 0; i < buffered; i++) {
+                writer.write(records[i]);
+            }
+        }
+        buffered = 0;
+    }
+
+    private Run newRun() throws IOException {
+        Files.createDirectories(directory);
+        return new Run(Files.createTempFile(directory, "sleep-run-", ".bin"));
+    }
+
+    private static void merge(List<Run> inputs, RecordSink consumer) throws IOException {
+        List<RunReader> readers = new ArrayList<>(inputs.size());
+        try {
+            PriorityQueue<RunReader> heap = new PriorityQueue<>(inputs.size());
+            for (Run input : inputs) {
+                RunReader reader = new RunReader(input);
+                readers.add(reader);
+                if (reader.advance()) {
+                    heap.add(reader);
+                }
+            }
+            while (!heap.isEmpty()) {
+                RunReader reader = heap.poll();
+                consumer.accept(reader.current);
+                if (reader.advance()) {
+                    heap.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private interface RecordSink {
+        void accept(long record) throws IOException;
+    }
+
+    private static final class Run {
+        private final Path file;
+        private long count;
+
+        private Run(Path file) {
+            this.file = file;
+        }
+    }
+
+    // Запись хранится как приращение минуты начала и длительность вместе с качеством: при начале сна
+    // раз в сутки и сне в несколько часов это 2 varint по 2 байта вместо 8 байт упакованной записи
+    private static final class RunWriter implements Closeable {
+        private final Run run;
+        private final DataOutputStream out;
+        private long previousStart;
+
+        private RunWriter(Run run) throws IOException {
+            this.run = run;
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run.file), BUFFER_SIZE));
+        }
+
+        private void write(long record) throws IOException {
+            long start = FastSleepSessionParser.startMinute(record);
+            long duration = FastSleepSessionParser.endMinute(record) - start;
+            writeVarLong(start - previousStart);
+            writeVarLong(duration << 2 | FastSleepSessionParser.qualityOrdinal(record));
+            previousStart = start;
+            run.count++;
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static final class RunReader implements Comparable<RunReader>, Closeable {
+        private final DataInputStream in;
+        private long remaining;
+        private long start;
+        private long current;
+
+        private RunReader(Run run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.file), BUFFER_SIZE));
+            this.remaining = run.count;
+        }
+
+        private boolean advance() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            start += readVarLong();
+            long durationAndQuality = readVarLong();
+            current = FastSleepSessionParser.toRecord(start, start + (durationAndQuality >>> 2),
+                    (int) (durationAndQuality & 3));
+            remaining--;
+            return true;
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            int shift = 0;
+            int next;
+            do {
+                try {
+                    next = in.readUnsignedByte();
+                } catch (EOFException e) {
+                    throw new StreamCorruptedException("Отрезок сортировки оборван");
+                }
+                value |= (long) (next & 0x7F) << shift;
+                shift += 7;
+            } while ((next & 0x80) != 0 && shift < Long.SIZE);
+            return value;
+        }
+
+        @Override
+        public int compareTo(RunReader other) {
+            return Long.compare(current, other.current);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+/**
+ * Разбор строк журнала сна формата {@code dd.MM.yy HH:mm;dd.MM.yy HH:mm;QUALITY} без промежуточных объектов.
+ * Принимает и отклоняет ровно те же строки, что и {@link SleepSessionParser}.
+ *
+ * <p>Результат низкоуровневого разбора упакован в один {@code long}: минуты от эпохи начала и конца сна
+ * и порядковый номер качества. {@link #INVALID} означает, что строка отклонена.
+ */
+public final class FastSleepSessionParser {
+    public static final long INVALID = -1L;
+
+    private static final int DATE_TIME_LENGTH = 14;
+    private static final int MINUTE_BITS = 27;
+    private static final long MINUTE_MASK = (1L << MINUTE_BITS) - 1;
+    private static final int QUALITY_BITS = 2;
+    private static final SleepQuality[] QUALITIES = SleepQuality.values();
+
+    private static final byte[][] QUALITY_NAMES = new byte[7][];
+    private static final SleepQuality[] QUALITY_BY_LENGTH = new SleepQuality[7];
+
+    static {
+        for (SleepQuality quality : QUALITIES) {
+            String name = quality.name();
+            QUALITY_NAMES[name.length()] = name.getBytes();
+            QUALITY_BY_LENGTH[name.length()] = quality;
+        }
+    }
+
+    private FastSleepSessionParser() {
+    }
+
+    public static SleepingSession parse(CharSequence line) {
+        return line == null ? null : toSession(parseRecord(null, line, 0, line.length()));
+    }
+
+    public static SleepingSession parse(byte[] buffer, int from, int to) {
+        return toSession(parseRecord(buffer, null, from, to));
+    }
+
+    public static long parseRecord(CharSequence line) {
+        return line == null ? INVALID : parseRecord(null, line, 0, line.length());
+    }
+
+    public static long parseRecord(byte[] buffer, int from, int to) {
+        return parseRecord(buffer, null, from, to);
+    }
+
+    // Дата в начале строки проверяется по байтам до разбора, поэтому строки вне диапазона почти бесплатны
+    public static long parseRecord(byte[] buffer, int from, int to, SleepDateRange range) {
+        if (!range.mayContain(buffer, from, to)) {
+            return INVALID;
+        }
+        long record = parseRecord(buffer, null, from, to);
+        return record == INVALID || range.contains(startMinute(record)) ? record : INVALID;
+    }
+
+    // Принимает и отклоняет те же строки, что parseRecord, но не переводит даты в минуты от эпохи
+    public static int parseQualityOrdinal(byte[] buffer, int from, int to) {
+        long record = parseRecord(buffer, null, from, to, false);
+        return record == INVALID ? -1 : (int) record;
+    }
+
+    public static SleepingSession toSession(long record) {
+        if (record == INVALID) {
+            return null;
+        }
+        return new SleepingSession(
+                EpochMinutes.toLocalDateTime(startMinute(record)),
+                EpochMinutes.toLocalDateTime(endMinute(record)),
+                quality(record));
+    }
+
+    public static long toRecord(long startMinute, long endMinute, int qualityOrdinal) {
+        if (startMinute < 0 || endMinute < startMinute || endMinute > MINUTE_MASK
+                || qualityOrdinal < 0 || qualityOrdinal >= QUALITIES.length) {
+            throw new IllegalArgumentException("Сессию нельзя упаковать в запись: " + startMinute + "-" + endMinute
+                    + ", качество " + qualityOrdinal);
+        }
+        return pack(startMinute, endMinute, qualityOrdinal);
+    }
+
+    public static long startMinute(long record) {
+        return record >>> (MINUTE_BITS + QUALITY_BITS);
+    }
+
+    public static long endMinute(long record) {
+        return (record >>> QUALITY_BITS) & MINUTE_MASK;
+    }
+
+    public static SleepQuality quality(long record) {
+        return QUALITIES[(int) (record & 3)];
+    }
+
+    public static int qualityOrdinal(long record) {
+        return (int) (record & 3);
+    }
+
+    private static long parseRecord(byte[] bytes, CharSequence chars, int from, int to) {
+        return parseRecord(bytes, chars, from, to, true);
+    }
+
+    // Без decodeTimes даты только проверяются, а в записи остается одно качество с нулевыми минутами
+    private static long parseRecord(byte[] bytes, CharSequence chars, int from, int to, boolean decodeTimes) {
+        int firstSeparator = indexOfSeparator(bytes, chars, from, to);
+        if (firstSeparator < 0) {
+            return INVALID;
+        }
+        int secondSeparator = indexOfSeparator(bytes, chars, firstSeparator + 1, to);
+        if (secondSeparator < 0) {
+            return INVALID;
+        }
+        int qualityEnd = indexOfSeparator(bytes, chars, secondSeparator + 1, to);
+        if (qualityEnd < 0) {
+            qualityEnd = to;
+        } else {
+            // String.split отбрасывает пустые хвостовые поля, поэтому "...;GOOD;;" допустима
+            for (int i = qualityEnd; i < to; i++) {
+                if (at(bytes, chars, i) != ';') {
+                    return INVALID;
+                }
+            }
+        }
+
+        int qualityOrdinal = parseQuality(bytes, chars, secondSeparator + 1, qualityEnd);
+        if (qualityOrdinal < 0) {
+            return INVALID;
+        }
+        if (!decodeTimes) {
+            return isOrdered(bytes, chars, from, firstSeparator, firstSeparator + 1, secondSeparator)
+                    ? qualityOrdinal : INVALID;
+        }
+        long start = parseDateTime(bytes, chars, from, firstSeparator);
+        if (start < 0) {
+            return INVALID;
+        }
+        long end = parseDateTime(bytes, chars, firstSeparator + 1, secondSeparator);
+        if (end < start) {
+            return INVALID;
+        }
+        return pack(start, end, qualityOrdinal);
+    }
+
+    private static long pack(long startMinute, long endMinute, int qualityOrdinal) {
+        return (startMinute << (MINUTE_BITS + QUALITY_BITS)) | (endMinute << QUALITY_BITS) | qualityOrdinal;
+    }
+
+    static long parseDateTime(byte[] bytes, CharSequence chars, int from, int to) {
+        long key = dateTimeKey(bytes, chars, from, to);
+        if (key < 0) {
+            return INVALID;
+        }
+        return EpochMinutes.of(2000 + (int) (key >>> 20), (int) (key >>> 16) & 0xF, (int) (key >>> 11) & 0x1F,
+                (int) (key >>> 6) & 0x1F, (int) key & 0x3F);
+    }
+
+    // Поля даты без календарной арифметики, упакованные от года к минуте: порядок ключей совпадает
+    // с порядком моментов, кроме "24:00", которое равно полуночи следующего дня, но меньше ее ключа
+    private static long dateTimeKey(byte[] bytes, CharSequence chars, int from, int to) {
+        while (from < to && at(bytes, chars, from) <= ' ') {
+            from++;
+        }
+        while (to > from && at(bytes, chars, to - 1) <= ' ') {
+            to--;
+        }
+        if (to - from != DATE_TIME_LENGTH
+                || at(bytes, chars, from + 2) != '.'
+                || at(bytes, chars, from + 5) != '.'
+                || at(bytes, chars, from + 8) != ' '
+                || at(bytes, chars, from + 11) != ':') {
+            return INVALID;
+        }
+        int day = twoDigits(bytes, chars, from);
+        int month = twoDigits(bytes, chars, from + 3);
+        int year = twoDigits(bytes, chars, from + 6);
+        int hour = twoDigits(bytes, chars, from + 9);
+        int minute = twoDigits(bytes, chars, from + 12);
+        if ((day | month | year | hour | minute) < 0
+                || day < 1 || day > 31 || month < 1 || month > 12 || minute > 59
+                || hour > 24 || (hour == 24 && minute != 0)) {
+            return INVALID;
+        }
+        // ResolverStyle.SMART: 31.02 превращается в последний день месяца, а 24:00 - в полночь следующего дня
+        if (day > 28) {
+            day = Math.min(day, EpochMinutes.lengthOfMonth(2000 + year, month));
+        }
+        return (long) year << 20 | month << 16 | day << 11 | hour << 6 | minute;
+    }
+
+    // Конец не раньше начала; по ключам без перевода в минуты, а при сомнении из-за "24:00" - точно
+    private static boolean isOrdered(byte[] bytes, CharSequence chars, int startFrom, int startTo,
+                                     int endFrom, int endTo) {
+        long startKey = dateTimeKey(bytes, chars, startFrom, startTo);
+        long endKey = dateTimeKey(bytes, chars, endFrom, endTo);
+        if (startKey < 0 || endKey < 0) {
+            return false;
+        }
+        return endKey >= startKey || parseDateTime(bytes, chars, endFrom, endTo)
+                >= parseDateTime(bytes, chars, startFrom, startTo);
+    }
+
+    private static int parseQuality(byte[] bytes, CharSequence chars, int from, int to) {
+        while (from < to && at(bytes, chars, from) <= ' ') {
+            from++;
+        }
+        while (to > from && at(bytes, chars, to - 1) <= ' ') {
+            to--;
+        }
+        int length = to - from;
+        if (length >= QUALITY_NAMES.length || QUALITY_NAMES[length] == null) {
+            return -1;
+        }
+        byte[] expected = QUALITY_NAMES[length];
+        for (int i = 0; i < length; i++) {
+            if ((at(bytes, chars, from + i) | 0x20) != (expected[i] | 0x20)) {
+                return -1;
+            }
+        }
+        return QUALITY_BY_LENGTH[length].ordinal();
+    }
+
+    private static int twoDigits(byte[] bytes, CharSequence chars, int index) {
+        int high = at(bytes, chars, index) - '0';
+        int low = at(bytes, chars, index + 1) - '0';
+        if (high < 0 || high > 9 || low < 0 || low > 9) {
+            return -1;
+        }
+        return high * 10 + low;
+    }
+
+    private static int indexOfSeparator(byte[] bytes, CharSequence chars, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (at(bytes, chars, i) == ';') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int at(byte[] bytes, CharSequence chars, int index) {
+        return bytes != null ? bytes[index] & 0xFF : chars.charAt(index);
+    }
+}
@@ -0,0 +1,92 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SessionTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Колоночный бинарный файл сессий, отображенный в память.
+ *
+ * <p>Формат: заголовок (magic {@code SLPC}, версия, количество записей), затем три колонки подряд -
+ * минуты от эпохи начала сна ({@code int}), продолжительность в минутах ({@code int}) и порядковый
+ * номер качества ({@code byte}). Открытие файла сводится к {@link FileChannel#map}, данные читаются по требованию.
+ */
+public final class MappedSessionFile implements SessionTable {
+    static final int MAGIC = 0x534C5043;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+
+    private final int size;
+    private final ByteBuffer starts;
+    private final ByteBuffer durations;
+    private final ByteBuffer qualities;
+
+    private MappedSessionFile(int size, ByteBuffer starts, ByteBuffer durations, ByteBuffer qualities) {
+        this.size = size;
+        this.starts = starts;
+        this.durations = durations;
+        this.qualities = qualities;
+    }
+
+    public static MappedSessionFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (channel.read(header, 0) < HEADER_SIZE || header.flip().getInt() != MAGIC) {
+                throw new IOException("Файл не является бинарным журналом сна: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Неподдерживаемая версия бинарного журнала сна: " + version);
+            }
+            long count = header.getLong();
+            if (count < 0 || count * Integer.BYTES > Integer.MAX_VALUE) {
+                throw new IOException("Некорректное количество записей в бинарном журнале сна: " + count);
+            }
+            if (channel.size() != HEADER_SIZE + count * (2 * Integer.BYTES + 1)) {
+                throw new IOException("Размер бинарного журнала сна не совпадает с заголовком: " + path);
+            }
+
+            long position = HEADER_SIZE;
+            ByteBuffer starts = channel.map(FileChannel.MapMode.READ_ONLY, position, count * Integer.BYTES);
+            position += count * Integer.BYTES;
+            ByteBuffer durations = channel.map(FileChannel.MapMode.READ_ONLY, position, count * Integer.BYTES);
+            position += count * Integer.BYTES;
+            ByteBuffer qualities = channel.map(FileChannel.MapMode.READ_ONLY, position, count);
+            return new MappedSessionFile((int) count, starts, durations, qualities);
+        }
+    }
+
+    public static boolean isSessionFile(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+            return channel.read(magic, 0) == Integer.BYTES && magic.getInt(0) == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int getStartMinute(int index) {
+        return starts.getInt(Objects.checkIndex(index, size) * Integer.BYTES);
+    }
+
+    @Override
+    public int getDurationMinutes(int index) {
+        return durations.getInt(Objects.checkIndex(index, size) * Integer.BYTES);
+    }
+
+    @Override
+    public int getQualityOrdinal(int index) {
+        return qualities.get(Objects.checkIndex(index, size));
+    }
+}
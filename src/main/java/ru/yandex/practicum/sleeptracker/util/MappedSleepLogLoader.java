@@ -0,0 +1,245 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SessionColumns;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Загружает журнал сна через {@link FileChannel#map}: файл режется на куски по границам строк,
+ * куски разбираются параллельно в fork/join пуле прямо из отображенной памяти и склеиваются в исходном порядке.
+ * Пустые и некорректные строки пропускаются так же, как при построчном чтении, а при заданном
+ * {@link SleepDateRange} строки вне диапазона отбрасываются до разбора.
+ */
+public final class MappedSleepLogLoader {
+    static final long DEFAULT_CHUNK_SIZE = 8L * 1024 * 1024;
+    private static final int BOUNDARY_SCAN_SIZE = 4096;
+    private static final int LINE_BUFFER_SIZE = 256;
+
+    private MappedSleepLogLoader() {
+    }
+
+    public static List<SleepingSession> load(Path path) throws IOException {
+        return load(path, ForkJoinPool.commonPool());
+    }
+
+    public static List<SleepingSession> load(Path path, ForkJoinPool pool) throws IOException {
+        return load(path, pool, DEFAULT_CHUNK_SIZE);
+    }
+
+    public static List<SleepingSession> load(Path path, SleepDateRange range) throws IOException {
+        return load(path, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, range);
+    }
+
+    static List<SleepingSession> load(Path path, ForkJoinPool pool, long chunkSize) throws IOException {
+        return load(path, pool, chunkSize, SleepDateRange.ALL);
+    }
+
+    static List<SleepingSession> load(Path path, ForkJoinPool pool, long chunkSize, SleepDateRange range)
+            throws IOException {
+        List<List<SleepingSession>> chunks = parseChunks(path, pool, chunkSize, chunk -> parseSessions(chunk, range));
+        int total = 0;
+        for (List<SleepingSession> chunk : chunks) {
+            total += chunk.size();
+        }
+        List<SleepingSession> sessions = new ArrayList<>(total);
+        for (List<SleepingSession> chunk : chunks) {
+            sessions.addAll(chunk);
+        }
+        return sessions;
+    }
+
+    public static SessionColumns loadColumns(Path path) throws IOException {
+        return loadColumns(path, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public static SessionColumns loadColumns(Path path, SleepDateRange range) throws IOException {
+        return loadColumns(path, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, range);
+    }
+
+    static SessionColumns loadColumns(Path path, ForkJoinPool pool, long chunkSize) throws IOException {
+        return loadColumns(path, pool, chunkSize, SleepDateRange.ALL);
+    }
+
+    static SessionColumns loadColumns(Path path, ForkJoinPool pool, long chunkSize, SleepDateRange range)
+            throws IOException {
+        List<SessionColumns> chunks = parseChunks(path, pool, chunkSize, chunk -> parseColumns(chunk, range));
+        int total = 0;
+        for (SessionColumns chunk : chunks) {
+            total += chunk.size();
+        }
+        SessionColumns columns = new SessionColumns(total);
+        for (SessionColumns chunk : chunks) {
+            columns.addAll(chunk);
+        }
+        return columns;
+    }
+
+    static <T> List<T> parseChunks(Path path, ForkJoinPool pool, long chunkSize, ChunkParser<T> parser)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] boundaries = chunkBoundaries(channel, chunkSize);
+            List<ChunkTask<T>> tasks = new ArrayList<>(boundaries.length - 1);
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                tasks.add(new ChunkTask<>(channel, boundaries[i], boundaries[i + 1], parser));
+            }
+
+            try {
+                pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            List<T> results = new ArrayList<>(tasks.size());
+            for (ChunkTask<T> task : tasks) {
+                results.add(task.join());
+            }
+            return results;
+        }
+    }
+
+    static long[] chunkBoundaries(FileChannel channel, long chunkSize) throws IOException {
+        long size = channel.size();
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        long position = 0;
+        while (position < size) {
+            long next = position + chunkSize >= size ? size : nextLineStart(channel, position + chunkSize - 1, size);
+            if (next - position > Integer.MAX_VALUE) {
+                throw new IOException("Слишком длинная строка в файле около позиции " + position);
+            }
+            boundaries.add(next);
+            position = next;
+        }
+        return boundaries.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    static void forEachLine(byte[] bytes, int length, LineHandler handler) {
+        int lineStart = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || isLineTerminator(bytes[i])) {
+                if (i > lineStart) {
+                    handler.line(bytes, lineStart, i);
+                }
+                lineStart = i + 1;
+            }
+        }
+    }
+
+    // Строки ищутся прямо в буфере; в переиспользуемый массив копируется только очередная строка,
+    // поэтому кусок не дублируется в куче целиком
+    static void forEachLine(ByteBuffer chunk, LineHandler handler) {
+        byte[] line = new byte[LINE_BUFFER_SIZE];
+        int limit = chunk.limit();
+        int lineStart = 0;
+        for (int i = 0; i <= limit; i++) {
+            if (i == limit || isLineTerminator(chunk.get(i))) {
+                int length = i - lineStart;
+                if (length > 0) {
+                    if (length > line.length) {
+                        line = new byte[Math.max(length, line.length * 2)];
+                    }
+                    chunk.get(lineStart, line, 0, length);
+                    handler.line(line, 0, length);
+                }
+                lineStart = i + 1;
+            }
+        }
+    }
+
+    static boolean isLineTerminator(byte value) {
+        return value == '\n' || value == '\r';
+    }
+
+    private static List<SleepingSession> parseSessions(ByteBuffer chunk, SleepDateRange range) {
+        List<SleepingSession> sessions = new ArrayList<>();
+        forEachLine(chunk, (buffer, from, to) -> {
+            SleepingSession session = FastSleepSessionParser.toSession(
+                    FastSleepSessionParser.parseRecord(buffer, from, to, range));
+            if (session != null) {
+                sessions.add(session);
+            }
+        });
+        return sessions;
+    }
+
+    private static SessionColumns parseColumns(ByteBuffer chunk, SleepDateRange range) {
+        SessionColumns columns = new SessionColumns();
+        forEachLine(chunk, (buffer, from, to) -> {
+            long record = FastSleepSessionParser.parseRecord(buffer, from, to, range);
+            if (record != FastSleepSessionParser.INVALID) {
+                long start = FastSleepSessionParser.startMinute(record);
+                columns.add(start, FastSleepSessionParser.endMinute(record) - start,
+                        FastSleepSessionParser.qualityOrdinal(record));
+            }
+        });
+        return columns;
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (isLineTerminator(buffer.get(i))) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    @FunctionalInterface
+    interface ChunkParser<T> {
+        T parse(ByteBuffer chunk);
+    }
+
+    @FunctionalInterface
+    interface LineHandler {
+        void line(byte[] bytes, int from, int to);
+    }
+
+    // Задача не сериализуется: канал и разборщик живут только во время загрузки
+    private static final class ChunkTask<T> extends RecursiveTask<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final long start;
+        private final long end;
+        private final transient ChunkParser<T> parser;
+
+        ChunkTask(FileChannel channel, long start, long end, ChunkParser<T> parser) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.parser = parser;
+        }
+
+        @Override
+        protected T compute() {
+            ByteBuffer chunk;
+            try {
+                chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return parser.parse(chunk);
+        }
+    }
+}
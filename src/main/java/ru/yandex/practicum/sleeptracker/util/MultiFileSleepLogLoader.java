@@ -0,0 +1,206 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SessionColumns;
+import ru.yandex.practicum.sleeptracker.model.SessionTable;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Загружает несколько журналов сна, заданных каталогом или glob-шаблоном: файлы разбираются параллельно,
+ * а отсортированные по началу сна сессии каждого файла сливаются k-путевым слиянием через кучу.
+ * Так анализы, зависящие от порядка, получают один упорядоченный поток без общей сортировки всех сессий.
+ */
+public final class MultiFileSleepLogLoader {
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    private MultiFileSleepLogLoader() {
+    }
+
+    public static boolean isPattern(String location) {
+        for (int i = 0; i < location.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(location.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Существующий путь берется буквально, даже если в имени есть спецсимволы шаблона, как в sleep[2024].txt
+    public static boolean isGlob(String location) {
+        if (!isPattern(location)) {
+            return false;
+        }
+        try {
+            return !Files.exists(Paths.get(location));
+        } catch (InvalidPathException e) {
+            return true;
+        }
+    }
+
+    // Каталог - его обычные файлы без скрытых, шаблон - все совпавшие файлы; порядок по имени
+    public static List<Path> resolve(String location) throws IOException {
+        if (!isGlob(location)) {
+            Path path = Paths.get(location);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.list(path)) {
+                    return sorted(files.filter(Files::isRegularFile).filter(MultiFileSleepLogLoader::isVisible));
+                }
+            }
+            if (!Files.exists(path)) {
+                throw new IOException("Файл не найден: " + location);
+            }
+            return List.of(path);
+        }
+
+        // Обход начинается с самого длинного префикса шаблона без спецсимволов
+        String[] parts = location.split(File.separatorChar == '/' ? "/" : "[/\\\\]");
+        Path base = Paths.get("");
+        int literalParts = 0;
+        while (literalParts < parts.length && !isPattern(parts[literalParts])) {
+            String part = parts[literalParts++];
+            base = part.isEmpty() && literalParts == 1 ? Paths.get(File.separator) : base.resolve(part);
+        }
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + location);
+        int depth = location.contains("**") ? Integer.MAX_VALUE : parts.length - literalParts;
+        List<Path> files;
+        try (Stream<Path> candidates = Files.walk(base, depth)) {
+            files = sorted(candidates.filter(matcher::matches).filter(Files::isRegularFile));
+        }
+        if (files.isEmpty()) {
+            throw new IOException("Файлы не найдены: " + location);
+        }
+        return files;
+    }
+
+    public static List<SleepingSession> load(String location) throws IOException {
+        return load(location, SleepDateRange.ALL);
+    }
+
+    public static List<SleepingSession> load(String location, SleepDateRange range) throws IOException {
+        return load(resolve(location), ForkJoinPool.commonPool(), range);
+    }
+
+    public static List<SleepingSession> load(List<Path> files, ForkJoinPool pool) throws IOException {
+        return load(files, pool, SleepDateRange.ALL);
+    }
+
+    public static List<SleepingSession> load(List<Path> files, ForkJoinPool pool, SleepDateRange range)
+            throws IOException {
+        List<ForkJoinTask<List<SleepingSession>>> tasks = new ArrayList<>(files.size());
+        for (Path file : files) {
+            tasks.add(ForkJoinTask.adapt(() -> loadSorted(file, pool, range)));
+        }
+        try {
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        List<List<SleepingSession>> runs = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<List<SleepingSession>> task : tasks) {
+            runs.add(task.join());
+        }
+        return merge(runs);
+    }
+
+    // При равном начале сна раньше идет сессия из файла с меньшим номером, как при склейке файлов по порядку
+    public static List<SleepingSession> merge(List<? extends List<SleepingSession>> sortedRuns) {
+        int total = 0;
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(Math.max(1, sortedRuns.size()));
+        for (int i = 0; i < sortedRuns.size(); i++) {
+            List<SleepingSession> run = sortedRuns.get(i);
+            total += run.size();
+            if (!run.isEmpty()) {
+                heap.add(new Cursor(run, i));
+            }
+        }
+        if (heap.size() == 1) {
+            return new ArrayList<>(heap.peek().run);
+        }
+
+        List<SleepingSession> merged = new ArrayList<>(total);
+        while (!heap.isEmpty()) {
+            Cursor cursor = heap.poll();
+            merged.add(cursor.current());
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static List<SleepingSession> loadSorted(Path file, ForkJoinPool pool, SleepDateRange range) {
+        try {
+            SessionColumns columns = MappedSessionFile.isSessionFile(file)
+                    ? copyInRange(MappedSessionFile.open(file), range)
+                    : MappedSleepLogLoader.loadColumns(file, pool, MappedSleepLogLoader.DEFAULT_CHUNK_SIZE, range);
+            // Журналы обычно уже упорядочены; иначе файл сортируется по упакованным ключам, устойчиво
+            columns.sortByStart();
+            return new ArrayList<>(columns.asList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static SessionColumns copyInRange(SessionTable table, SleepDateRange range) {
+        if (range.isUnbounded()) {
+            return SessionColumns.copyOf(table);
+        }
+        SessionColumns columns = new SessionColumns();
+        for (int i = 0; i < table.size(); i++) {
+            if (range.contains(table.getStartMinute(i))) {
+                columns.add(table.getStartMinute(i), table.getDurationMinutes(i), table.getQualityOrdinal(i));
+            }
+        }
+        return columns;
+    }
+
+    private static boolean isVisible(Path path) {
+        return !path.getFileName().toString().startsWith(".");
+    }
+
+    private static List<Path> sorted(Stream<Path> paths) {
+        return paths.sorted().collect(Collectors.toList());
+    }
+
+    private static final class Cursor implements Comparable<Cursor> {
+        private final List<SleepingSession> run;
+        private final int runIndex;
+        private int position;
+
+        private Cursor(List<SleepingSession> run, int runIndex) {
+            this.run = run;
+            this.runIndex = runIndex;
+        }
+
+        private SleepingSession current() {
+            return run.get(position);
+        }
+
+        private boolean advance() {
+            return ++position < run.size();
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            int byStart = current().getSleepStart().compareTo(other.current().getSleepStart());
+            return byStart != 0 ? byStart : Integer.compare(runIndex, other.runIndex);
+        }
+    }
+}
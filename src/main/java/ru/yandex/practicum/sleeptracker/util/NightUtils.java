@@ -4,12 +4,10 @@ import ru.yandex.practicum.sleeptracker.model.SleepingSession;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.temporal.ChronoUnit;
-import java.util.stream.LongStream;
 
 public class NightUtils {
-    private static final LocalTime NIGHT_START = LocalTime.MIDNIGHT;
-    private static final LocalTime NIGHT_END = LocalTime.of(6, 0);
+    private static final int NIGHT_END_MINUTE = 6 * 60;
+    private static final int NOON_MINUTE = 12 * 60;
     private static final LocalTime NOON = LocalTime.NOON;
 
     public static boolean overlapsNightInterval(SleepingSession session) {
@@ -17,21 +15,53 @@ public class NightUtils {
     }
 
     public static boolean overlapsNightInterval(LocalDateTime start, LocalDateTime end) {
-        long daysBetween = ChronoUnit.DAYS.between(start.toLocalDate(), end.toLocalDate());
+        if (end.toLocalDate().isBefore(start.toLocalDate())) {
+            return false;
+        }
+        // Границы ночи всегда целые минуты: начало округляется вверх, конец вниз, и сравнение остается точным
+        long startMinute = EpochMinutes.of(start);
+        if (start.getSecond() != 0 || start.getNano() != 0) {
+            startMinute++;
+        }
+        return firstNightStartNotBefore(startMinute) <= EpochMinutes.of(end);
+    }
 
-        return LongStream.rangeClosed(0, daysBetween)
-                .mapToObj(offset -> start.toLocalDate().plusDays(offset))
-                .anyMatch(date -> {
-                    LocalDateTime nightStart = date.atStartOfDay();
-                    LocalDateTime nightEnd = nightStart.plusHours(6);
-                    return !end.isBefore(nightStart) && !start.isAfter(nightEnd);
-                });
+    public static boolean overlapsNightInterval(long startMinute, long endMinute) {
+        if (EpochMinutes.epochDay(endMinute) < EpochMinutes.epochDay(startMinute)) {
+            return false;
+        }
+        return firstNightStartNotBefore(startMinute) <= endMinute;
+    }
+
+    public static int overlapsNightInterval(int[] startMinutes, int[] endMinutes, int count, boolean[] result) {
+        int overlapping = 0;
+        for (int i = 0; i < count; i++) {
+            boolean overlaps = overlapsNightInterval(startMinutes[i], endMinutes[i]);
+            result[i] = overlaps;
+            overlapping += overlaps ? 1 : 0;
+        }
+        return overlapping;
+    }
+
+    // Ночь дня D - отрезок [D 00:00, D 06:00]; берется первая ночь, которая заканчивается не раньше начала сна
+    private static long firstNightStartNotBefore(long startMinute) {
+        long day = Math.ceilDiv(startMinute - NIGHT_END_MINUTE, EpochMinutes.MINUTES_PER_DAY);
+        return day * EpochMinutes.MINUTES_PER_DAY;
     }
 
     public static LocalDate getNightDate(SleepingSession session) {
         return getNightDate(session.getSleepStart());
     }
 
+    public static long getNightEpochDay(LocalDateTime timestamp) {
+        long epochDay = timestamp.toLocalDate().toEpochDay();
+        return timestamp.getHour() < 12 ? epochDay - 1 : epochDay;
+    }
+
+    public static long getNightEpochDay(long epochMinute) {
+        return Math.floorDiv(epochMinute - NOON_MINUTE, EpochMinutes.MINUTES_PER_DAY);
+    }
+
     public static LocalDate getNightDate(LocalDateTime timestamp) {
         LocalDate date = timestamp.toLocalDate();
         LocalTime time = timestamp.toLocalTime();
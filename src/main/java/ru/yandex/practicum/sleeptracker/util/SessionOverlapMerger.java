@@ -0,0 +1,146 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Нормализует поток сессий, упорядоченный по началу сна: один проход заметающей прямой объединяет
+ * пересекающиеся и повторяющиеся сессии, например записанные несколькими устройствами, в одну сессию
+ * от самого раннего начала до самого позднего конца. Качество объединенной сессии выбирается
+ * {@link QualityPolicy}. В памяти держится только текущая объединяемая сессия, поэтому после
+ * сортировки, например {@link ExternalSessionSorter}, этап работает на данных любого размера.
+ *
+ * <p>Сессии, которые только соприкасаются (конец одной равен началу другой), не объединяются.
+ */
+public class SessionOverlapMerger implements Consumer<SleepingSession> {
+
+    public enum QualityPolicy {
+        // Худшее из качеств объединяемых сессий
+        WORST,
+        // Лучшее из качеств объединяемых сессий
+        BEST,
+        // Качество самой продолжительной из объединяемых сессий, при равенстве - более ранней
+        LONGEST
+    }
+
+    private final QualityPolicy policy;
+    private final Consumer<? super SleepingSession> downstream;
+
+    private LocalDateTime previousStart;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private SleepQuality quality;
+    private long longestDuration;
+    private long inputCount;
+    private long outputCount;
+
+    public SessionOverlapMerger(QualityPolicy policy, Consumer<? super SleepingSession> downstream) {
+        this.policy = Objects.requireNonNull(policy);
+        this.downstream = Objects.requireNonNull(downstream);
+    }
+
+    // Устойчиво упорядочивает копию по началу сна и объединяет пересечения; исходный список не меняется
+    public static Result normalize(List<SleepingSession> sessions, QualityPolicy policy) {
+        List<SleepingSession> sorted = new ArrayList<>(sessions);
+        sorted.sort(Comparator.comparing(SleepingSession::getSleepStart));
+        List<SleepingSession> merged = new ArrayList<>();
+        SessionOverlapMerger merger = new SessionOverlapMerger(policy, merged::add);
+        sorted.forEach(merger);
+        merger.finish();
+        return new Result(merged, merger.getMergedCount());
+    }
+
+    @Override
+    public void accept(SleepingSession session) {
+        LocalDateTime sessionStart = session.getSleepStart();
+        if (previousStart != null && sessionStart.isBefore(previousStart)) {
+            throw new IllegalArgumentException("Сессии должны поступать в порядке начала сна: " + session);
+        }
+        previousStart = sessionStart;
+        inputCount++;
+        // Повтор сессии нулевой длины тоже считается пересечением
+        if (start != null && (sessionStart.isBefore(end) || sessionStart.equals(start))) {
+            absorb(session);
+            return;
+        }
+        flush();
+        start = sessionStart;
+        end = session.getSleepEnd();
+        quality = session.getQuality();
+        longestDuration = session.getDurationInMinutes();
+    }
+
+    // Передает последнюю объединяемую сессию; вызывается после конца входного потока
+    public void finish() {
+        flush();
+    }
+
+    public long getInputCount() {
+        return inputCount;
+    }
+
+    public long getOutputCount() {
+        return outputCount;
+    }
+
+    public long getMergedCount() {
+        return inputCount - outputCount - (start != null ? 1 : 0);
+    }
+
+    private void absorb(SleepingSession session) {
+        if (session.getSleepEnd().isAfter(end)) {
+            end = session.getSleepEnd();
+        }
+        SleepQuality other = session.getQuality();
+        switch (policy) {
+            case WORST:
+                quality = other.ordinal() > quality.ordinal() ? other : quality;
+                break;
+            case BEST:
+                quality = other.ordinal() < quality.ordinal() ? other : quality;
+                break;
+            case LONGEST:
+                if (session.getDurationInMinutes() > longestDuration) {
+                    longestDuration = session.getDurationInMinutes();
+                    quality = other;
+                }
+                break;
+            default:
+                throw new IllegalStateException("Неизвестная политика качества: " + policy);
+        }
+    }
+
+    private void flush() {
+        if (start == null) {
+            return;
+        }
+        downstream.accept(new SleepingSession(start, end, quality));
+        outputCount++;
+        start = null;
+    }
+
+    public static final class Result {
+        private final List<SleepingSession> sessions;
+        private final long mergedCount;
+
+        private Result(List<SleepingSession> sessions, long mergedCount) {
+            this.sessions = sessions;
+            this.mergedCount = mergedCount;
+        }
+
+        public List<SleepingSession> getSessions() {
+            return sessions;
+        }
+
+        public long getMergedCount() {
+            return mergedCount;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Диапазон дат начала сна, включая обе границы, для отбора сессий при загрузке журнала.
+ * {@link #mayContain(byte[], int, int)} проверяет дату {@code dd.MM.yy} в начале строки прямо по байтам,
+ * поэтому строки вне диапазона отбрасываются без полного разбора, объектов времени и строк.
+ * Проверка по байтам грубая, на сутки шире диапазона, а точную границу проверяет {@link #contains(long)}.
+ */
+public final class SleepDateRange {
+    public static final SleepDateRange ALL = new SleepDateRange(null, null);
+
+    private static final int MIN_YEAR = 2000;
+    private static final int MAX_YEAR = 2099;
+    private static final int DAY_KEY_LENGTH = 8;
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final long fromMinute;
+    private final long toMinuteExclusive;
+    private final int minDayKey;
+    private final int maxDayKey;
+
+    private SleepDateRange(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+        this.fromMinute = from == null ? Long.MIN_VALUE : EpochMinutes.of(from.atStartOfDay());
+        this.toMinuteExclusive = to == null ? Long.MAX_VALUE : EpochMinutes.of(to.plusDays(1).atStartOfDay());
+        // "24:00" предыдущего дня - это полночь первого дня диапазона
+        this.minDayKey = from == null || from.getYear() <= MIN_YEAR ? Integer.MIN_VALUE : dayKey(from.minusDays(1));
+        // "31.02" означает последний день февраля, поэтому последний день месяца покрывает любой номер дня
+        this.maxDayKey = to == null || to.getYear() > MAX_YEAR ? Integer.MAX_VALUE
+                : to.getDayOfMonth() == to.lengthOfMonth() ? dayKey(to) - to.getDayOfMonth() + 99 : dayKey(to);
+    }
+
+    public static SleepDateRange of(LocalDate from, LocalDate to) {
+        Objects.requireNonNull(from);
+        Objects.requireNonNull(to);
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Конец диапазона раньше начала: " + from + " - " + to);
+        }
+        return new SleepDateRange(from, to);
+    }
+
+    // Последние days дней, включая today
+    public static SleepDateRange lastDays(int days, LocalDate today) {
+        if (days < 1) {
+            throw new IllegalArgumentException("Число дней должно быть положительным: " + days);
+        }
+        return of(today.minusDays(days - 1L), today);
+    }
+
+    public boolean isUnbounded() {
+        return from == null && to == null;
+    }
+
+    public boolean contains(long startMinute) {
+        return startMinute >= fromMinute && startMinute < toMinuteExclusive;
+    }
+
+    public boolean contains(SleepingSession session) {
+        return isUnbounded() || contains(EpochMinutes.of(session.getSleepStart()));
+    }
+
+    // false - строка точно не подходит: вне диапазона или без корректной даты в начале, которую отклонил бы разбор
+    public boolean mayContain(byte[] bytes, int from, int to) {
+        if (isUnbounded()) {
+            return true;
+        }
+        while (from < to && (bytes[from] & 0xFF) <= ' ') {
+            from++;
+        }
+        if (to - from < DAY_KEY_LENGTH || bytes[from + 2] != '.' || bytes[from + 5] != '.') {
+            return false;
+        }
+        int day = digits(bytes, from);
+        int month = digits(bytes, from + 3);
+        int year = digits(bytes, from + 6);
+        if ((day | month | year) < 0) {
+            return false;
+        }
+        int key = year * 10000 + month * 100 + day;
+        return key >= minDayKey && key <= maxDayKey;
+    }
+
+    @Override
+    public String toString() {
+        return isUnbounded() ? "все даты" : (from == null ? "..." : from) + " - " + (to == null ? "..." : to);
+    }
+
+    private static int dayKey(LocalDate date) {
+        return (date.getYear() - MIN_YEAR) * 10000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+
+    private static int digits(byte[] bytes, int index) {
+        int high = bytes[index] - '0';
+        int low = bytes[index + 1] - '0';
+        if (high < 0 || high > 9 || low < 0 || low > 9) {
+            return -1;
+        }
+        return high * 10 + low;
+    }
+}
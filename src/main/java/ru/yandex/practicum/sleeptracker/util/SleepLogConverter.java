@@ -0,0 +1,28 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public final class SleepLogConverter {
+
+    private SleepLogConverter() {
+    }
+
+    public static long convert(Path textLog, Path binaryLog) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(textLog, StandardCharsets.UTF_8);
+             BinarySessionWriter writer = new BinarySessionWriter(binaryLog)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                long record = FastSleepSessionParser.parseRecord(line);
+                if (record != FastSleepSessionParser.INVALID) {
+                    writer.writeRecord(record);
+                }
+            }
+            writer.finish();
+            return writer.getCount();
+        }
+    }
+}
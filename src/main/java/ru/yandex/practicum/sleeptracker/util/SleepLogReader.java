@@ -0,0 +1,153 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SessionField;
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+public final class SleepLogReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final LocalDateTime PROJECTED_TIME = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final SleepingSession[] QUALITY_ONLY_SESSIONS = qualityOnlySessions();
+
+    private SleepLogReader() {
+    }
+
+    // Проекция: если начало и конец сна не нужны, даты в строке только проверяются, а потребитель получает
+    // общий для каждого качества экземпляр с фиктивным временем - без перевода дат и объектов на строку
+    public static long forEachSession(InputStream inputStream, Set<SessionField> fields,
+                                      Consumer<? super SleepingSession> consumer) throws IOException {
+        boolean decodeTimes = fields.contains(SessionField.START) || fields.contains(SessionField.END);
+        long[] count = new long[1];
+        forEachLine(inputStream, (bytes, from, to) -> {
+            SleepingSession session;
+            if (decodeTimes) {
+                session = FastSleepSessionParser.parse(bytes, from, to);
+            } else {
+                int qualityOrdinal = FastSleepSessionParser.parseQualityOrdinal(bytes, from, to);
+                session = qualityOrdinal < 0 ? null : QUALITY_ONLY_SESSIONS[qualityOrdinal];
+            }
+            if (session != null) {
+                consumer.accept(session);
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    public static long forEachSession(Path path, Consumer<? super SleepingSession> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return forEachSession(reader, consumer);
+        }
+    }
+
+    public static long forEachSession(InputStream inputStream, Consumer<? super SleepingSession> consumer)
+            throws IOException {
+        return forEachSession(new InputStreamReader(inputStream), consumer);
+    }
+
+    public static long forEachRecord(InputStream inputStream, LongConsumer consumer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
+        long count = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            long record = FastSleepSessionParser.parseRecord(line);
+            if (record != FastSleepSessionParser.INVALID) {
+                consumer.accept(record);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Строки вне диапазона отбрасываются по байтам даты начала, до перевода в минуты и качество
+    public static long forEachRecord(InputStream inputStream, SleepDateRange range, LongConsumer consumer)
+            throws IOException {
+        long[] count = new long[1];
+        forEachLine(inputStream, (bytes, from, to) -> {
+            long record = FastSleepSessionParser.parseRecord(bytes, from, to, range);
+            if (record != FastSleepSessionParser.INVALID) {
+                consumer.accept(record);
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    public static long forEachSession(byte[] bytes, int from, int to, Consumer<? super SleepingSession> consumer) {
+        long count = 0;
+        int lineStart = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || MappedSleepLogLoader.isLineTerminator(bytes[i])) {
+                SleepingSession session = i > lineStart ? FastSleepSessionParser.parse(bytes, lineStart, i) : null;
+                if (session != null) {
+                    consumer.accept(session);
+                    count++;
+                }
+                lineStart = i + 1;
+            }
+        }
+        return count;
+    }
+
+    // Строки читаются байтами: перевод строки - '\n' или '\r', как у BufferedReader.readLine
+    private static void forEachLine(InputStream inputStream, MappedSleepLogLoader.LineHandler handler)
+            throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length = 0;
+        int read;
+        while ((read = inputStream.read(buffer, length, buffer.length - length)) >= 0) {
+            length += read;
+            int lastTerminator = length - 1;
+            while (lastTerminator >= 0 && !MappedSleepLogLoader.isLineTerminator(buffer[lastTerminator])) {
+                lastTerminator--;
+            }
+            if (lastTerminator >= 0) {
+                MappedSleepLogLoader.forEachLine(buffer, lastTerminator, handler);
+                length -= lastTerminator + 1;
+                System.arraycopy(buffer, lastTerminator + 1, buffer, 0, length);
+            } else if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        MappedSleepLogLoader.forEachLine(buffer, length, handler);
+    }
+
+    private static SleepingSession[] qualityOnlySessions() {
+        SleepQuality[] qualities = SleepQuality.values();
+        SleepingSession[] sessions = new SleepingSession[qualities.length];
+        for (SleepQuality quality : qualities) {
+            sessions[quality.ordinal()] = new SleepingSession(PROJECTED_TIME, PROJECTED_TIME, quality);
+        }
+        return sessions;
+    }
+
+    public static long forEachSession(Reader reader, Consumer<? super SleepingSession> consumer) throws IOException {
+        BufferedReader bufferedReader = reader instanceof BufferedReader
+                ? (BufferedReader) reader
+                : new BufferedReader(reader);
+        long count = 0;
+        String line;
+        while ((line = bufferedReader.readLine()) != null) {
+            SleepingSession session = FastSleepSessionParser.parse(line);
+            if (session != null) {
+                consumer.accept(session);
+                count++;
+            }
+        }
+        return count;
+    }
+}
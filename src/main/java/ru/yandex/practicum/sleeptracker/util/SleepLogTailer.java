@@ -0,0 +1,247 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Следит за журналом сна, который дописывается другим процессом: хранит смещение уже разобранной
+ * части и при каждом {@link #poll()} читает только новые байты, поэтому файл целиком не перечитывается.
+ * Незавершенная последняя строка ждет перевода строки: писатель мог сбросить на диск только часть строки,
+ * и ее продолжение может сделать строку некорректной. Без перевода строки она разбирается, только когда
+ * файл заменен новым или слежение закрыто. Усечение определяется по размеру меньше
+ * смещения, замена файла новым (ротация) - по {@link BasicFileAttributes#fileKey()}; в обоих случаях
+ * чтение продолжается с начала нового содержимого, а уже переданные сессии остаются в истории.
+ */
+public class SleepLogTailer implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private final Path path;
+    private final Consumer<? super SleepingSession> consumer;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    private FileChannel channel;
+    private Object fileKey;
+    private long offset;
+    private byte[] pending = new byte[BUFFER_SIZE];
+    private int pendingLength;
+    private boolean skipToLineEnd;
+
+    public SleepLogTailer(Path path, Consumer<? super SleepingSession> consumer) {
+        this.path = Objects.requireNonNull(path);
+        this.consumer = Objects.requireNonNull(consumer);
+    }
+
+    public Update poll() throws IOException {
+        BasicFileAttributes attributes = readAttributes();
+        long sessions = 0;
+        boolean rotated = false;
+        boolean truncated = false;
+
+        if (channel != null && attributes != null && fileKey != null && !fileKey.equals(attributes.fileKey())) {
+            // Писатель мог успеть дописать старый файл до переименования; больше он его не продолжит
+            sessions += readAvailable();
+            sessions += consumePendingLine();
+            closeChannel();
+            rotated = true;
+        }
+        if (channel == null && (attributes == null || !open(attributes))) {
+            return new Update(sessions, rotated, false);
+        }
+        if (channel.size() < offset) {
+            resetPosition();
+            truncated = true;
+        }
+        sessions += readAvailable();
+        return new Update(sessions, rotated, truncated);
+    }
+
+    public void follow(Duration pollInterval, Consumer<Update> onChange) throws IOException, InterruptedException {
+        try (WatchService watcher = path.getFileSystem().newWatchService()) {
+            path.toAbsolutePath().getParent().register(watcher,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (true) {
+                Update update = poll();
+                if (update.hasChanges()) {
+                    onChange.accept(update);
+                }
+                // Интервал страхует от пропущенных событий, например на сетевых файловых системах
+                WatchKey key = watcher.poll(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+        }
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    // Незавершенная последняя строка разбирается как есть: продолжения уже не будет
+    @Override
+    public void close() throws IOException {
+        consumePendingLine();
+        closeChannel();
+    }
+
+    private BasicFileAttributes readAttributes() throws IOException {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    // Файл могли заменить между чтением атрибутов и открытием: тогда попытка повторится при следующем опросе
+    private boolean open(BasicFileAttributes attributes) throws IOException {
+        FileChannel opened;
+        try {
+            opened = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        BasicFileAttributes current = readAttributes();
+        if (current == null || !Objects.equals(attributes.fileKey(), current.fileKey())) {
+            opened.close();
+            return false;
+        }
+        channel = opened;
+        fileKey = current.fileKey();
+        resetPosition();
+        return true;
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+            fileKey = null;
+        }
+    }
+
+    private void resetPosition() {
+        offset = 0;
+        pendingLength = 0;
+        skipToLineEnd = false;
+    }
+
+    private long readAvailable() throws IOException {
+        long sessions = 0;
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            offset += read;
+            sessions += consume(buffer.array(), read);
+        }
+        return sessions;
+    }
+
+    private long consume(byte[] bytes, int length) {
+        int from = 0;
+        if (skipToLineEnd) {
+            while (from < length && !MappedSleepLogLoader.isLineTerminator(bytes[from])) {
+                from++;
+            }
+            if (from == length) {
+                return 0;
+            }
+            skipToLineEnd = false;
+        }
+        int lastTerminator = length - 1;
+        while (lastTerminator >= from && !MappedSleepLogLoader.isLineTerminator(bytes[lastTerminator])) {
+            lastTerminator--;
+        }
+        long sessions = 0;
+        if (lastTerminator >= from) {
+            append(bytes, from, lastTerminator + 1);
+            sessions = parsePending();
+            from = lastTerminator + 1;
+        }
+        append(bytes, from, length);
+        if (pendingLength > MAX_LINE_LENGTH) {
+            pendingLength = 0;
+            skipToLineEnd = true;
+        }
+        return sessions;
+    }
+
+    private long consumePendingLine() {
+        if (skipToLineEnd || pendingLength == 0) {
+            pendingLength = 0;
+            return 0;
+        }
+        return parsePending();
+    }
+
+    private long parsePending() {
+        long[] sessions = new long[1];
+        MappedSleepLogLoader.forEachLine(pending, pendingLength, (bytes, from, to) -> {
+            SleepingSession session = FastSleepSessionParser.parse(bytes, from, to);
+            if (session != null) {
+                consumer.accept(session);
+                sessions[0]++;
+            }
+        });
+        pendingLength = 0;
+        return sessions[0];
+    }
+
+    private void append(byte[] bytes, int from, int to) {
+        int length = to - from;
+        if (pendingLength + length > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+        }
+        System.arraycopy(bytes, from, pending, pendingLength, length);
+        pendingLength += length;
+    }
+
+    public static final class Update {
+        private final long sessions;
+        private final boolean rotated;
+        private final boolean truncated;
+
+        private Update(long sessions, boolean rotated, boolean truncated) {
+            this.sessions = sessions;
+            this.rotated = rotated;
+            this.truncated = truncated;
+        }
+
+        public long getSessions() {
+            return sessions;
+        }
+
+        public boolean isRotated() {
+            return rotated;
+        }
+
+        public boolean isTruncated() {
+            return truncated;
+        }
+
+        public boolean hasChanges() {
+            return sessions > 0 || rotated || truncated;
+        }
+    }
+}
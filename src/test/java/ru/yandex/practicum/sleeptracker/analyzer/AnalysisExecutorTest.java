@@ -0,0 +1,82 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisExecutorTest {
+
+    private final List<SleepingSession> sessions = List.of(
+            new SleepingSession(
+                    LocalDateTime.of(2025, 10, 1, 23, 0),
+                    LocalDateTime.of(2025, 10, 2, 7, 0),
+                    SleepQuality.GOOD
+            )
+    );
+
+    @Test
+    @DisplayName("Медленный анализ должен быть отменен по таймауту, остальные - завершены")
+    void testSlowAnalysisTimesOut() {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        SleepAnalysisFunction slow = list -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            return new SleepAnalysisResult("Медленный", 0);
+        };
+        List<SleepAnalysisFunction> functions = List.of(new TotalSessionsAnalysis(), slow, new MaxDurationAnalysis());
+
+        long started = System.nanoTime();
+        List<AnalysisOutcome> outcomes;
+        try (AnalysisExecutor executor = new AnalysisExecutor()) {
+            executor.withTimeout(slow, Duration.ofMillis(100));
+            outcomes = executor.run(functions, sessions);
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(3, outcomes.size());
+        assertEquals(AnalysisOutcome.Status.COMPLETED, outcomes.get(0).getStatus());
+        assertEquals(1L, outcomes.get(0).getResult().getResult());
+        assertEquals(AnalysisOutcome.Status.TIMED_OUT, outcomes.get(1).getStatus());
+        assertTrue(outcomes.get(1).toResult().getResult().toString().contains("превышено время"));
+        assertEquals(480L, outcomes.get(2).getResult().getResult());
+        assertTrue(elapsedMillis < 5_000, "Отчет не должен ждать медленный анализ: " + elapsedMillis + " мс");
+    }
+
+    @Test
+    @DisplayName("Ошибка в анализе должна попадать в отчет, не прерывая остальные")
+    void testFailingAnalysisIsReported() {
+        SleepAnalysisFunction failing = list -> {
+            throw new IllegalStateException("сбой");
+        };
+
+        List<AnalysisOutcome> outcomes;
+        try (AnalysisExecutor executor = new AnalysisExecutor(Executors.newFixedThreadPool(2), Duration.ofSeconds(5))) {
+            outcomes = executor.run(List.of(failing, new MinDurationAnalysis()), sessions);
+        }
+
+        assertEquals(AnalysisOutcome.Status.FAILED, outcomes.get(0).getStatus());
+        assertEquals("ошибка: сбой", outcomes.get(0).toResult().getResult());
+        assertTrue(outcomes.get(1).isCompleted());
+        assertEquals(480L, outcomes.get(1).getResult().getResult());
+    }
+
+    @Test
+    @DisplayName("Должен отклонить неположительный лимит времени")
+    void testRejectsNonPositiveTimeout() {
+        try (AnalysisExecutor executor = new AnalysisExecutor()) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> executor.withTimeout(new TotalSessionsAnalysis(), Duration.ZERO));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.LongAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisRegistryTest {
+
+    private static final AnalysisComputation CONSTANT = (sessions, dependencies) -> new LongAnalysisResult("Константа", 1);
+
+    @Test
+    @DisplayName("Порядок вычисления должен ставить зависимости раньше зависимых анализов")
+    void testTopologicalOrder() {
+        AnalysisRegistry registry = new AnalysisRegistry()
+                .register(AnalysisId.of("c"), List.of(AnalysisId.of("a"), AnalysisId.of("b")), CONSTANT)
+                .register(AnalysisId.of("b"), List.of(AnalysisId.of("a")), CONSTANT)
+                .register(AnalysisId.of("a"), List.of(), CONSTANT);
+
+        List<AnalysisId> order = registry.topologicalOrder();
+
+        assertEquals(List.of(AnalysisId.of("a"), AnalysisId.of("b"), AnalysisId.of("c")), order);
+    }
+
+    @Test
+    @DisplayName("Цикл между анализами должен вызывать исключение")
+    void testCycleDetected() {
+        AnalysisRegistry registry = new AnalysisRegistry()
+                .register(AnalysisId.of("a"), List.of(AnalysisId.of("b")), CONSTANT)
+                .register(AnalysisId.of("b"), List.of(AnalysisId.of("a")), CONSTANT)
+                .register(AnalysisId.of("c"), List.of(), CONSTANT);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, registry::topologicalOrder);
+        assertTrue(e.getMessage().contains("Циклическая"));
+    }
+
+    @Test
+    @DisplayName("Зависимость от незарегистрированного анализа должна вызывать исключение")
+    void testMissingDependency() {
+        AnalysisRegistry registry = new AnalysisRegistry()
+                .register(AnalysisId.of("a"), List.of(AnalysisId.of("нет")), CONSTANT);
+
+        assertThrows(IllegalStateException.class, registry::topologicalOrder);
+    }
+
+    @Test
+    @DisplayName("Повторная регистрация идентификатора должна вызывать исключение")
+    void testDuplicateId() {
+        AnalysisRegistry registry = new AnalysisRegistry().register(AnalysisId.of("a"), List.of(), CONSTANT);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.register(AnalysisId.of("a"), sessions -> new LongAnalysisResult("a", 0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.register(AnalysisId.of("b"), List.of(AnalysisId.of("b")), CONSTANT));
+        assertThrows(IllegalArgumentException.class, () -> AnalysisId.of(" "));
+    }
+
+    @Test
+    @DisplayName("Встроенный реестр должен содержать отчет и все встроенные анализы")
+    void testBuiltInRegistry() {
+        AnalysisRegistry registry = AnalysisRegistry.withBuiltInAnalyses();
+
+        assertTrue(registry.contains(AnalysisId.REPORT));
+        assertTrue(registry.getIds().containsAll(AnalysisId.BUILT_IN));
+        assertEquals(List.of(AnalysisId.REPORT), registry.getDependencies(AnalysisId.CHRONOTYPE));
+    }
+
+    @Test
+    @DisplayName("Каждый встроенный идентификатор должен давать результат со своим описанием")
+    void testBuiltInIdsMapToMatchingResults() {
+        Map<AnalysisId, SleepAnalysisFunction> analyses = Map.of(
+                AnalysisId.TOTAL_SESSIONS, new TotalSessionsAnalysis(),
+                AnalysisId.MIN_DURATION, new MinDurationAnalysis(),
+                AnalysisId.MAX_DURATION, new MaxDurationAnalysis(),
+                AnalysisId.AVERAGE_DURATION, new AverageDurationAnalysis(),
+                AnalysisId.BAD_QUALITY_SESSIONS, new BadQualitySessionsAnalysis(),
+                AnalysisId.SLEEPLESS_NIGHTS, new SleeplessNightsAnalysis(),
+                AnalysisId.CHRONOTYPE, new ChronotypeAnalysis());
+        List<SleepingSession> sessions = StreamingAnalyzerTest.randomSessions(new Random(72), 300);
+
+        AnalysisResults results = new AnalysisScheduler().run(AnalysisRegistry.withBuiltInAnalyses(), sessions);
+
+        assertEquals(analyses.keySet(), Set.copyOf(AnalysisId.BUILT_IN));
+        for (AnalysisId id : AnalysisId.BUILT_IN) {
+            SleepAnalysisResult expected = analyses.get(id).analyze(sessions);
+            assertEquals(expected.getDescription(), results.get(id).getDescription(), id.toString());
+            assertEquals(expected.getResult(), results.get(id).getResult(), id.toString());
+        }
+    }
+}
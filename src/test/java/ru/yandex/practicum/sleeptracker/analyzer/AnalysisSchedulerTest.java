@@ -0,0 +1,126 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.Chronotype;
+import ru.yandex.practicum.sleeptracker.model.LongAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisSchedulerTest {
+
+    private final AnalysisScheduler scheduler = new AnalysisScheduler();
+
+    @Test
+    @DisplayName("Каждый анализ должен вычисляться один раз, даже если от него зависят несколько узлов")
+    void testEachNodeComputedOnce() {
+        AtomicInteger rootCalls = new AtomicInteger();
+        AnalysisId root = AnalysisId.of("root");
+        AnalysisRegistry registry = new AnalysisRegistry()
+                .register(root, List.of(), (sessions, dependencies) ->
+                        new LongAnalysisResult("Корень", rootCalls.incrementAndGet() * 10L))
+                .register(AnalysisId.of("left"), List.of(root), (sessions, dependencies) ->
+                        new LongAnalysisResult("Левый", dependencies.getLong(root) + 1))
+                .register(AnalysisId.of("right"), List.of(root), (sessions, dependencies) ->
+                        new LongAnalysisResult("Правый", dependencies.getLong(root) + 2))
+                .register(AnalysisId.of("sum"), List.of(AnalysisId.of("left"), AnalysisId.of("right")),
+                        (sessions, dependencies) -> new LongAnalysisResult("Сумма",
+                                dependencies.getLong(AnalysisId.of("left")) + dependencies.getLong(AnalysisId.of("right"))));
+
+        AnalysisResults results = scheduler.run(registry, List.of());
+
+        assertEquals(1, rootCalls.get());
+        assertEquals(23, results.getLong(AnalysisId.of("sum")));
+        assertEquals(List.copyOf(registry.getIds()), List.copyOf(results.getIds()));
+    }
+
+    @Test
+    @DisplayName("Независимые ветви должны выполняться параллельно")
+    void testIndependentBranchesRunConcurrently() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        AnalysisComputation waitForOther = (sessions, dependencies) -> {
+            try {
+                barrier.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return new LongAnalysisResult("Ветвь", 1);
+        };
+        AnalysisRegistry registry = new AnalysisRegistry()
+                .register(AnalysisId.of("a"), List.of(), waitForOther)
+                .register(AnalysisId.of("b"), List.of(), waitForOther);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            AnalysisResults results = new AnalysisScheduler(executor).run(registry, List.of());
+
+            assertEquals(1, results.getLong(AnalysisId.of("a")));
+            assertEquals(1, results.getLong(AnalysisId.of("b")));
+        }
+    }
+
+    @Test
+    @DisplayName("Анализ должен видеть только объявленные зависимости")
+    void testUndeclaredDependencyIsNotVisible() {
+        AnalysisRegistry registry = new AnalysisRegistry()
+                .register(AnalysisId.of("a"), List.of(), (sessions, dependencies) -> new LongAnalysisResult("a", 1))
+                .register(AnalysisId.of("b"), List.of(), (sessions, dependencies) ->
+                        new LongAnalysisResult("b", dependencies.getLong(AnalysisId.of("a"))));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> scheduler.run(registry, List.of()));
+        assertInstanceOf(NoSuchElementException.class, e.getCause());
+    }
+
+    @Test
+    @DisplayName("Известные результаты не должны вычисляться повторно")
+    void testKnownResultsAreReused() {
+        AnalysisRegistry registry = new AnalysisRegistry()
+                .register(AnalysisId.of("a"), List.of(), (sessions, dependencies) -> {
+                    throw new AssertionError("не должен вызываться");
+                })
+                .register(AnalysisId.of("b"), List.of(AnalysisId.of("a")), (sessions, dependencies) ->
+                        new LongAnalysisResult("b", dependencies.getLong(AnalysisId.of("a")) * 2));
+
+        AnalysisResults results = scheduler.run(registry, List.of(),
+                AnalysisResults.of(AnalysisId.of("a"), new LongAnalysisResult("a", 21)));
+
+        assertEquals(42, results.getLong(AnalysisId.of("b")));
+    }
+
+    @Test
+    @DisplayName("Ошибка анализа должна сообщать его идентификатор")
+    void testFailureReportsId() {
+        AnalysisRegistry registry = new AnalysisRegistry()
+                .register(AnalysisId.of("broken"), List.of(), (sessions, dependencies) -> {
+                    throw new IllegalArgumentException("сбой");
+                })
+                .register(AnalysisId.of("dependent"), List.of(AnalysisId.of("broken")), (sessions, dependencies) ->
+                        new LongAnalysisResult("dependent", 0));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> scheduler.run(registry, List.of()));
+        assertTrue(e.getMessage().contains("broken"));
+    }
+
+    @Test
+    @DisplayName("Встроенные анализы по идентификаторам должны совпадать с обычными анализами")
+    void testBuiltInResultsById() {
+        List<SleepingSession> sessions = StreamingAnalyzerTest.randomSessions(new Random(71), 500);
+
+        AnalysisResults results = scheduler.run(AnalysisRegistry.withBuiltInAnalyses(), sessions);
+
+        assertEquals(sessions.size(), results.getLong(AnalysisId.TOTAL_SESSIONS));
+        assertEquals(new ChronotypeAnalysis().analyze(sessions).getResult(),
+                results.getValue(AnalysisId.CHRONOTYPE, Chronotype.class));
+        SleepAnalysisResult average = new AverageDurationAnalysis().analyze(sessions);
+        assertEquals(average.getResult(), results.getDouble(AnalysisId.AVERAGE_DURATION));
+        assertThrows(IllegalStateException.class, () -> results.getValue(AnalysisId.CHRONOTYPE, Long.class));
+    }
+}
@@ -39,10 +39,10 @@ class AverageDurationAnalysisTest {
         SleepAnalysisResult result = analyzer.analyze(sessions);
 
         assertEquals("Средняя продолжительность сессии (в минутах)", result.getDescription());
-        assertTrue(result.getResult() instanceof String);
+        assertTrue(result.getResult() instanceof Double);
 
-        String actual = (String) result.getResult();
-        assertEquals("340.0", actual);
+        assertEquals(340.0, (Double) result.getResult(), 1e-9);
+        assertEquals("340.0", result.format());
     }
 
     @Test
@@ -59,10 +59,10 @@ class AverageDurationAnalysisTest {
         SleepAnalysisResult result = analyzer.analyze(sessions);
 
         assertEquals("Средняя продолжительность сессии (в минутах)", result.getDescription());
-        assertTrue(result.getResult() instanceof String);
+        assertTrue(result.getResult() instanceof Double);
 
-        String actual = (String) result.getResult();
-        assertEquals("480.0", actual);
+        assertEquals(480.0, (Double) result.getResult(), 1e-9);
+        assertEquals("480.0", result.format());
     }
 
     @Test
@@ -71,7 +71,8 @@ class AverageDurationAnalysisTest {
         SleepAnalysisResult result = analyzer.analyze(Collections.emptyList());
 
         assertEquals("Средняя продолжительность сессии (в минутах)", result.getDescription());
-        assertEquals("0.0", result.getResult());
+        assertEquals(0.0, result.getResult());
+        assertEquals("0.0", result.format());
     }
 
     @Test
@@ -93,9 +94,9 @@ class AverageDurationAnalysisTest {
         SleepAnalysisResult result = analyzer.analyze(sessions);
 
         assertEquals("Средняя продолжительность сессии (в минутах)", result.getDescription());
-        assertTrue(result.getResult() instanceof String);
+        assertTrue(result.getResult() instanceof Double);
 
-        String actual = (String) result.getResult();
-        assertEquals("502.5", actual);
+        assertEquals(502.5, (Double) result.getResult(), 1e-9);
+        assertEquals("502.5", result.format());
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.Chronotype;
+import ru.yandex.practicum.sleeptracker.util.EpochMinutes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChronotypeClassifierTest {
+
+    private final ChronotypeClassifier classifier = ChronotypeClassifier.DEFAULT;
+
+    @Test
+    @DisplayName("Таблицы должны совпадать с прежними сравнениями LocalTime")
+    void testMatchesLocalTimeComparisons() {
+        Random random = new Random(41);
+        LocalDateTime origin = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < 100_000; i++) {
+            LocalDateTime start = origin.plusSeconds(random.nextInt(30 * 24 * 3600));
+            if (random.nextBoolean()) {
+                start = start.withSecond(0);
+            }
+            LocalDateTime end = start.plusSeconds(random.nextInt(16 * 3600));
+
+            assertEquals(classifyWithLocalTime(start, end), classifier.classify(start, end), start + " - " + end);
+        }
+    }
+
+    @Test
+    @DisplayName("Пороговые минуты должны классифицироваться строго")
+    void testThresholdEdges() {
+        LocalDateTime day = LocalDateTime.of(2025, 10, 1, 0, 0);
+
+        assertEquals(Chronotype.DOVE, classifier.classify(day.withHour(23), day.plusDays(1).withHour(9).withMinute(30)));
+        assertEquals(Chronotype.NIGHT_OWL,
+                classifier.classify(day.withHour(23).withSecond(1), day.plusDays(1).withHour(9).withSecond(1)));
+        assertEquals(Chronotype.DOVE, classifier.classify(day.withHour(21), day.plusDays(1).withHour(7)));
+        assertEquals(Chronotype.EARLY_BIRD,
+                classifier.classify(day.withHour(21), day.plusDays(1).withHour(6).withMinute(59).withSecond(59)));
+    }
+
+    @Test
+    @DisplayName("Классификация по минутам суток должна совпадать с классификацией по датам")
+    void testMinuteOfDayMatchesDateTime() {
+        LocalDateTime day = LocalDateTime.of(2025, 10, 1, 0, 0);
+        for (int sleep = 0; sleep < EpochMinutes.MINUTES_PER_DAY; sleep += 7) {
+            for (int wake = 0; wake < EpochMinutes.MINUTES_PER_DAY; wake += 11) {
+                LocalDateTime start = day.plusMinutes(sleep);
+                LocalDateTime end = day.plusDays(1).plusMinutes(wake);
+                Chronotype expected = classifier.classify(start, end);
+
+                assertEquals(expected.ordinal(), classifier.classifyOrdinal(sleep, wake));
+                assertEquals(expected, classifier.classifyEpochMinutes(EpochMinutes.of(start), EpochMinutes.of(end)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Новые пороги должны менять классификацию")
+    void testCustomThresholds() {
+        LocalDateTime start = LocalDateTime.of(2025, 10, 1, 22, 30);
+        LocalDateTime end = LocalDateTime.of(2025, 10, 2, 8, 0);
+
+        ChronotypeClassifier custom = classifier.withOwlThresholds(LocalTime.of(22, 0), LocalTime.of(7, 30));
+
+        assertEquals(Chronotype.DOVE, classifier.classify(start, end));
+        assertEquals(Chronotype.NIGHT_OWL, custom.classify(start, end));
+        assertEquals(LocalTime.of(22, 0), custom.getBirdSleepBefore());
+        assertEquals(Chronotype.EARLY_BIRD, classifier.withBirdThresholds(LocalTime.of(23, 0), LocalTime.of(9, 0))
+                .classify(LocalDateTime.of(2025, 10, 1, 22, 30), LocalDateTime.of(2025, 10, 2, 8, 0)));
+    }
+
+    @Test
+    @DisplayName("Порог с секундами должен вызывать исключение")
+    void testThresholdWithSeconds() {
+        assertThrows(IllegalArgumentException.class,
+                () -> classifier.withOwlThresholds(LocalTime.of(23, 0, 30), LocalTime.of(9, 0)));
+    }
+
+    private static Chronotype classifyWithLocalTime(LocalDateTime start, LocalDateTime end) {
+        LocalTime sleepTime = start.toLocalTime();
+        LocalTime wakeTime = end.toLocalTime();
+        if (sleepTime.isAfter(LocalTime.of(23, 0)) && wakeTime.isAfter(LocalTime.of(9, 0))) {
+            return Chronotype.NIGHT_OWL;
+        }
+        if (sleepTime.isBefore(LocalTime.of(22, 0)) && wakeTime.isBefore(LocalTime.of(7, 0))) {
+            return Chronotype.EARLY_BIRD;
+        }
+        return Chronotype.DOVE;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SessionColumns;
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarSleepAnalyzerTest {
+
+    private final List<SleepAnalysisFunction> analyses = List.of(
+            new TotalSessionsAnalysis(),
+            new MinDurationAnalysis(),
+            new MaxDurationAnalysis(),
+            new AverageDurationAnalysis(),
+            new BadQualitySessionsAnalysis()
+    );
+
+    @Test
+    @DisplayName("Результаты по колонкам должны совпадать с обычными анализами")
+    void testMatchesAnalyses() {
+        List<SleepingSession> sessions = StreamingAnalyzerTest.randomSessions(new Random(62), 1_000);
+
+        assertResultsMatch(sessions, ColumnarSleepAnalyzer.analyze(SessionColumns.of(sessions)));
+    }
+
+    @Test
+    @DisplayName("Результаты по пустым колонкам должны совпадать с анализом пустого списка")
+    void testEmptyColumns() {
+        assertResultsMatch(List.of(), ColumnarSleepAnalyzer.analyze(new SessionColumns()));
+    }
+
+    private void assertResultsMatch(List<SleepingSession> sessions, List<SleepAnalysisResult> results) {
+        assertEquals(analyses.size(), results.size());
+        for (int i = 0; i < analyses.size(); i++) {
+            SleepAnalysisResult expected = analyses.get(i).analyze(sessions);
+            assertEquals(expected.getDescription(), results.get(i).getDescription());
+            assertEquals(expected.getResult(), results.get(i).getResult());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepReport;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FusedSleepAnalyzerTest {
+
+    private final List<SleepAnalysisFunction> analyses = List.of(
+            new TotalSessionsAnalysis(),
+            new MinDurationAnalysis(),
+            new MaxDurationAnalysis(),
+            new AverageDurationAnalysis(),
+            new BadQualitySessionsAnalysis(),
+            new SleeplessNightsAnalysis(),
+            new ChronotypeAnalysis()
+    );
+
+    @Test
+    @DisplayName("Результаты за один проход должны совпадать с отдельными анализами")
+    void testReportMatchesIndividualAnalyses() {
+        List<SleepingSession> sessions = StreamingAnalyzerTest.randomSessions(new Random(11), 1_500);
+
+        SleepReport report = FusedSleepAnalyzer.analyze(sessions);
+
+        assertEquals(FusedSleepAnalyzer.BUILT_IN_ANALYSES, report.getResults().size());
+        for (int i = 0; i < analyses.size(); i++) {
+            SleepAnalysisResult expected = analyses.get(i).analyze(sessions);
+            assertEquals(expected.getDescription(), report.getResults().get(i).getDescription());
+            assertEquals(expected.getResult(), report.getResults().get(i).getResult());
+        }
+    }
+
+    @Test
+    @DisplayName("Должен собрать данные для рекомендаций за тот же проход")
+    void testReportCollectsTipInputs() {
+        List<SleepingSession> sessions = StreamingAnalyzerTest.randomSessions(new Random(12), 500);
+
+        SleepReport report = FusedSleepAnalyzer.analyze(sessions);
+
+        assertEquals(sessions.size(), report.getSessionCount());
+        for (SleepQuality quality : SleepQuality.values()) {
+            assertEquals(sessions.stream().filter(s -> s.getQuality() == quality).count(),
+                    report.getQualityCount(quality));
+        }
+        assertEquals(sessions.stream().mapToLong(SleepingSession::getDurationInMinutes).average().orElse(0),
+                report.getAverageDurationMinutes(), 1e-9);
+        assertEquals(sessions.stream().filter(s -> {
+            int hour = s.getSleepStart().getHour();
+            return hour >= 22 || hour < 6;
+        }).count(), report.getNightSessionsCount());
+        assertEquals(sessions.get(0).getSleepStart(), report.getFirstSleepStart());
+        assertEquals(sessions.get(sessions.size() - 1).getSleepEnd(), report.getLastSleepEnd());
+        assertEquals(new ChronotypeAnalysis().analyze(sessions).getResult(), report.getChronotype());
+        assertEquals(((Number) new SleeplessNightsAnalysis().analyze(sessions).getResult()).longValue(),
+                report.getSleeplessNights());
+    }
+
+    @Test
+    @DisplayName("Сводка отчета после объединения частей должна совпадать с результатами анализов")
+    void testCombinedSummaryMatchesResults() {
+        List<SleepingSession> sessions = StreamingAnalyzerTest.randomSessions(new Random(13), 700);
+        FusedSleepAnalyzer left = new FusedSleepAnalyzer();
+        FusedSleepAnalyzer right = new FusedSleepAnalyzer();
+        sessions.subList(0, 300).forEach(left);
+        sessions.subList(300, 700).forEach(right);
+
+        SleepReport report = left.combine(right).getReport();
+
+        assertEquals(report.getResult(AnalysisId.TOTAL_SESSIONS.getValue()).getResult(), report.getSessionCount());
+        assertEquals(report.getResult(AnalysisId.BAD_QUALITY_SESSIONS.getValue()).getResult(),
+                report.getQualityCount(SleepQuality.BAD));
+        assertEquals(report.getResult(AnalysisId.AVERAGE_DURATION.getValue()).getResult(),
+                report.getAverageDurationMinutes());
+        assertEquals(sessions.stream().filter(s -> s.getQuality() == SleepQuality.GOOD).count(),
+                report.getQualityCount(SleepQuality.GOOD));
+    }
+
+    @Test
+    @DisplayName("Должен вернуть пустой отчет без сессий")
+    void testEmptyReport() {
+        SleepReport report = FusedSleepAnalyzer.analyze(List.of());
+
+        assertTrue(report.isEmpty());
+        assertEquals(0L, report.getSleeplessNights());
+        assertNull(report.getFirstSleepStart());
+    }
+}
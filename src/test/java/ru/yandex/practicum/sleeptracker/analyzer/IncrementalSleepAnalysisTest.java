@@ -0,0 +1,120 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalSleepAnalysisTest {
+
+    private final List<SleepAnalysisFunction> batch = List.of(
+            new TotalSessionsAnalysis(),
+            new MinDurationAnalysis(),
+            new MaxDurationAnalysis(),
+            new AverageDurationAnalysis(),
+            new BadQualitySessionsAnalysis(),
+            new SleeplessNightsAnalysis(),
+            new ChronotypeAnalysis()
+    );
+
+    private final List<IncrementalSleepAnalysis> incremental = List.of(
+            new IncrementalTotalSessionsAnalysis(),
+            new IncrementalMinDurationAnalysis(),
+            new IncrementalMaxDurationAnalysis(),
+            new IncrementalAverageDurationAnalysis(),
+            new IncrementalBadQualitySessionsAnalysis(),
+            new IncrementalSleeplessNightsAnalysis(),
+            new IncrementalChronotypeAnalysis()
+    );
+
+    @Test
+    @DisplayName("После каждого добавления результаты должны совпадать с пакетными анализами")
+    void testMatchesBatchWhileAdding() {
+        List<SleepingSession> sessions = StreamingAnalyzerTest.randomSessions(new Random(21), 300);
+        List<SleepingSession> added = new ArrayList<>();
+
+        assertMatchesBatch(added);
+        for (SleepingSession session : sessions) {
+            incremental.forEach(analysis -> analysis.add(session));
+            added.add(session);
+            assertMatchesBatch(added);
+        }
+    }
+
+    @Test
+    @DisplayName("После каждого удаления результаты должны совпадать с пакетными анализами")
+    void testMatchesBatchWhileRemoving() {
+        Random random = new Random(22);
+        List<SleepingSession> remaining = new ArrayList<>(StreamingAnalyzerTest.randomSessions(random, 300));
+        remaining.forEach(session -> incremental.forEach(analysis -> analysis.add(session)));
+
+        while (!remaining.isEmpty()) {
+            SleepingSession removed = remaining.remove(random.nextInt(remaining.size()));
+            incremental.forEach(analysis -> analysis.remove(removed));
+            assertMatchesBatch(remaining);
+        }
+    }
+
+    @Test
+    @DisplayName("Минимум и максимум должны пересчитываться после удаления крайних сессий")
+    void testMinAndMaxAfterRemovingExtremes() {
+        List<SleepingSession> remaining = new ArrayList<>(StreamingAnalyzerTest.randomSessions(new Random(23), 200));
+        remaining.forEach(session -> incremental.forEach(analysis -> analysis.add(session)));
+
+        for (int i = 0; i < 50; i++) {
+            SleepingSession shortest = remaining.stream()
+                    .min(Comparator.comparingLong(SleepingSession::getDurationInMinutes)).orElseThrow();
+            remaining.remove(shortest);
+            incremental.forEach(analysis -> analysis.remove(shortest));
+
+            SleepingSession longest = remaining.stream()
+                    .max(Comparator.comparingLong(SleepingSession::getDurationInMinutes)).orElseThrow();
+            remaining.remove(longest);
+            incremental.forEach(analysis -> analysis.remove(longest));
+
+            assertMatchesBatch(remaining);
+        }
+    }
+
+    @Test
+    @DisplayName("Повторяющиеся длительности должны учитываться при удалении")
+    void testDuplicateDurations() {
+        LocalDateTime start = LocalDateTime.of(2025, 10, 1, 23, 0);
+        SleepingSession first = new SleepingSession(start, start.plusHours(8), SleepQuality.GOOD);
+        SleepingSession second = new SleepingSession(start.plusDays(1), start.plusDays(1).plusHours(8), SleepQuality.BAD);
+        IncrementalMinDurationAnalysis min = new IncrementalMinDurationAnalysis();
+        min.add(first);
+        min.add(second);
+
+        min.remove(first);
+
+        assertEquals(480L, min.getResult().getResult());
+    }
+
+    @Test
+    @DisplayName("Удаление сессии, которая не была добавлена, должно вызывать исключение")
+    void testRemovingUnknownSession() {
+        LocalDateTime start = LocalDateTime.of(2025, 10, 1, 23, 0);
+        SleepingSession session = new SleepingSession(start, start.plusHours(8), SleepQuality.GOOD);
+
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalMaxDurationAnalysis().remove(session));
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalSleeplessNightsAnalysis().remove(session));
+        assertThrows(IllegalStateException.class, () -> new IncrementalTotalSessionsAnalysis().remove(session));
+    }
+
+    private void assertMatchesBatch(List<SleepingSession> sessions) {
+        for (int i = 0; i < batch.size(); i++) {
+            SleepAnalysisResult expected = batch.get(i).analyze(sessions);
+            SleepAnalysisResult actual = incremental.get(i).getResult();
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.getResult(), actual.getResult(), expected.getDescription());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepReport;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelAnalysisEngineTest {
+
+    private final List<MergeableSleepAnalysis<?>> analyses = List.of(
+            new TotalSessionsAnalysis(),
+            new MinDurationAnalysis(),
+            new MaxDurationAnalysis(),
+            new AverageDurationAnalysis(),
+            new BadQualitySessionsAnalysis(),
+            new SleeplessNightsAnalysis(),
+            new ChronotypeAnalysis()
+    );
+
+    @Test
+    @DisplayName("Параллельный анализ должен совпадать с последовательным при любом размере части")
+    void testParallelMatchesSequential() {
+        List<SleepingSession> sessions = StreamingAnalyzerTest.randomSessions(new Random(21), 3_000);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int leafSize : new int[]{1, 7, 100, 10_000}) {
+                ParallelAnalysisEngine engine = new ParallelAnalysisEngine(pool, leafSize);
+                for (MergeableSleepAnalysis<?> analysis : analyses) {
+                    SleepAnalysisResult expected = analysis.analyze(sessions);
+                    assertEquals(expected.getResult(), engine.analyze(analysis, sessions).getResult(),
+                            analysis.getClass().getSimpleName() + ", размер части " + leafSize);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Параллельный отчет должен совпадать с однопроходным последовательным")
+    void testParallelReportMatchesSequential() {
+        List<SleepingSession> sessions = StreamingAnalyzerTest.randomSessions(new Random(22), 2_000);
+
+        SleepReport expected = FusedSleepAnalyzer.analyze(sessions);
+        SleepReport actual = new ParallelAnalysisEngine(ForkJoinPool.commonPool(), 50).report(sessions);
+
+        for (int i = 0; i < expected.getResults().size(); i++) {
+            assertEquals(expected.getResults().get(i).getResult(), actual.getResults().get(i).getResult());
+        }
+        assertEquals(expected.getQualityCount(SleepQuality.GOOD), actual.getQualityCount(SleepQuality.GOOD));
+        assertEquals(expected.getNightSessionsCount(), actual.getNightSessionsCount());
+        assertEquals(expected.getFirstSleepStart(), actual.getFirstSleepStart());
+        assertEquals(expected.getLastSleepEnd(), actual.getLastSleepEnd());
+    }
+
+    @Test
+    @DisplayName("Параллельный анализ пустого списка должен совпадать с последовательным")
+    void testParallelWithEmptyList() {
+        ParallelAnalysisEngine engine = new ParallelAnalysisEngine();
+        for (MergeableSleepAnalysis<?> analysis : analyses) {
+            assertEquals(analysis.analyze(List.of()).getResult(), engine.analyze(analysis, List.of()).getResult());
+        }
+    }
+}
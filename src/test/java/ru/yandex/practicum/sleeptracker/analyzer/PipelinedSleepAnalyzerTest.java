@@ -0,0 +1,116 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import ru.yandex.practicum.sleeptracker.model.SleepReport;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import ru.yandex.practicum.sleeptracker.util.SleepLogReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelinedSleepAnalyzerTest {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yy HH:mm");
+
+    @Test
+    @DisplayName("Результат конвейера должен совпадать с последовательным разбором")
+    void testMatchesSequentialAnalysis() throws IOException {
+        byte[] log = log(StreamingAnalyzerTest.randomSessions(new Random(5), 3_000));
+
+        PipelinedSleepAnalyzer.Result result = new PipelinedSleepAnalyzer(3, 512, 2)
+                .analyze(new ByteArrayInputStream(log));
+
+        assertReportsEqual(sequentialReport(log), result.getReport());
+        assertEquals(3_000, result.getReport().getSessionCount());
+    }
+
+    @Test
+    @DisplayName("Строка длиннее пакета не должна теряться")
+    void testLineLongerThanBatch() throws IOException {
+        byte[] log = ("01.10.25 22:15;02.10.25 08:00;GOOD\n" + "x".repeat(100) + "\n"
+                + "02.10.25 23:00;03.10.25 08:00;BAD").getBytes(StandardCharsets.UTF_8);
+
+        SleepReport report = new PipelinedSleepAnalyzer(2, 8, 1).analyze(new ByteArrayInputStream(log)).getReport();
+
+        assertEquals(2, report.getSessionCount());
+        assertEquals(1, report.getQualityCount(SleepQuality.BAD));
+    }
+
+    @Test
+    @DisplayName("Метрики должны учитывать все байты и сессии, а очереди - не превышать емкость")
+    void testMetrics() throws IOException {
+        byte[] log = log(StreamingAnalyzerTest.randomSessions(new Random(6), 1_000));
+
+        PipelineMetrics metrics = new PipelinedSleepAnalyzer(2, 1_024, 3)
+                .analyze(new ByteArrayInputStream(log)).getMetrics();
+
+        assertEquals(log.length, metrics.getReader().getItems());
+        assertEquals(1_000, metrics.getParser().getItems());
+        assertEquals(1_000, metrics.getAggregator().getItems());
+        assertEquals(metrics.getParser().getBatches(), metrics.getAggregator().getBatches());
+        assertTrue(metrics.getRawQueue().getMaxDepth() <= 3);
+        assertTrue(metrics.getParsedQueue().getMaxDepth() <= 3);
+        assertTrue(metrics.getWallNanos() > 0);
+        assertTrue(metrics.getStages().contains(metrics.getBottleneck()));
+        assertTrue(metrics.format().contains("Узкое место"));
+    }
+
+    @Test
+    @DisplayName("Ошибка чтения должна останавливать конвейер и передаваться вызывающему")
+    void testReadFailurePropagates() {
+        byte[] log = log(StreamingAnalyzerTest.randomSessions(new Random(7), 500));
+        InputStream failing = new InputStream() {
+            private int position;
+
+            @Override
+            public int read() throws IOException {
+                if (position == log.length / 2) {
+                    throw new IOException("диск недоступен");
+                }
+                return log[position++] & 0xFF;
+            }
+        };
+
+        IOException e = assertThrows(IOException.class,
+                () -> new PipelinedSleepAnalyzer(2, 256, 1).analyze(failing));
+        assertEquals("диск недоступен", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Неположительные параметры конвейера должны отклоняться")
+    void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new PipelinedSleepAnalyzer(0, 1_024, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PipelinedSleepAnalyzer(1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PipelinedSleepAnalyzer(1, 1_024, 0));
+    }
+
+    private static byte[] log(List<SleepingSession> sessions) {
+        return sessions.stream()
+                .map(s -> s.getSleepStart().format(FORMATTER) + ";" + s.getSleepEnd().format(FORMATTER)
+                        + ";" + s.getQuality())
+                .collect(Collectors.joining("\n", "", "\n"))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static SleepReport sequentialReport(byte[] log) throws IOException {
+        FusedSleepAnalyzer analyzer = new FusedSleepAnalyzer();
+        SleepLogReader.forEachSession(new ByteArrayInputStream(log), analyzer);
+        return analyzer.getReport();
+    }
+
+    private static void assertReportsEqual(SleepReport expected, SleepReport actual) {
+        for (int i = 0; i < expected.getResults().size(); i++) {
+            assertEquals(expected.getResults().get(i).getResult(), actual.getResults().get(i).getResult());
+        }
+        assertEquals(expected.getNightSessionsCount(), actual.getNightSessionsCount());
+        assertEquals(expected.getFirstSleepStart(), actual.getFirstSleepStart());
+        assertEquals(expected.getLastSleepEnd(), actual.getLastSleepEnd());
+    }
+}
@@ -0,0 +1,212 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import ru.yandex.practicum.sleeptracker.model.SleepReport;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import ru.yandex.practicum.sleeptracker.util.SleepLogReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SleepReportCacheTest {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yy HH:mm");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Повторный запуск по неизмененному файлу должен брать отчет из кэша")
+    void testUnchangedFileIsHit() throws IOException {
+        Path log = writeLog("log.txt", StreamingAnalyzerTest.randomSessions(new Random(1), 300), true);
+        SleepReportCache cache = new SleepReportCache(tempDir.resolve("cache"));
+
+        SleepReportCache.Result first = cache.analyze(log);
+        SleepReportCache.Result second = new SleepReportCache(tempDir.resolve("cache")).analyze(log);
+
+        assertEquals(SleepReportCache.Status.REBUILT, first.getStatus());
+        assertEquals(Files.size(log), first.getProcessedBytes());
+        assertEquals(SleepReportCache.Status.HIT, second.getStatus());
+        assertEquals(0, second.getProcessedBytes());
+        assertReportsEqual(fullReport(log), second.getReport());
+    }
+
+    @Test
+    @DisplayName("После дописывания строк должна разбираться только новая часть файла")
+    void testAppendedLinesAreMerged() throws IOException {
+        List<SleepingSession> sessions = StreamingAnalyzerTest.randomSessions(new Random(2), 400);
+        Path log = writeLog("log.txt", sessions.subList(0, 250), false);
+        SleepReportCache cache = new SleepReportCache(tempDir.resolve("cache"));
+        cache.analyze(log);
+
+        String appended = "\n" + lines(sessions.subList(250, 400)) + "\nнекорректная строка";
+        Files.writeString(log, appended, StandardOpenOption.APPEND);
+        SleepReportCache.Result result = cache.analyze(log);
+
+        assertEquals(SleepReportCache.Status.APPENDED, result.getStatus());
+        assertEquals(appended.getBytes(StandardCharsets.UTF_8).length, result.getProcessedBytes());
+        assertEquals(400, result.getReport().getSessionCount());
+        assertReportsEqual(fullReport(log), result.getReport());
+        assertEquals(SleepReportCache.Status.HIT, cache.analyze(log).getStatus());
+    }
+
+    @Test
+    @DisplayName("Продолжение последней незавершенной строки должно приводить к пересчету")
+    void testContinuedLastLineIsRebuilt() throws IOException {
+        Path log = tempDir.resolve("log.txt");
+        Files.writeString(log, "01.10.25 22:15;02.10.25 08:00;GOOD\n02.10.25 23:00;03.10.25 08:00;NO");
+        SleepReportCache cache = new SleepReportCache(tempDir.resolve("cache"));
+        assertEquals(1, cache.report(log).getSessionCount());
+
+        Files.writeString(log, "RMAL\n", StandardOpenOption.APPEND);
+        SleepReportCache.Result result = cache.analyze(log);
+
+        assertEquals(SleepReportCache.Status.REBUILT, result.getStatus());
+        assertEquals(2, result.getReport().getSessionCount());
+        assertEquals(1, result.getReport().getQualityCount(SleepQuality.NORMAL));
+    }
+
+    @Test
+    @DisplayName("Изменение или усечение уже обработанной части должно приводить к пересчету")
+    void testRewrittenOrTruncatedFileIsRebuilt() throws IOException {
+        Path log = tempDir.resolve("log.txt");
+        Files.writeString(log, "01.10.25 22:15;02.10.25 08:00;GOOD\n02.10.25 23:00;03.10.25 08:00;GOOD\n");
+        SleepReportCache cache = new SleepReportCache(tempDir.resolve("cache"));
+        cache.analyze(log);
+
+        Files.writeString(log, "01.10.25 22:15;02.10.25 08:00;GOOD\n02.10.25 23:00;03.10.25 08:00;BAD!\n");
+        SleepReportCache.Result rewritten = cache.analyze(log);
+        assertEquals(SleepReportCache.Status.REBUILT, rewritten.getStatus());
+        assertEquals(1, rewritten.getReport().getSessionCount());
+
+        Files.writeString(log, "01.10.25 22:15;02.10.25 08:00;BAD\n");
+        SleepReportCache.Result truncated = cache.analyze(log);
+        assertEquals(SleepReportCache.Status.REBUILT, truncated.getStatus());
+        assertEquals(1, truncated.getReport().getQualityCount(SleepQuality.BAD));
+    }
+
+    @Test
+    @DisplayName("Файл с прежними размером, временем изменения и ключом не должен перечитываться")
+    void testUnchangedMetadataIsHitWithoutReading() throws IOException {
+        Path log = tempDir.resolve("log.txt");
+        Files.writeString(log, "01.10.25 22:15;02.10.25 08:00;GOOD\n");
+        FileTime modified = Files.getLastModifiedTime(log);
+        SleepReportCache cache = new SleepReportCache(tempDir.resolve("cache"));
+        cache.analyze(log);
+
+        Files.writeString(log, "01.10.25 22:15;02.10.25 08:00;BAD\n\n", StandardOpenOption.WRITE);
+        Files.setLastModifiedTime(log, modified);
+        SleepReportCache.Result result = cache.analyze(log);
+
+        assertEquals(SleepReportCache.Status.HIT, result.getStatus());
+        assertEquals(1, result.getReport().getQualityCount(SleepQuality.GOOD), "Содержимое не читалось");
+    }
+
+    @Test
+    @DisplayName("При изменении метаданных без роста файла содержимое должно сверяться полным хешем")
+    void testChangedMetadataFallsBackToFullHash() throws IOException {
+        String content = "01.10.25 22:15;02.10.25 08:00;GOOD\n02.10.25 23:00;03.10.25 08:00;GOOD\n";
+        Path log = tempDir.resolve("log.txt");
+        Files.writeString(log, content);
+        SleepReportCache cache = new SleepReportCache(tempDir.resolve("cache"));
+        cache.analyze(log);
+
+        Files.setLastModifiedTime(log, FileTime.fromMillis(Files.getLastModifiedTime(log).toMillis() + 60_000));
+        assertEquals(SleepReportCache.Status.HIT, cache.analyze(log).getStatus());
+
+        Files.delete(log);
+        Files.writeString(log, content);
+        assertEquals(SleepReportCache.Status.HIT, cache.analyze(log).getStatus());
+
+        Files.writeString(log, content.replace("01.10.25", "05.10.25"));
+        Files.setLastModifiedTime(log, FileTime.fromMillis(Files.getLastModifiedTime(log).toMillis() + 120_000));
+        assertEquals(SleepReportCache.Status.REBUILT, cache.analyze(log).getStatus());
+    }
+
+    @Test
+    @DisplayName("Дописывание в большой файл должно сверять только ограниченную выборку перед старым концом")
+    void testAppendToLargeFileChecksBoundedSample() throws IOException {
+        List<SleepingSession> sessions = StreamingAnalyzerTest.randomSessions(new Random(4), 6_000);
+        Path log = writeLog("log.txt", sessions.subList(0, 5_000), true);
+        assertTrue(Files.size(log) > 2L * SleepReportCache.SAMPLE_SIZE);
+        SleepReportCache cache = new SleepReportCache(tempDir.resolve("cache"));
+        cache.analyze(log);
+
+        Files.writeString(log, lines(sessions.subList(5_000, 6_000)) + "\n", StandardOpenOption.APPEND);
+        SleepReportCache.Result result = cache.analyze(log);
+
+        assertEquals(SleepReportCache.Status.APPENDED, result.getStatus());
+        assertReportsEqual(fullReport(log), result.getReport());
+
+        byte[] bytes = Files.readAllBytes(log);
+        bytes[bytes.length - 10] = (byte) (bytes[bytes.length - 10] == '1' ? '2' : '1');
+        Files.write(log, bytes);
+        Files.writeString(log, "01.10.25 22:15;02.10.25 08:00;GOOD\n", StandardOpenOption.APPEND);
+        assertEquals(SleepReportCache.Status.REBUILT, cache.analyze(log).getStatus(),
+                "Изменение внутри выборки должно обнаруживаться");
+    }
+
+    @Test
+    @DisplayName("Запись с другой конфигурацией или поврежденная запись не должна использоваться")
+    void testForeignOrCorruptedEntryIsIgnored() throws IOException {
+        Path log = writeLog("log.txt", StreamingAnalyzerTest.randomSessions(new Random(3), 100), true);
+        Path cacheDirectory = tempDir.resolve("cache");
+        new SleepReportCache(cacheDirectory, "другая конфигурация").analyze(log);
+
+        SleepReportCache cache = new SleepReportCache(cacheDirectory);
+        assertEquals(SleepReportCache.Status.REBUILT, cache.analyze(log).getStatus());
+
+        Path entry = cache.entryFile(log);
+        byte[] bytes = Files.readAllBytes(entry);
+        Files.write(entry, Arrays.copyOf(bytes, bytes.length / 2));
+        SleepReportCache.Result result = cache.analyze(log);
+
+        assertEquals(SleepReportCache.Status.REBUILT, result.getStatus());
+        assertReportsEqual(fullReport(log), result.getReport());
+    }
+
+    private Path writeLog(String name, List<SleepingSession> sessions, boolean trailingLineBreak) throws IOException {
+        Path log = tempDir.resolve(name);
+        Files.writeString(log, lines(sessions) + (trailingLineBreak ? "\n" : ""));
+        return log;
+    }
+
+    private static String lines(List<SleepingSession> sessions) {
+        return sessions.stream()
+                .map(s -> s.getSleepStart().format(FORMATTER) + ";" + s.getSleepEnd().format(FORMATTER)
+                        + ";" + s.getQuality())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static SleepReport fullReport(Path log) throws IOException {
+        FusedSleepAnalyzer analyzer = new FusedSleepAnalyzer();
+        SleepLogReader.forEachSession(log, analyzer);
+        return analyzer.getReport();
+    }
+
+    private static void assertReportsEqual(SleepReport expected, SleepReport actual) {
+        assertEquals(expected.getResults().size(), actual.getResults().size());
+        for (int i = 0; i < expected.getResults().size(); i++) {
+            assertEquals(expected.getResults().get(i).getResult(), actual.getResults().get(i).getResult());
+        }
+        assertEquals(expected.getSessionCount(), actual.getSessionCount());
+        for (SleepQuality quality : SleepQuality.values()) {
+            assertEquals(expected.getQualityCount(quality), actual.getQualityCount(quality));
+        }
+        assertEquals(expected.getAverageDurationMinutes(), actual.getAverageDurationMinutes());
+        assertEquals(expected.getNightSessionsCount(), actual.getNightSessionsCount());
+        assertEquals(expected.getFirstSleepStart(), actual.getFirstSleepStart());
+        assertEquals(expected.getLastSleepEnd(), actual.getLastSleepEnd());
+    }
+}
@@ -83,7 +83,7 @@ class SleeplessNightsAnalysisTest {
     void testAnalyzeWithEmptyList() {
         SleepAnalysisResult result = analyzer.analyze(Collections.emptyList());
         assertEquals("Количество бессонных ночей", result.getDescription());
-        assertEquals(0, result.getResult());
+        assertEquals(0L, result.getResult());
     }
 
     @Test
@@ -0,0 +1,77 @@
+package ru.yandex.practicum.sleeptracker.analyzer;
+
+import ru.yandex.practicum.sleeptracker.model.SessionField;
+import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingAnalyzerTest {
+
+    private final List<StreamingSleepAnalysis<?>> analyses = List.of(
+            new TotalSessionsAnalysis(),
+            new MinDurationAnalysis(),
+            new MaxDurationAnalysis(),
+            new AverageDurationAnalysis(),
+            new BadQualitySessionsAnalysis(),
+            new SleeplessNightsAnalysis(),
+            new ChronotypeAnalysis()
+    );
+
+    @Test
+    @DisplayName("Анализатор должен требовать только объявленные анализами поля")
+    void testRequiredFieldsAreUnion() {
+        assertEquals(EnumSet.noneOf(SessionField.class),
+                new StreamingAnalyzer(List.of(new TotalSessionsAnalysis())).getRequiredFields());
+        assertEquals(EnumSet.of(SessionField.QUALITY), new StreamingAnalyzer(List.of(
+                new TotalSessionsAnalysis(), new BadQualitySessionsAnalysis())).getRequiredFields());
+        assertEquals(EnumSet.allOf(SessionField.class), new StreamingAnalyzer(analyses).getRequiredFields());
+    }
+
+    @Test
+    @DisplayName("Потоковый режим должен давать те же результаты, что и анализ списка")
+    void testStreamingMatchesListAnalysis() {
+        List<SleepingSession> sessions = randomSessions(new Random(7), 2_000);
+
+        StreamingAnalyzer analyzer = new StreamingAnalyzer(analyses);
+        sessions.forEach(analyzer);
+        List<SleepAnalysisResult> streamed = analyzer.getResults();
+
+        assertEquals(analyses.size(), streamed.size());
+        for (int i = 0; i < analyses.size(); i++) {
+            SleepAnalysisResult expected = analyses.get(i).analyze(sessions);
+            assertEquals(expected.getDescription(), streamed.get(i).getDescription());
+            assertEquals(expected.getResult(), streamed.get(i).getResult());
+        }
+    }
+
+    @Test
+    @DisplayName("Потоковый режим без сессий должен совпадать с анализом пустого списка")
+    void testStreamingWithoutSessions() {
+        List<SleepAnalysisResult> streamed = new StreamingAnalyzer(analyses).getResults();
+
+        for (int i = 0; i < analyses.size(); i++) {
+            assertEquals(analyses.get(i).analyze(List.of()).getResult(), streamed.get(i).getResult());
+        }
+    }
+
+    static List<SleepingSession> randomSessions(Random random, int count) {
+        List<SleepingSession> sessions = new ArrayList<>(count);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 22, 0);
+        SleepQuality[] qualities = SleepQuality.values();
+        for (int i = 0; i < count; i++) {
+            start = start.plusMinutes(120 + random.nextInt(2_000));
+            LocalDateTime end = start.plusMinutes(10 + random.nextInt(700));
+            sessions.add(new SleepingSession(start, end, qualities[random.nextInt(qualities.length)]));
+            start = end;
+        }
+        return sessions;
+    }
+}
@@ -35,7 +35,7 @@ class TotalSessionsAnalysisTest {
         SleepAnalysisResult result = analyzer.analyze(sessions);
 
         assertEquals("Общее количество сессий сна", result.getDescription());
-        assertEquals(2, result.getResult());
+        assertEquals(2L, result.getResult());
         assertEquals("Общее количество сессий сна: 2", result.toString());
     }
 
@@ -45,7 +45,7 @@ class TotalSessionsAnalysisTest {
         SleepAnalysisResult result = analyzer.analyze(Collections.emptyList());
 
         assertEquals("Общее количество сессий сна", result.getDescription());
-        assertEquals(0, result.getResult());
+        assertEquals(0L, result.getResult());
     }
 
     @Test
@@ -62,7 +62,7 @@ class TotalSessionsAnalysisTest {
         SleepAnalysisResult result = analyzer.analyze(sessions);
 
         assertEquals("Общее количество сессий сна", result.getDescription());
-        assertEquals(1, result.getResult());
+        assertEquals(1L, result.getResult());
     }
 
     @Test
@@ -99,7 +99,7 @@ class TotalSessionsAnalysisTest {
         SleepAnalysisResult result = analyzer.analyze(sessions);
 
         assertEquals("Общее количество сессий сна", result.getDescription());
-        assertEquals(5, result.getResult());
+        assertEquals(5L, result.getResult());
     }
 
     @Test
@@ -126,6 +126,6 @@ class TotalSessionsAnalysisTest {
         SleepAnalysisResult result = analyzer.analyze(sessions);
 
         assertEquals("Общее количество сессий сна", result.getDescription());
-        assertEquals(3, result.getResult());
+        assertEquals(3L, result.getResult());
     }
 }
\ No newline at end of file
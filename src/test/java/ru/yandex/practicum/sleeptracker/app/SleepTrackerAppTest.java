@@ -1,16 +1,27 @@
 package ru.yandex.practicum.sleeptracker.app;
 
 import ru.yandex.practicum.sleeptracker.analyzer.*;
+import ru.yandex.practicum.sleeptracker.model.Chronotype;
+import ru.yandex.practicum.sleeptracker.model.DoubleAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.EnumAnalysisResult;
+import ru.yandex.practicum.sleeptracker.model.LongAnalysisResult;
 import ru.yandex.practicum.sleeptracker.model.SleepAnalysisResult;
 import ru.yandex.practicum.sleeptracker.model.SleepingSession;
 import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import ru.yandex.practicum.sleeptracker.util.SleepLogConverter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 
 class SleepTrackerAppTest {
@@ -173,4 +184,173 @@ class SleepTrackerAppTest {
         assertEquals(SleepQuality.GOOD, sessions.get(0).getQuality());
         assertEquals(SleepQuality.NORMAL, sessions.get(1).getQuality());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Потоковый анализ должен совпадать с анализом загруженного списка")
+    void testAnalyzeStreamMatchesListAnalysis() throws IOException {
+        String testData = "01.10.25 22:15;02.10.25 08:00;GOOD\n" +
+                "invalid line\n" +
+                "\n" +
+                "03.10.25 14:00;03.10.25 15:00;BAD\n" +
+                "04.10.25 23:30;05.10.25 06:20;NORMAL";
+
+        Path testFile = tempDir.resolve("test_stream.txt");
+        Files.writeString(testFile, testData);
+
+        SleepTrackerApp app = new SleepTrackerApp();
+        List<SleepingSession> sessions = SleepTrackerApp.loadSleepSessions(testFile.toString());
+        List<SleepAnalysisResult> streamed;
+        try (InputStream inputStream = Files.newInputStream(testFile)) {
+            streamed = app.analyzeStream(inputStream);
+        }
+
+        List<SleepAnalysisFunction> functions = app.getAnalysisFunctions();
+        assertEquals(functions.size(), streamed.size());
+        for (int i = 0; i < functions.size(); i++) {
+            assertEquals(functions.get(i).analyze(sessions).getResult(), streamed.get(i).getResult());
+        }
+    }
+
+    @Test
+    @DisplayName("Выбранные анализы без дат должны совпадать с полным разбором")
+    void testAnalyzeStreamWithProjection() throws IOException {
+        String testData = "01.10.25 22:15;02.10.25 08:00;GOOD\n" +
+                "02.10.25 08:00;01.10.25 22:15;BAD\n" +
+                "02.10.25 00:00;01.10.25 24:00;BAD\r\n" +
+                "03.10.25 14:00;03.10.25 15:00;BAD\n" +
+                "31.02.25 23:30;01.03.25 06:20;NORMAL";
+        byte[] bytes = testData.getBytes(StandardCharsets.UTF_8);
+
+        SleepTrackerApp app = new SleepTrackerApp();
+        List<SleepAnalysisResult> full = app.analyzeStream(new ByteArrayInputStream(bytes));
+        List<SleepAnalysisResult> projected = app.analyzeStream(new ByteArrayInputStream(bytes),
+                List.of(AnalysisId.BAD_QUALITY_SESSIONS, AnalysisId.TOTAL_SESSIONS));
+
+        assertEquals(4L, projected.get(1).getResult());
+        assertEquals(full.get(4).getResult(), projected.get(0).getResult());
+        assertEquals(full.get(0).getResult(), projected.get(1).getResult());
+        assertThrows(IllegalArgumentException.class, () -> app.analyzeStream(new ByteArrayInputStream(bytes),
+                List.of(AnalysisId.of("unknown"))));
+    }
+
+    @Test
+    @DisplayName("Пользовательский анализ с превышением лимита времени не должен задерживать отчет")
+    void testCustomAnalysisTimeoutInReport() throws IOException {
+        Path testFile = tempDir.resolve("test_timeout.txt");
+        Files.writeString(testFile, "01.10.25 22:15;02.10.25 08:00;GOOD");
+
+        SleepTrackerApp app = new SleepTrackerApp();
+        app.addAnalysisFunction(sessions -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new SleepAnalysisResult("Медленная", "функция");
+        }, Duration.ofMillis(50));
+        app.addAnalysisFunction(sessions -> new SleepAnalysisResult("Быстрая", sessions.size()));
+
+        List<SleepingSession> sessions = SleepTrackerApp.loadSleepSessions(testFile.toString());
+        List<SleepAnalysisResult> results = app.analyze(sessions, FusedSleepAnalyzer.analyze(sessions));
+
+        assertEquals(9, results.size());
+        assertTrue(results.get(7).getResult().toString().contains("превышено время"));
+        assertEquals("Быстрая", results.get(8).getDescription());
+        assertEquals(1, results.get(8).getResult());
+    }
+
+    @Test
+    @DisplayName("Рекомендации должны строиться по результатам, найденным по идентификаторам")
+    void testSleepTipsReadResultsById() {
+        Map<AnalysisId, SleepAnalysisResult> upstream = new HashMap<>();
+        upstream.put(AnalysisId.TOTAL_SESSIONS, new LongAnalysisResult("Всего", 10));
+        upstream.put(AnalysisId.BAD_QUALITY_SESSIONS, new LongAnalysisResult("Плохие", 4));
+        upstream.put(AnalysisId.AVERAGE_DURATION, new DoubleAnalysisResult("Среднее", 480));
+        upstream.put(AnalysisId.NIGHT_SESSIONS, new LongAnalysisResult("Ночные", 9));
+        upstream.put(AnalysisId.SLEEPLESS_NIGHTS, new LongAnalysisResult("Бессонные", 0));
+        upstream.put(AnalysisId.CHRONOTYPE, new EnumAnalysisResult<>("Хронотип", Chronotype.NIGHT_OWL));
+
+        String tips = SleepTrackerApp.sleepTips(AnalysisResults.of(upstream));
+
+        assertTrue(tips.contains("Более 30%"));
+        assertTrue(tips.contains("Продолжительность сна в норме"));
+        assertFalse(tips.contains("бессонных"));
+        assertTrue(tips.contains("Ваш хронотип: Сова"));
+        assertTrue(tips.contains("вечерние тренировки"));
+    }
+
+    @Test
+    @DisplayName("Пользовательские анализы должны получать стабильные идентификаторы")
+    void testCustomAnalysisIds() throws IOException {
+        Path testFile = tempDir.resolve("test_ids.txt");
+        Files.writeString(testFile, "01.10.25 22:15;02.10.25 08:00;GOOD");
+        SleepTrackerApp app = new SleepTrackerApp();
+        app.addAnalysisFunction(AnalysisId.of("sessions-size"),
+                sessions -> new LongAnalysisResult("Размер", sessions.size()));
+
+        AnalysisResults results = app.run(SleepTrackerApp.loadSleepSessions(testFile.toString()));
+
+        assertEquals(1, results.getLong(AnalysisId.of("sessions-size")));
+        assertEquals(1, results.getLong(AnalysisId.TOTAL_SESSIONS));
+        assertTrue(app.getDisplayedAnalysisIds().contains(AnalysisId.of("sessions-size")));
+        assertThrows(IllegalArgumentException.class,
+                () -> app.addAnalysisFunction(AnalysisId.CHRONOTYPE, sessions -> new LongAnalysisResult("x", 0)));
+    }
+
+    @Test
+    @DisplayName("Агрегаты по файлу и журналу .slpc должны считаться по колонкам с тем же результатом")
+    void testAnalyzeSelectedFromFileUsesColumns() throws IOException {
+        String testData = "01.10.25 22:15;02.10.25 08:00;GOOD\n" +
+                "некорректная строка\n" +
+                "02.10.25 23:00;03.10.25 08:00;BAD\r\n" +
+                "03.10.25 14:00;03.10.25 15:00;NORMAL";
+        Path textLog = tempDir.resolve("log.txt");
+        Files.writeString(textLog, testData);
+        Path binaryLog = tempDir.resolve("log.slpc");
+        SleepLogConverter.convert(textLog, binaryLog);
+        List<AnalysisId> ids = List.of(AnalysisId.AVERAGE_DURATION, AnalysisId.BAD_QUALITY_SESSIONS,
+                AnalysisId.MIN_DURATION, AnalysisId.TOTAL_SESSIONS, AnalysisId.MAX_DURATION);
+
+        SleepTrackerApp app = new SleepTrackerApp();
+        List<SleepAnalysisResult> streamed = app.analyzeStream(
+                new ByteArrayInputStream(testData.getBytes(StandardCharsets.UTF_8)), ids);
+        for (Path log : List.of(textLog, binaryLog)) {
+            List<SleepAnalysisResult> columnar = app.analyzeSelected(log.toString(), ids);
+            assertEquals(ids.size(), columnar.size());
+            for (int i = 0; i < ids.size(); i++) {
+                assertEquals(streamed.get(i).getDescription(), columnar.get(i).getDescription(), log.toString());
+                assertEquals(streamed.get(i).getResult(), columnar.get(i).getResult(), log.toString());
+            }
+        }
+        assertEquals(3L, app.analyzeSelected(textLog.toString(), List.of(AnalysisId.TOTAL_SESSIONS))
+                .get(0).getResult());
+    }
+
+    @Test
+    @DisplayName("Должен загрузить существующий файл, в имени которого есть спецсимволы шаблона")
+    void testLoadSleepSessionsFromFileWithGlobCharacters() throws IOException {
+        Path testFile = tempDir.resolve("sleep[2024].txt");
+        Files.writeString(testFile, "01.10.25 22:15;02.10.25 08:00;GOOD\n02.10.25 23:00;03.10.25 08:00;BAD");
+
+        List<SleepingSession> sessions = SleepTrackerApp.loadSleepSessions(testFile.toString());
+
+        assertEquals(2, sessions.size());
+        assertEquals(SleepQuality.BAD, sessions.get(1).getQuality());
+    }
+
+    @Test
+    @DisplayName("Должен загрузить все журналы каталога одним упорядоченным списком")
+    void testLoadSleepSessionsFromDirectory() throws IOException {
+        Path logs = Files.createDirectory(tempDir.resolve("logs"));
+        Files.writeString(logs.resolve("phone.txt"), "01.10.25 22:15;02.10.25 08:00;GOOD\n"
+                + "03.10.25 23:30;04.10.25 06:20;BAD");
+        Files.writeString(logs.resolve("watch.txt"), "02.10.25 23:00;03.10.25 08:00;NORMAL");
+
+        List<SleepingSession> sessions = SleepTrackerApp.loadSleepSessions(logs.toString());
+
+        assertEquals(3, sessions.size());
+        assertEquals(SleepQuality.GOOD, sessions.get(0).getQuality());
+        assertEquals(SleepQuality.NORMAL, sessions.get(1).getQuality());
+        assertEquals(SleepQuality.BAD, sessions.get(2).getQuality());
+    }
+}
@@ -0,0 +1,36 @@
+package ru.yandex.practicum.sleeptracker.benchmark;
+
+import ru.yandex.practicum.sleeptracker.analyzer.ChronotypeClassifier;
+import ru.yandex.practicum.sleeptracker.model.Chronotype;
+import ru.yandex.practicum.sleeptracker.util.EpochMinutes;
+
+import java.util.Random;
+
+public class ChronotypeBenchmark {
+    private static final int SESSIONS = 10_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        int[] sleepMinutes = new int[SESSIONS];
+        int[] wakeMinutes = new int[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            sleepMinutes[i] = random.nextInt(EpochMinutes.MINUTES_PER_DAY);
+            wakeMinutes[i] = random.nextInt(EpochMinutes.MINUTES_PER_DAY);
+        }
+        ChronotypeClassifier classifier = ChronotypeClassifier.DEFAULT;
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            long[] counts = new long[Chronotype.values().length];
+            long start = System.nanoTime();
+            for (int i = 0; i < SESSIONS; i++) {
+                counts[classifier.classifyOrdinal(sleepMinutes[i], wakeMinutes[i])]++;
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("Раунд %d: %8.1f млн сессий/с (совы %d, жаворонки %d, голуби %d)%n",
+                    round, SESSIONS / (elapsed / 1_000.0),
+                    counts[Chronotype.NIGHT_OWL.ordinal()], counts[Chronotype.EARLY_BIRD.ordinal()],
+                    counts[Chronotype.DOVE.ordinal()]);
+        }
+    }
+}
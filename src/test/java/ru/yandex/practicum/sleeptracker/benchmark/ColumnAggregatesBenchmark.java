@@ -0,0 +1,96 @@
+package ru.yandex.practicum.sleeptracker.benchmark;
+
+import ru.yandex.practicum.sleeptracker.model.ColumnAggregates;
+import ru.yandex.practicum.sleeptracker.model.ColumnKernels;
+import ru.yandex.practicum.sleeptracker.model.SessionColumns;
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import ru.yandex.practicum.sleeptracker.util.EpochMinutes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+/**
+ * Сравнивает ядра агрегатов на Vector API со скалярными, а оба - со stream-кодом по списку сессий.
+ * Ядра на Vector API участвуют, только если {@code src/vector/java} скомпилирован и JVM запущена
+ * с {@code --add-modules jdk.incubator.vector}.
+ * Размеры задаются аргументами; для 10^9 сессий колонкам нужно около 9 ГБ кучи (-Xmx10g),
+ * а список объектов строится только до 10^7 сессий.
+ */
+public class ColumnAggregatesBenchmark {
+    private static final int ROUNDS = 5;
+    private static final int MAX_OBJECT_SESSIONS = 10_000_000;
+
+    public static void main(String[] args) {
+        if (ColumnKernels.vector() == null) {
+            System.out.println("Vector API недоступен, измеряются только скалярные ядра");
+        }
+        long[] sizes = args.length == 0 ? new long[]{1_000_000, 10_000_000} : parseSizes(args);
+        for (long size : sizes) {
+            run(Math.toIntExact(size));
+        }
+    }
+
+    private static void run(int size) {
+        System.out.printf("%,d сессий%n", size);
+        Random random = new Random(size);
+        SessionColumns columns = new SessionColumns(size);
+        long firstNight = EpochMinutes.of(2025, 1, 1, 23, 0);
+        for (int i = 0; i < size; i++) {
+            columns.add(firstNight + (i % 100_000) * 1_440L, 30 + random.nextInt(600), random.nextInt(3));
+        }
+        List<SleepingSession> sessions = size <= MAX_OBJECT_SESSIONS ? toSessions(columns) : null;
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("  Раунд %d%n", round);
+            long scalarNanos = 0;
+            for (ColumnKernels kernels : ColumnKernels.available()) {
+                long elapsed = measure("ядра: " + kernels.getName(), size, () -> {
+                    ColumnAggregates aggregates = columns.aggregate(kernels);
+                    return aggregates.getMinDuration() + aggregates.getMaxDuration()
+                            + aggregates.getTotalDuration() + aggregates.getQualityCount(SleepQuality.BAD);
+                });
+                if (kernels == ColumnKernels.scalar()) {
+                    scalarNanos = elapsed;
+                } else {
+                    System.out.printf("    ускорение относительно скалярных ядер: %.2fx%n",
+                            scalarNanos / (double) elapsed);
+                }
+            }
+            if (sessions != null) {
+                measure("stream по List<SleepingSession>", size, () ->
+                        sessions.stream().mapToLong(SleepingSession::getDurationInMinutes).min().orElse(0)
+                                + sessions.stream().mapToLong(SleepingSession::getDurationInMinutes).max().orElse(0)
+                                + sessions.stream().mapToLong(SleepingSession::getDurationInMinutes).sum()
+                                + sessions.stream().filter(s -> s.getQuality() == SleepQuality.BAD).count());
+            }
+        }
+    }
+
+    private static List<SleepingSession> toSessions(SessionColumns columns) {
+        List<SleepingSession> sessions = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            sessions.add(columns.getSession(i));
+        }
+        return sessions;
+    }
+
+    private static long measure(String name, int size, LongSupplier aggregate) {
+        long start = System.nanoTime();
+        long checksum = aggregate.getAsLong();
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("    %-35s %10.1f млн сессий/с (контрольная сумма %d)%n",
+                name, size / (elapsed / 1_000.0), checksum);
+        return elapsed;
+    }
+
+    private static long[] parseSizes(String[] args) {
+        long[] sizes = new long[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = (long) Double.parseDouble(args[i]);
+        }
+        return sizes;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.yandex.practicum.sleeptracker.benchmark;
+
+import ru.yandex.practicum.sleeptracker.util.FastSleepSessionParser;
+import ru.yandex.practicum.sleeptracker.util.SleepSessionParser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.ToLongFunction;
+
+public class ParserBenchmark {
+    private static final int LINES = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        String[] lines = generateLines(LINES);
+        byte[][] bytes = new byte[LINES][];
+        for (int i = 0; i < LINES; i++) {
+            bytes[i] = lines[i].getBytes(StandardCharsets.US_ASCII);
+        }
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("Раунд %d%n", round);
+            measure("SleepSessionParser.parse(String)", lines,
+                    line -> SleepSessionParser.parse(line) != null ? 1 : 0);
+            measure("FastSleepSessionParser.parse(CharSequence)", lines,
+                    line -> FastSleepSessionParser.parse(line) != null ? 1 : 0);
+            measure("FastSleepSessionParser.parseRecord(byte[])", bytes,
+                    line -> FastSleepSessionParser.parseRecord(line, 0, line.length) != FastSleepSessionParser.INVALID ? 1 : 0);
+        }
+    }
+
+    static String[] generateLines(int count) {
+        String[] qualities = {"GOOD", "NORMAL", "BAD"};
+        String[] lines = new String[count];
+        for (int i = 0; i < count; i++) {
+            int day = i % 28 + 1;
+            int month = i / 28 % 12 + 1;
+            int year = i / 336 % 100;
+            lines[i] = String.format("%02d.%02d.%02d 01:%02d;%02d.%02d.%02d 07:%02d;%s",
+                    day, month, year, i % 60, day, month, year, (i * 7) % 60, qualities[i % 3]);
+        }
+        return lines;
+    }
+
+    private static <T> void measure(String name, T[] lines, ToLongFunction<T> parser) {
+        long start = System.nanoTime();
+        long accepted = 0;
+        for (T line : lines) {
+            accepted += parser.applyAsLong(line);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("  %-45s %8.1f тыс. строк/с (принято %d)%n",
+                name, lines.length / (elapsed / 1_000_000.0), accepted);
+    }
+}
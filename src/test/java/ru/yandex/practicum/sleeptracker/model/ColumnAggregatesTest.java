@@ -0,0 +1,100 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.Random;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnAggregatesTest {
+
+    @Test
+    @DisplayName("Агрегаты по любому диапазону должны совпадать с простым подсчетом")
+    void testMatchesNaiveAggregates() {
+        Random random = new Random(61);
+        int size = 1_003;
+        int[] durations = new int[size];
+        byte[] qualities = new byte[size];
+        for (int i = 0; i < size; i++) {
+            durations[i] = random.nextInt(Integer.MAX_VALUE / 2);
+            qualities[i] = (byte) random.nextInt(3);
+        }
+
+        for (ColumnKernels kernels : ColumnKernels.available()) {
+            for (int i = 0; i < 300; i++) {
+                int from = random.nextInt(size);
+                int to = from + random.nextInt(size - from + 1);
+                ColumnAggregates aggregates = ColumnAggregates.of(kernels, durations, qualities, from, to);
+                String name = kernels.getName();
+
+                assertEquals(to - from, aggregates.getCount(), name);
+                assertEquals(IntStream.range(from, to).map(j -> durations[j]).min().orElse(0),
+                        aggregates.getMinDuration(), name);
+                assertEquals(IntStream.range(from, to).map(j -> durations[j]).max().orElse(0),
+                        aggregates.getMaxDuration(), name);
+                assertEquals(IntStream.range(from, to).mapToLong(j -> durations[j]).sum(),
+                        aggregates.getTotalDuration(), name);
+                for (SleepQuality quality : SleepQuality.values()) {
+                    assertEquals(IntStream.range(from, to).filter(j -> qualities[j] == quality.ordinal()).count(),
+                            aggregates.getQualityCount(quality), name);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Ядра на Vector API должны выбираться только при подключенном модуле")
+    void testKernelSelection() {
+        boolean moduleLoaded = ModuleLayer.boot().findModule(ColumnKernels.VECTOR_MODULE).isPresent();
+
+        assertSame(ColumnKernels.scalar(), ColumnKernels.available().get(0));
+        if (!moduleLoaded) {
+            assertNull(ColumnKernels.vector());
+        }
+        assertSame(ColumnKernels.vector() != null ? ColumnKernels.vector() : ColumnKernels.scalar(),
+                ColumnKernels.best());
+    }
+
+    @Test
+    @DisplayName("Скомпилированные ядра на Vector API должны подхватываться, а не подменяться скалярными")
+    void testCompiledVectorKernelsArePickedUp() {
+        String resource = ColumnKernels.VECTOR_KERNELS_CLASS.replace('.', '/') + ".class";
+        if (ColumnKernels.class.getClassLoader().getResource(resource) == null) {
+            return;
+        }
+
+        assertTrue(ModuleLayer.boot().findModule(ColumnKernels.VECTOR_MODULE).isPresent(),
+                "Ядра на Vector API скомпилированы, но JVM запущена без --add-modules " + ColumnKernels.VECTOR_MODULE);
+        assertNotNull(ColumnKernels.vector(), "Ядра на Vector API скомпилированы, но не загрузились");
+        assertEquals(ColumnKernels.VECTOR_KERNELS_CLASS, ColumnKernels.best().getClass().getName());
+    }
+
+    @Test
+    @DisplayName("Объединение агрегатов соседних частей должно совпадать с агрегатом целого")
+    void testCombine() {
+        SessionColumns columns = new SessionColumns();
+        for (int i = 0; i < 100; i++) {
+            columns.add(29_000_000L + i * 1_440L, 100 + i * 7 % 300, i % 3);
+        }
+
+        ColumnAggregates whole = columns.aggregate();
+        ColumnAggregates combined = columns.aggregate(0, 37).combine(columns.aggregate(37, 100));
+
+        assertEquals(whole.getCount(), combined.getCount());
+        assertEquals(whole.getMinDuration(), combined.getMinDuration());
+        assertEquals(whole.getMaxDuration(), combined.getMaxDuration());
+        assertEquals(whole.getTotalDuration(), combined.getTotalDuration());
+        assertEquals(whole.getQualityCount(SleepQuality.NORMAL), combined.getQualityCount(SleepQuality.NORMAL));
+    }
+
+    @Test
+    @DisplayName("Пустой диапазон должен давать нулевые агрегаты")
+    void testEmptyRange() {
+        ColumnAggregates aggregates = new SessionColumns().aggregate();
+
+        assertTrue(aggregates.isEmpty());
+        assertEquals(0, aggregates.getMinDuration());
+        assertEquals(0, aggregates.getMaxDuration());
+        assertEquals(0, aggregates.getQualityCount(SleepQuality.GOOD));
+    }
+}
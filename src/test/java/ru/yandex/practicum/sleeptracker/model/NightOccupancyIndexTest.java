@@ -0,0 +1,130 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NightOccupancyIndexTest {
+
+    @Test
+    @DisplayName("Должен учитывать каждую ночь один раз")
+    void testAddCountsDistinctNights() {
+        NightOccupancyIndex index = new NightOccupancyIndex();
+
+        assertTrue(index.add(20_000));
+        assertFalse(index.add(20_000));
+        assertTrue(index.add(20_001));
+
+        assertEquals(2, index.cardinality());
+        assertTrue(index.contains(20_001));
+        assertFalse(index.contains(20_002));
+    }
+
+    @Test
+    @DisplayName("Подсчеты по диапазонам должны совпадать с множеством дат")
+    void testRangeQueriesMatchSet() {
+        Random random = new Random(51);
+        NightOccupancyIndex index = new NightOccupancyIndex();
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int i = 0; i < 3_000; i++) {
+            long day = 19_000 + random.nextInt(1_500) - (random.nextInt(10) == 0 ? 30_000 : 0);
+            assertEquals(expected.add(day), index.add(day));
+        }
+
+        assertEquals(expected.size(), index.cardinality());
+        assertEquals(expected.first(), index.firstDay());
+        assertEquals(expected.last(), index.lastDay());
+        for (int i = 0; i < 500; i++) {
+            long from = expected.first() - 100 + random.nextInt(32_000);
+            long to = from + random.nextInt(random.nextBoolean() ? 100 : 5_000) - 5;
+            long occupied = to < from ? 0 : expected.subSet(from, true, to, true).size();
+
+            assertEquals(occupied, index.countOccupied(from, to), from + ".." + to);
+            assertEquals(Math.max(0, to - from + 1) - occupied, index.countSleepless(from, to));
+            assertEquals(longestGap(expected, from, to), index.longestSleeplessStreak(from, to), from + ".." + to);
+        }
+    }
+
+    @Test
+    @DisplayName("Объединение индексов должно давать объединение ночей")
+    void testOr() {
+        NightOccupancyIndex left = new NightOccupancyIndex();
+        NightOccupancyIndex right = new NightOccupancyIndex();
+        left.add(20_000);
+        left.add(20_100);
+        right.add(20_100);
+        right.add(19_000);
+        right.add(21_000);
+
+        left.or(right);
+
+        assertEquals(4, left.cardinality());
+        assertEquals(19_000, left.firstDay());
+        assertEquals(21_000, left.lastDay());
+        assertTrue(left.contains(20_000));
+    }
+
+    @Test
+    @DisplayName("Самая длинная серия бессонных ночей должна учитывать края диапазона")
+    void testLongestStreakAtEdges() {
+        NightOccupancyIndex index = new NightOccupancyIndex();
+        index.add(100);
+        index.add(101);
+        index.add(110);
+
+        assertEquals(8, index.longestSleeplessStreak(100, 110));
+        assertEquals(20, index.longestSleeplessStreak(111, 130));
+        assertEquals(10, index.longestSleeplessStreak(90, 101));
+        assertEquals(0, index.longestSleeplessStreak(100, 101));
+        assertEquals(5, new NightOccupancyIndex().longestSleeplessStreak(1, 5));
+    }
+
+    @Test
+    @DisplayName("Пустой индекс не должен иметь первой и последней ночи")
+    void testEmptyIndex() {
+        NightOccupancyIndex index = new NightOccupancyIndex();
+
+        assertTrue(index.isEmpty());
+        assertEquals(0, index.countOccupied(0, 1_000));
+        assertThrows(NoSuchElementException.class, index::firstDay);
+        assertThrows(NoSuchElementException.class, index::lastDay);
+    }
+
+    @Test
+    @DisplayName("Индекс должен восстанавливаться из двоичного представления")
+    void testWriteAndRead() throws IOException {
+        NightOccupancyIndex index = new NightOccupancyIndex();
+        index.add(20_000);
+        index.add(19_900);
+        index.add(20_131);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+
+        NightOccupancyIndex restored = NightOccupancyIndex.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(3, restored.cardinality());
+        assertEquals(19_900, restored.firstDay());
+        assertEquals(20_131, restored.lastDay());
+        assertTrue(restored.contains(20_000));
+        assertTrue(restored.add(20_001));
+    }
+
+    private static long longestGap(TreeSet<Long> days, long from, long to) {
+        long longest = 0;
+        long current = 0;
+        for (long day = from; day <= to; day++) {
+            current = days.contains(day) ? 0 : current + 1;
+            longest = Math.max(longest, current);
+        }
+        return longest;
+    }
+}
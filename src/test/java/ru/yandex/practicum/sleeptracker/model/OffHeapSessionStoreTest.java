@@ -0,0 +1,101 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+import ru.yandex.practicum.sleeptracker.analyzer.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapSessionStoreTest {
+
+    @Test
+    @DisplayName("Анализаторы должны работать с хранилищем вне кучи через представление списка")
+    void testAnalyzersReadThroughAdapter() {
+        List<SleepingSession> sessions = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2025, 10, 1, 23, 0);
+        for (int i = 0; i < 50; i++) {
+            sessions.add(new SleepingSession(start.plusDays(i), start.plusDays(i).plusMinutes(400 + i),
+                    SleepQuality.values()[i % 3]));
+        }
+
+        try (OffHeapSessionStore store = new OffHeapSessionStore()) {
+            sessions.forEach(store::add);
+            List<SleepingSession> view = store.asList();
+
+            List<SleepAnalysisFunction> analyses = List.of(new TotalSessionsAnalysis(), new MinDurationAnalysis(),
+                    new MaxDurationAnalysis(), new AverageDurationAnalysis(), new BadQualitySessionsAnalysis(),
+                    new SleeplessNightsAnalysis(), new ChronotypeAnalysis());
+            for (SleepAnalysisFunction analysis : analyses) {
+                assertEquals(analysis.analyze(sessions).getResult(), analysis.analyze(view).getResult());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Должен хранить записи фиксированной ширины и переходить между сегментами")
+    void testRecordsAcrossSegments() {
+        try (OffHeapSessionStore store = new OffHeapSessionStore()) {
+            int count = (1 << 20) + 10;
+            for (int i = 0; i < count; i++) {
+                store.add(i, i + i % 500, i % 3);
+            }
+
+            assertEquals(count, store.size());
+            assertEquals(count - 1, store.getStartMinute(count - 1));
+            assertEquals((count - 1) % 500, store.getDurationMinutes(count - 1));
+            assertEquals((count - 1) % 3, store.getQualityOrdinal(count - 1));
+            assertEquals(((1L << 20) + 1024) * OffHeapSessionStore.RECORD_SIZE, store.getOffHeapBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Должен копировать колоночное хранилище")
+    void testCopyOf() {
+        SessionColumns columns = new SessionColumns();
+        columns.add(1_000, 480, SleepQuality.NORMAL.ordinal());
+
+        try (OffHeapSessionStore store = OffHeapSessionStore.copyOf(columns)) {
+            assertEquals(1_480, store.getEndMinute(0));
+            assertEquals(SleepQuality.NORMAL, store.getQuality(0));
+        }
+    }
+
+    @Test
+    @DisplayName("Небольшое хранилище не должно сразу занимать целый сегмент")
+    void testSegmentGrowsOnDemand() {
+        try (OffHeapSessionStore store = new OffHeapSessionStore()) {
+            store.add(0, 10, 0);
+            assertEquals(1024L * OffHeapSessionStore.RECORD_SIZE, store.getOffHeapBytes());
+
+            for (int i = 1; i < 3_000; i++) {
+                store.add(i, i + 10, i % 3);
+            }
+            assertEquals(4096L * OffHeapSessionStore.RECORD_SIZE, store.getOffHeapBytes());
+            assertEquals(0, store.getStartMinute(0));
+            assertEquals(2_999, store.getStartMinute(2_999));
+        }
+
+        SessionColumns columns = new SessionColumns();
+        for (int i = 0; i < 5_000; i++) {
+            columns.add(i, 10, 0);
+        }
+        try (OffHeapSessionStore copy = OffHeapSessionStore.copyOf(columns)) {
+            assertEquals(5_000L * OffHeapSessionStore.RECORD_SIZE, copy.getOffHeapBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("После закрытия обращение к хранилищу должно приводить к исключению")
+    void testClosedStoreRejectsAccess() {
+        OffHeapSessionStore store = new OffHeapSessionStore();
+        store.add(0, 10, 0);
+        store.close();
+
+        assertTrue(store.isClosed());
+        assertThrows(IllegalStateException.class, () -> store.getStartMinute(0));
+        assertThrows(IllegalStateException.class, () -> store.add(0, 10, 0));
+    }
+}
@@ -0,0 +1,116 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionColumnsTest {
+
+    private final List<SleepingSession> sessions = List.of(
+            new SleepingSession(
+                    LocalDateTime.of(2025, 10, 1, 22, 15),
+                    LocalDateTime.of(2025, 10, 2, 8, 0),
+                    SleepQuality.GOOD
+            ),
+            new SleepingSession(
+                    LocalDateTime.of(2025, 10, 3, 14, 0),
+                    LocalDateTime.of(2025, 10, 3, 15, 0),
+                    SleepQuality.BAD
+            )
+    );
+
+    @Test
+    @DisplayName("Должен хранить начало, продолжительность и качество в колонках")
+    void testColumnsAccess() {
+        SessionColumns columns = SessionColumns.of(sessions);
+
+        assertEquals(2, columns.size());
+        assertEquals(585, columns.getDurationMinutes(0));
+        assertEquals(SleepQuality.BAD, columns.getQuality(1));
+        assertEquals(SleepQuality.GOOD.ordinal(), columns.getQualityOrdinal(0));
+        assertEquals(columns.getStartMinute(0) + 585 + 1800, columns.getStartMinute(1));
+    }
+
+    @Test
+    @DisplayName("Должен восстанавливать сессии по запросу через представление списка")
+    void testAsListRestoresSessions() {
+        SessionColumns columns = SessionColumns.of(sessions);
+        List<SleepingSession> view = columns.asList();
+
+        assertEquals(sessions.size(), view.size());
+        for (int i = 0; i < sessions.size(); i++) {
+            assertEquals(sessions.get(i).getSleepStart(), view.get(i).getSleepStart());
+            assertEquals(sessions.get(i).getSleepEnd(), view.get(i).getSleepEnd());
+            assertEquals(sessions.get(i).getQuality(), view.get(i).getQuality());
+        }
+    }
+
+    @Test
+    @DisplayName("Должен расширяться и объединять хранилища")
+    void testGrowAndAddAll() {
+        SessionColumns first = new SessionColumns(0);
+        for (int i = 0; i < 100; i++) {
+            first.add(i * 1_000L, i, i % 3);
+        }
+        SessionColumns second = new SessionColumns();
+        second.add(500_000L, 42, SleepQuality.NORMAL.ordinal());
+
+        first.addAll(second);
+        first.trimToSize();
+
+        assertEquals(101, first.size());
+        assertEquals(99_000, first.getStartMinute(99));
+        assertEquals(42, first.getDurationMinutes(100));
+        assertEquals(SleepQuality.NORMAL, first.getQuality(100));
+    }
+
+    @Test
+    @DisplayName("Должен отклонять некорректные данные и индексы")
+    void testRejectsInvalidInput() {
+        SessionColumns columns = new SessionColumns();
+
+        assertThrows(IllegalArgumentException.class, () -> columns.add(0, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> columns.add(0, 1, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.getStartMinute(0));
+    }
+
+    @Test
+    @DisplayName("Должен сортировать колонки по началу сна, сохраняя порядок равных начал")
+    void testSortByStartIsStable() {
+        SessionColumns columns = new SessionColumns();
+        columns.add(3_000, 30, SleepQuality.BAD.ordinal());
+        columns.add(-500, 50, SleepQuality.GOOD.ordinal());
+        columns.add(1_000, 10, SleepQuality.NORMAL.ordinal());
+        columns.add(-500, 51, SleepQuality.BAD.ordinal());
+        columns.add(1_000, 11, SleepQuality.GOOD.ordinal());
+
+        assertFalse(columns.isSortedByStart());
+        assertTrue(columns.sortByStart());
+
+        assertTrue(columns.isSortedByStart());
+        assertEquals(List.of(-500, -500, 1_000, 1_000, 3_000), IntStream.range(0, columns.size())
+                .map(columns::getStartMinute).boxed().collect(Collectors.toList()));
+        assertEquals(List.of(50, 51, 10, 11, 30), IntStream.range(0, columns.size())
+                .map(columns::getDurationMinutes).boxed().collect(Collectors.toList()));
+        assertEquals(SleepQuality.GOOD, columns.getQuality(0));
+        assertEquals(SleepQuality.BAD, columns.getQuality(4));
+    }
+
+    @Test
+    @DisplayName("Упорядоченные колонки не должны пересортировываться")
+    void testSortedColumnsAreLeftAsIs() {
+        SessionColumns columns = SessionColumns.of(sessions);
+        SessionColumns copy = SessionColumns.copyOf(columns);
+
+        assertFalse(columns.sortByStart());
+        assertFalse(new SessionColumns().sortByStart());
+        assertEquals(columns.size(), copy.size());
+        assertEquals(columns.getStartMinute(1), copy.getStartMinute(1));
+        assertEquals(columns.getQuality(1), copy.getQuality(1));
+    }
+}
@@ -3,6 +3,8 @@ package ru.yandex.practicum.sleeptracker.model;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class SleepAnalysisResultTest {
@@ -90,4 +92,46 @@ class SleepAnalysisResultTest {
         SleepAnalysisResult result = new SleepAnalysisResult("Длительность", 600L);
         assertEquals("Длительность: 600", result.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Целочисленный результат должен хранить значение без упаковки")
+    void testLongResult() {
+        LongAnalysisResult result = new LongAnalysisResult("Количество сессий", 10);
+
+        assertEquals(10, result.getValue());
+        assertEquals(10L, result.getResult());
+        assertEquals("Количество сессий: 10", result.toString());
+    }
+
+    @Test
+    @DisplayName("Дробный результат должен форматироваться только при выводе")
+    void testDoubleResult() {
+        DoubleAnalysisResult result = new DoubleAnalysisResult("Среднее", 345.384615);
+
+        assertEquals(345.384615, result.getValue());
+        assertEquals(345.384615, result.getResult());
+        assertEquals("345.4", result.format());
+        assertEquals("Среднее: 345.38", new DoubleAnalysisResult("Среднее", 345.384615, 2).toString());
+        assertThrows(IllegalArgumentException.class, () -> new DoubleAnalysisResult("Среднее", 1.0, -1));
+    }
+
+    @Test
+    @DisplayName("Результат-перечисление должен возвращать типизированное значение")
+    void testEnumResult() {
+        EnumAnalysisResult<Chronotype> result = new EnumAnalysisResult<>("Хронотип", Chronotype.NIGHT_OWL);
+
+        assertEquals(Chronotype.NIGHT_OWL, result.getValue());
+        assertEquals(Chronotype.NIGHT_OWL.ordinal(), result.getOrdinal());
+        assertEquals("Хронотип: Сова", result.toString());
+        assertThrows(NullPointerException.class, () -> new EnumAnalysisResult<Chronotype>("Хронотип", null));
+    }
+
+    @Test
+    @DisplayName("Типизированный результат должен возвращать значение своего типа")
+    void testTypedResult() {
+        TypedAnalysisResult<List<String>> result = new TypedAnalysisResult<>("Список", List.of("а", "б"));
+
+        assertEquals(2, result.getValue().size());
+        assertEquals("Список: [а, б]", result.toString());
+    }
+}
@@ -0,0 +1,149 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.analyzer.FusedSleepAnalyzer;
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import ru.yandex.practicum.sleeptracker.model.SleepReport;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalSessionSorterTest {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yy HH:mm");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Сессии, сброшенные на диск многими отрезками, должны выйти упорядоченными")
+    void testSpilledRunsAreMergedInOrder() throws IOException {
+        List<SleepingSession> sessions = randomSessions(new Random(7), 5000);
+        List<SleepingSession> shuffled = new ArrayList<>(sessions);
+        Collections.shuffle(shuffled, new Random(8));
+
+        List<SleepingSession> sorted = new ArrayList<>();
+        try (ExternalSessionSorter sorter = new ExternalSessionSorter(tempDir, 100, 4)) {
+            for (SleepingSession session : shuffled) {
+                sorter.add(session);
+            }
+            assertEquals(49, sorter.getRunCount());
+            sorter.forEachSorted(sorted::add);
+            assertEquals(sessions.size(), sorter.size());
+        }
+
+        assertEquals(sessions.size(), sorted.size());
+        for (int i = 0; i < sessions.size(); i++) {
+            assertEquals(sessions.get(i).getSleepStart(), sorted.get(i).getSleepStart());
+            assertEquals(sessions.get(i).getSleepEnd(), sorted.get(i).getSleepEnd());
+            assertEquals(sessions.get(i).getQuality(), sorted.get(i).getQuality());
+        }
+        assertEquals(0, countFiles(), "Временные отрезки должны удаляться");
+    }
+
+    @Test
+    @DisplayName("Отчет по внешне отсортированному журналу должен совпадать с отчетом по упорядоченному")
+    void testReportMatchesSortedInput() throws IOException {
+        List<SleepingSession> sessions = randomSessions(new Random(11), 3000);
+        List<SleepingSession> shuffled = new ArrayList<>(sessions);
+        Collections.shuffle(shuffled, new Random(12));
+        String log = shuffled.stream().map(ExternalSessionSorterTest::format).collect(Collectors.joining("\n"));
+
+        FusedSleepAnalyzer expected = new FusedSleepAnalyzer();
+        sessions.forEach(expected);
+        FusedSleepAnalyzer actual = new FusedSleepAnalyzer();
+        try (ExternalSessionSorter sorter = new ExternalSessionSorter(tempDir, 256)) {
+            SleepLogReader.forEachRecord(new ByteArrayInputStream(log.getBytes(StandardCharsets.UTF_8)), record -> {
+                try {
+                    sorter.add(record);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            sorter.forEachSorted(actual);
+        }
+
+        SleepReport expectedReport = expected.getReport();
+        SleepReport actualReport = actual.getReport();
+        assertEquals(expectedReport.getSessionCount(), actualReport.getSessionCount());
+        assertEquals(expectedReport.getSleeplessNights(), actualReport.getSleeplessNights());
+        assertEquals(expectedReport.getFirstSleepStart(), actualReport.getFirstSleepStart());
+        assertEquals(expectedReport.getLastSleepEnd(), actualReport.getLastSleepEnd());
+        assertEquals(expectedReport.getChronotype(), actualReport.getChronotype());
+    }
+
+    @Test
+    @DisplayName("Небольшой журнал должен сортироваться в памяти без временных файлов")
+    void testSmallInputIsSortedInMemory() throws IOException {
+        try (ExternalSessionSorter sorter = new ExternalSessionSorter(tempDir.resolve("runs"))) {
+            sorter.add(session("03.10.25 22:00", "04.10.25 07:00", SleepQuality.BAD));
+            sorter.add(session("01.10.25 22:00", "02.10.25 07:00", SleepQuality.GOOD));
+            sorter.add(session("01.10.25 22:00", "02.10.25 06:00", SleepQuality.NORMAL));
+
+            List<SleepingSession> sorted = new ArrayList<>();
+            sorter.forEachSorted(sorted::add);
+
+            assertEquals(0, sorter.getRunCount());
+            assertFalse(Files.exists(tempDir.resolve("runs")));
+            assertEquals(List.of(SleepQuality.NORMAL, SleepQuality.GOOD, SleepQuality.BAD),
+                    sorted.stream().map(SleepingSession::getQuality).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("Сессия с секундами не должна приниматься")
+    void testSessionWithSecondsIsRejected() throws IOException {
+        try (ExternalSessionSorter sorter = new ExternalSessionSorter(tempDir)) {
+            SleepingSession session = new SleepingSession(LocalDateTime.of(2025, 10, 1, 22, 0, 30),
+                    LocalDateTime.of(2025, 10, 2, 7, 0), SleepQuality.GOOD);
+
+            assertThrows(IllegalArgumentException.class, () -> sorter.add(session));
+            assertThrows(IllegalArgumentException.class, () -> new ExternalSessionSorter(tempDir, 0));
+        }
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+
+    private static List<SleepingSession> randomSessions(Random random, int count) {
+        List<SleepingSession> sessions = new ArrayList<>(count);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 22, 0);
+        for (int i = 0; i < count; i++) {
+            start = start.plusMinutes(random.nextInt(3) == 0 ? 0 : 60 + random.nextInt(2000));
+            LocalDateTime end = start.plusMinutes(30 + random.nextInt(600));
+            sessions.add(new SleepingSession(start, end, SleepQuality.values()[random.nextInt(3)]));
+        }
+        sessions.sort(Comparator.comparing(SleepingSession::getSleepStart)
+                .thenComparing(SleepingSession::getSleepEnd)
+                .thenComparing(SleepingSession::getQuality));
+        return sessions;
+    }
+
+    private static SleepingSession session(String start, String end, SleepQuality quality) {
+        return new SleepingSession(LocalDateTime.parse(start, FORMATTER), LocalDateTime.parse(end, FORMATTER),
+                quality);
+    }
+
+    private static String format(SleepingSession session) {
+        return session.getSleepStart().format(FORMATTER) + ";" + session.getSleepEnd().format(FORMATTER) + ";"
+                + session.getQuality();
+    }
+}
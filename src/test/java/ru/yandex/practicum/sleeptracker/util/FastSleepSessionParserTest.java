@@ -0,0 +1,144 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastSleepSessionParserTest {
+
+    private static final List<String> EDGE_CASES = List.of(
+            "01.10.25 22:15;02.10.25 08:00;GOOD",
+            "02.10.25 23:00;03.10.25 08:00;normal",
+            "03.10.25 23:30;04.10.25 06:20;Bad",
+            "  01.10.25 22:15  ;  02.10.25 08:00  ;  GOOD  ",
+            "\t01.10.25 22:15;02.10.25 08:00;GOOD\r",
+            "01.10.25 22:15;02.10.25 08:00;GOOD;",
+            "01.10.25 22:15;02.10.25 08:00;GOOD;;;",
+            "01.10.25 22:15;02.10.25 08:00;GOOD; ",
+            "01.10.25 22:15;02.10.25 08:00;GOOD;x",
+            "01.10.25 22:15;02.10.25 08:00;;",
+            "01.10.25 22:15;02.10.25 08:00;",
+            "01.10.25 22:15;02.10.25 08:00",
+            ";01.10.25 22:15;02.10.25 08:00",
+            "01.10.25 22:15;02.10.25 08:00;EXCELLENT",
+            "01.10.25 22:15;02.10.25 08:00;GO OD",
+            "01-10-25 22:15;02-10-25 08:00;GOOD",
+            "02.10.25 08:00;01.10.25 22:15;GOOD",
+            "01.10.25 22:15;01.10.25 22:15;BAD",
+            "01.10.25 23:00;01.10.25 24:00;GOOD",
+            "01.10.25 23:00;01.10.25 24:01;GOOD",
+            "02.10.25 00:00;01.10.25 24:00;GOOD",
+            "01.03.25 00:00;28.02.25 24:00;BAD",
+            "01.03.25 00:00;31.02.25 24:00;BAD",
+            "02.10.25 00:01;01.10.25 24:00;GOOD",
+            "28.02.25 23:00;31.02.25 08:00;GOOD",
+            "28.02.24 23:00;31.02.24 08:00;GOOD",
+            "29.04.25 23:00;31.04.25 08:00;GOOD",
+            "00.10.25 22:15;02.10.25 08:00;GOOD",
+            "01.13.25 22:15;02.10.25 08:00;GOOD",
+            "01.10.25 22:60;02.10.25 08:00;GOOD",
+            "+1.10.25 22:15;02.10.25 08:00;GOOD",
+            "1.10.25 22:15;02.10.25 08:00;GOOD",
+            "01.10.2025 22:15;02.10.2025 08:00;GOOD",
+            "01.10.25  22:15;02.10.25 08:00;GOOD",
+            "01.10.25 22:15;02.10.25 08:00;GOÖD",
+            "01.10.25 22:15;02.10.25 08:00;ǤOOD",
+            "",
+            "   ",
+            ";;",
+            "invalid line"
+    );
+
+    @Test
+    @DisplayName("Должен принимать и отклонять те же граничные строки, что и SleepSessionParser")
+    void testEdgeCasesMatchReferenceParser() {
+        for (String line : EDGE_CASES) {
+            assertSameAsReference(line);
+        }
+    }
+
+    @Test
+    @DisplayName("Должен совпадать с SleepSessionParser на случайно искаженных строках")
+    void testRandomMutationsMatchReferenceParser() {
+        Random random = new Random(42);
+        String alphabet = "0123456789.:; \tGOODNORMALBADgoodx-+Ö";
+        String base = "01.10.25 22:15;02.10.25 08:00;GOOD";
+
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder line = new StringBuilder(base);
+            int mutations = 1 + random.nextInt(3);
+            for (int m = 0; m < mutations; m++) {
+                int position = random.nextInt(line.length());
+                char replacement = alphabet.charAt(random.nextInt(alphabet.length()));
+                switch (random.nextInt(3)) {
+                    case 0 -> line.setCharAt(position, replacement);
+                    case 1 -> line.insert(position, replacement);
+                    default -> line.deleteCharAt(position);
+                }
+            }
+            assertSameAsReference(line.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Должен правильно распарсить строку из массива байтов со смещением")
+    void testParseFromByteRange() {
+        byte[] buffer = "xx01.10.25 22:15;02.10.25 08:00;BAD\nyy".getBytes(StandardCharsets.UTF_8);
+
+        SleepingSession session = FastSleepSessionParser.parse(buffer, 2, 35);
+
+        assertNotNull(session);
+        assertEquals(LocalDateTime.of(2025, 10, 1, 22, 15), session.getSleepStart());
+        assertEquals(LocalDateTime.of(2025, 10, 2, 8, 0), session.getSleepEnd());
+        assertEquals(SleepQuality.BAD, session.getQuality());
+    }
+
+    @Test
+    @DisplayName("Должен упаковать минуты начала, конца и качество в одно число")
+    void testParseRecordPacking() {
+        long record = FastSleepSessionParser.parseRecord("01.10.25 22:15;02.10.25 08:00;NORMAL");
+
+        assertEquals(EpochMinutes.of(LocalDateTime.of(2025, 10, 1, 22, 15)),
+                FastSleepSessionParser.startMinute(record));
+        assertEquals(EpochMinutes.of(LocalDateTime.of(2025, 10, 2, 8, 0)),
+                FastSleepSessionParser.endMinute(record));
+        assertEquals(SleepQuality.NORMAL, FastSleepSessionParser.quality(record));
+    }
+
+    @Test
+    @DisplayName("Должен вернуть null для null строки")
+    void testParseNull() {
+        assertNull(FastSleepSessionParser.parse(null));
+        assertEquals(FastSleepSessionParser.INVALID, FastSleepSessionParser.parseRecord(null));
+    }
+
+    private static void assertSameAsReference(String line) {
+        SleepingSession expected = SleepSessionParser.parse(line);
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        SleepingSession fromChars = FastSleepSessionParser.parse(line);
+        SleepingSession fromBytes = FastSleepSessionParser.parse(bytes, 0, bytes.length);
+
+        assertSameSession(expected, fromChars, line);
+        assertSameSession(expected, fromBytes, line);
+        assertEquals(expected == null ? -1 : expected.getQuality().ordinal(),
+                FastSleepSessionParser.parseQualityOrdinal(bytes, 0, bytes.length), line);
+    }
+
+    private static void assertSameSession(SleepingSession expected, SleepingSession actual, String line) {
+        if (expected == null) {
+            assertNull(actual, "Строка должна быть отклонена: " + line);
+            return;
+        }
+        assertNotNull(actual, "Строка должна быть принята: " + line);
+        assertEquals(expected.getSleepStart(), actual.getSleepStart(), line);
+        assertEquals(expected.getSleepEnd(), actual.getSleepEnd(), line);
+        assertEquals(expected.getQuality(), actual.getQuality(), line);
+    }
+}
@@ -0,0 +1,105 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedSessionFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Должен сконвертировать текстовый журнал и прочитать те же сессии из бинарного файла")
+    void testConvertAndReadBack() throws IOException {
+        Path textLog = tempDir.resolve("sleep.txt");
+        Files.writeString(textLog, "01.10.25 22:15;02.10.25 08:00;GOOD\n" +
+                "invalid line\n" +
+                "\n" +
+                "02.10.25 23:00;03.10.25 08:00;NORMAL\n" +
+                "03.10.25 23:30;04.10.25 06:20;BAD");
+        Path binaryLog = tempDir.resolve("sleep.slpc");
+
+        long written = SleepLogConverter.convert(textLog, binaryLog);
+        List<SleepingSession> expected = MappedSleepLogLoader.load(textLog);
+        MappedSessionFile file = MappedSessionFile.open(binaryLog);
+
+        assertEquals(3, written);
+        assertEquals(3, file.size());
+        assertTrue(MappedSessionFile.isSessionFile(binaryLog));
+        assertFalse(MappedSessionFile.isSessionFile(textLog));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), file.asList().get(i).toString());
+            assertEquals(expected.get(i).getDurationInMinutes(), file.getDurationMinutes(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Должен хранить колонки начала, продолжительности и качества")
+    void testColumnsAccess() throws IOException {
+        Path binaryLog = tempDir.resolve("columns.slpc");
+        LocalDateTime start = LocalDateTime.of(2025, 10, 1, 23, 0);
+        try (BinarySessionWriter writer = new BinarySessionWriter(binaryLog)) {
+            writer.write(new SleepingSession(start, start.plusMinutes(480), SleepQuality.BAD));
+            writer.finish();
+        }
+
+        MappedSessionFile file = MappedSessionFile.open(binaryLog);
+
+        assertEquals(EpochMinutes.of(start), file.getStartMinute(0));
+        assertEquals(480, file.getDurationMinutes(0));
+        assertEquals(SleepQuality.BAD, file.getQuality(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> file.getSession(1));
+    }
+
+    @Test
+    @DisplayName("Должен открыть пустой бинарный журнал")
+    void testEmptyFile() throws IOException {
+        Path binaryLog = tempDir.resolve("empty.slpc");
+        try (BinarySessionWriter writer = new BinarySessionWriter(binaryLog)) {
+            writer.finish();
+        }
+
+        assertTrue(MappedSessionFile.open(binaryLog).asList().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Прерванная запись не должна менять целевой файл и оставлять временные файлы")
+    void testAbortedWriteLeavesTargetUntouched() throws IOException {
+        Path binaryLog = tempDir.resolve("aborted.slpc");
+        Files.writeString(binaryLog, "старое содержимое");
+        LocalDateTime start = LocalDateTime.of(2025, 10, 1, 23, 0);
+
+        assertThrows(IllegalStateException.class, () -> {
+            try (BinarySessionWriter writer = new BinarySessionWriter(binaryLog)) {
+                writer.write(new SleepingSession(start, start.plusMinutes(480), SleepQuality.BAD));
+                throw new IllegalStateException("Ошибка чтения журнала");
+            }
+        });
+
+        assertEquals("старое содержимое", Files.readString(binaryLog));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of(binaryLog), files.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("Должен отклонить файл с неверным заголовком")
+    void testRejectsForeignFile() throws IOException {
+        Path textLog = tempDir.resolve("sleep.txt");
+        Files.writeString(textLog, "01.10.25 22:15;02.10.25 08:00;GOOD\n");
+
+        assertThrows(IOException.class, () -> MappedSessionFile.open(textLog));
+    }
+}
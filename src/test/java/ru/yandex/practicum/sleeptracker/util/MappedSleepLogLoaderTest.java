@@ -0,0 +1,92 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedSleepLogLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Должен загрузить те же сессии, что и построчное чтение, при любом размере куска")
+    void testLoadMatchesLineByLineReading() throws IOException {
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            int day = i % 28 + 1;
+            data.append(String.format("%02d.10.25 23:%02d;%02d.10.25 23:59;%s%n",
+                    day, i % 60, day, i % 3 == 0 ? "GOOD" : "bad"));
+            if (i % 17 == 0) {
+                data.append("\n   \n");
+            }
+            if (i % 23 == 0) {
+                data.append("invalid line\r\n");
+            }
+        }
+        Path file = tempDir.resolve("sleep.txt");
+        Files.writeString(file, data);
+
+        List<SleepingSession> expected = Files.lines(file)
+                .filter(line -> !line.trim().isEmpty())
+                .map(SleepSessionParser::parse)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        for (long chunkSize : new long[]{1, 7, 36, 1000, MappedSleepLogLoader.DEFAULT_CHUNK_SIZE}) {
+            List<SleepingSession> actual = MappedSleepLogLoader.load(file, ForkJoinPool.commonPool(), chunkSize);
+            assertEquals(describe(expected), describe(actual), "Размер куска " + chunkSize);
+            List<SleepingSession> columns = MappedSleepLogLoader.loadColumns(file, ForkJoinPool.commonPool(), chunkSize)
+                    .asList();
+            assertEquals(describe(expected), describe(columns), "Колонки, размер куска " + chunkSize);
+        }
+    }
+
+    @Test
+    @DisplayName("Должен обработать CRLF и последнюю строку без перевода строки")
+    void testLoadWithCrLfAndNoTrailingNewline() throws IOException {
+        Path file = tempDir.resolve("crlf.txt");
+        Files.writeString(file, "01.10.25 22:15;02.10.25 08:00;GOOD\r\n\r\n02.10.25 23:00;03.10.25 08:00;NORMAL");
+
+        List<SleepingSession> sessions = MappedSleepLogLoader.load(file, ForkJoinPool.commonPool(), 10);
+
+        assertEquals(2, sessions.size());
+        assertEquals(SleepQuality.GOOD, sessions.get(0).getQuality());
+        assertEquals(SleepQuality.NORMAL, sessions.get(1).getQuality());
+    }
+
+    @Test
+    @DisplayName("Должен вернуть пустой список для пустого файла")
+    void testLoadEmptyFile() throws IOException {
+        Path file = tempDir.resolve("empty.txt");
+        Files.writeString(file, "");
+
+        assertTrue(MappedSleepLogLoader.load(file).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Должен выбросить исключение при отсутствии файла")
+    void testLoadMissingFile() {
+        assertThrows(IOException.class, () -> MappedSleepLogLoader.load(tempDir.resolve("missing.txt")));
+    }
+
+    private static List<String> describe(List<SleepingSession> sessions) {
+        List<String> result = new ArrayList<>();
+        for (SleepingSession session : sessions) {
+            result.add(session.toString());
+        }
+        return result;
+    }
+}
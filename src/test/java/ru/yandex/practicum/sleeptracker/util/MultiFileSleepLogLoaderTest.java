@@ -0,0 +1,133 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiFileSleepLogLoaderTest {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yy HH:mm");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Сессии из всех файлов каталога должны слиться в порядке начала сна")
+    void testDirectoryIsMergedInOrder() throws IOException {
+        List<SleepingSession> all = randomSessions(new Random(1), 600);
+        List<List<SleepingSession>> devices = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        Random random = new Random(2);
+        for (SleepingSession session : all) {
+            devices.get(random.nextInt(devices.size())).add(session);
+        }
+        for (int i = 0; i < devices.size(); i++) {
+            write(tempDir.resolve("device-" + i + ".txt"), devices.get(i));
+        }
+        Files.writeString(tempDir.resolve(".hidden"), "01.01.25 22:00;02.01.25 06:00;BAD");
+
+        List<SleepingSession> merged = MultiFileSleepLogLoader.load(tempDir.toString());
+
+        assertEquals(all.size(), merged.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(all.get(i).getSleepStart(), merged.get(i).getSleepStart());
+            assertEquals(all.get(i).getQuality(), merged.get(i).getQuality());
+        }
+    }
+
+    @Test
+    @DisplayName("Шаблон должен выбирать только совпавшие файлы")
+    void testGlobSelectsMatchingFiles() throws IOException {
+        Path logs = Files.createDirectory(tempDir.resolve("logs"));
+        Files.writeString(logs.resolve("2025-10.txt"), "01.10.25 22:15;02.10.25 08:00;GOOD");
+        Files.writeString(logs.resolve("2025-11.txt"), "01.11.25 22:15;02.11.25 08:00;NORMAL");
+        Files.writeString(logs.resolve("notes.md"), "02.10.25 23:00;03.10.25 08:00;BAD");
+
+        List<Path> files = MultiFileSleepLogLoader.resolve(logs + "/2025-*.txt");
+        List<SleepingSession> sessions = MultiFileSleepLogLoader.load(logs + "/*.txt");
+
+        assertEquals(List.of(logs.resolve("2025-10.txt"), logs.resolve("2025-11.txt")), files);
+        assertEquals(2, sessions.size());
+        assertEquals(SleepQuality.NORMAL, sessions.get(1).getQuality());
+        assertThrows(IOException.class, () -> MultiFileSleepLogLoader.resolve(logs + "/*.csv"));
+    }
+
+    @Test
+    @DisplayName("Существующий файл со спецсимволами шаблона в имени должен читаться как обычный путь")
+    void testExistingPathWithGlobCharactersIsLiteral() throws IOException {
+        Path logs = Files.createDirectory(tempDir.resolve("logs"));
+        Path log = logs.resolve("sleep[2024].txt");
+        Files.writeString(log, "01.10.25 22:15;02.10.25 08:00;GOOD");
+        Files.writeString(logs.resolve("sleep2.txt"), "02.10.25 23:00;03.10.25 08:00;BAD");
+
+        assertFalse(MultiFileSleepLogLoader.isGlob(log.toString()));
+        assertEquals(List.of(log), MultiFileSleepLogLoader.resolve(log.toString()));
+        assertEquals(1, MultiFileSleepLogLoader.load(log.toString()).size());
+        assertTrue(MultiFileSleepLogLoader.isGlob(logs + "/sleep[0-9].txt"));
+        assertEquals(List.of(logs.resolve("sleep2.txt")), MultiFileSleepLogLoader.resolve(logs + "/sleep[0-9].txt"));
+    }
+
+    @Test
+    @DisplayName("Неупорядоченный файл должен сортироваться перед слиянием")
+    void testUnsortedFileIsSortedBeforeMerge() throws IOException {
+        Path first = tempDir.resolve("a.txt");
+        Path second = tempDir.resolve("b.txt");
+        Files.writeString(first, "05.10.25 22:00;06.10.25 07:00;GOOD\n01.10.25 22:00;02.10.25 07:00;GOOD");
+        Files.writeString(second, "03.10.25 22:00;04.10.25 07:00;BAD");
+
+        List<SleepingSession> sessions = MultiFileSleepLogLoader.load(List.of(first, second),
+                ForkJoinPool.commonPool());
+
+        assertEquals(List.of(1, 3, 5), sessions.stream()
+                .map(s -> s.getSleepStart().getDayOfMonth())
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("При равном начале сна порядок файлов должен сохраняться")
+    void testMergeIsStable() {
+        LocalDateTime start = LocalDateTime.of(2025, 10, 1, 22, 0);
+        SleepingSession fromFirst = new SleepingSession(start, start.plusHours(8), SleepQuality.GOOD);
+        SleepingSession fromSecond = new SleepingSession(start, start.plusHours(7), SleepQuality.BAD);
+
+        List<SleepingSession> merged = MultiFileSleepLogLoader.merge(
+                List.of(List.of(fromFirst), List.of(), List.of(fromSecond)));
+
+        assertSame(fromFirst, merged.get(0));
+        assertSame(fromSecond, merged.get(1));
+        assertTrue(MultiFileSleepLogLoader.merge(List.of()).isEmpty());
+    }
+
+    private static List<SleepingSession> randomSessions(Random random, int count) {
+        List<SleepingSession> sessions = new ArrayList<>(count);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 22, 0);
+        SleepQuality[] qualities = SleepQuality.values();
+        for (int i = 0; i < count; i++) {
+            start = start.plusMinutes(120 + random.nextInt(2_000));
+            LocalDateTime end = start.plusMinutes(10 + random.nextInt(700));
+            sessions.add(new SleepingSession(start, end, qualities[random.nextInt(qualities.length)]));
+            start = end;
+        }
+        sessions.sort(Comparator.comparing(SleepingSession::getSleepStart));
+        return sessions;
+    }
+
+    private static void write(Path file, List<SleepingSession> sessions) throws IOException {
+        Files.writeString(file, sessions.stream()
+                .map(s -> s.getSleepStart().format(FORMATTER) + ";" + s.getSleepEnd().format(FORMATTER)
+                        + ";" + s.getQuality())
+                .collect(Collectors.joining("\n")));
+    }
+}
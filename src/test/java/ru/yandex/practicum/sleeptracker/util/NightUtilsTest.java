@@ -7,6 +7,9 @@ import ru.yandex.practicum.sleeptracker.model.SleepQuality;
 
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.stream.LongStream;
 import static org.junit.jupiter.api.Assertions.*;
 
 class NightUtilsTest {
@@ -176,4 +179,89 @@ class NightUtilsTest {
 
         assertEquals(LocalDate.of(2025, 10, 2), nightDate);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Сессия, закончившаяся ровно в 00:00, должна пересекаться с ночью")
+    void testOverlapsNightInterval_EndsExactlyAtMidnight() {
+        assertTrue(NightUtils.overlapsNightInterval(
+                LocalDateTime.of(2025, 10, 1, 22, 0), LocalDateTime.of(2025, 10, 2, 0, 0)));
+        assertFalse(NightUtils.overlapsNightInterval(
+                LocalDateTime.of(2025, 10, 1, 22, 0), LocalDateTime.of(2025, 10, 1, 23, 59, 59)));
+    }
+
+    @Test
+    @DisplayName("Сессия, начавшаяся ровно в 06:00, должна пересекаться с ночью")
+    void testOverlapsNightInterval_StartsExactlyAt6AM() {
+        assertTrue(NightUtils.overlapsNightInterval(
+                LocalDateTime.of(2025, 10, 1, 6, 0), LocalDateTime.of(2025, 10, 1, 9, 0)));
+        assertFalse(NightUtils.overlapsNightInterval(
+                LocalDateTime.of(2025, 10, 1, 6, 0, 0, 1), LocalDateTime.of(2025, 10, 1, 9, 0)));
+    }
+
+    @Test
+    @DisplayName("Арифметическая проверка должна совпадать с перебором ночей")
+    void testOverlapsNightInterval_MatchesDayByDayCheck() {
+        Random random = new Random(31);
+        LocalDateTime origin = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < 50_000; i++) {
+            LocalDateTime start = origin.plusSeconds(random.nextInt(400 * 24 * 3600))
+                    .withSecond(random.nextInt(4) == 0 ? random.nextInt(60) : 0);
+            LocalDateTime end = start.plusMinutes(random.nextInt(random.nextBoolean() ? 600 : 5_000))
+                    .withSecond(random.nextInt(4) == 0 ? random.nextInt(60) : 0);
+
+            assertEquals(overlapsDayByDay(start, end), NightUtils.overlapsNightInterval(start, end),
+                    start + " - " + end);
+            assertEquals(overlapsDayByDay(start.withSecond(0), end.withSecond(0)),
+                    NightUtils.overlapsNightInterval(EpochMinutes.of(start), EpochMinutes.of(end)),
+                    start + " - " + end);
+        }
+    }
+
+    @Test
+    @DisplayName("Пакетная проверка по массивам минут должна совпадать с поштучной")
+    void testOverlapsNightInterval_Batch() {
+        Random random = new Random(32);
+        int count = 1_000;
+        int[] starts = new int[count];
+        int[] ends = new int[count];
+        int expectedOverlapping = 0;
+        boolean[] expected = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            starts[i] = 29_000_000 + random.nextInt(1_000_000);
+            ends[i] = starts[i] + random.nextInt(3_000);
+            expected[i] = NightUtils.overlapsNightInterval(
+                    EpochMinutes.toLocalDateTime(starts[i]), EpochMinutes.toLocalDateTime(ends[i]));
+            expectedOverlapping += expected[i] ? 1 : 0;
+        }
+
+        boolean[] result = new boolean[count];
+        int overlapping = NightUtils.overlapsNightInterval(starts, ends, count, result);
+
+        assertArrayEquals(expected, result);
+        assertEquals(expectedOverlapping, overlapping);
+    }
+
+    @Test
+    @DisplayName("День эпохи ночи должен совпадать с датой ночи")
+    void testGetNightEpochDay() {
+        LocalDateTime time = LocalDateTime.of(2025, 10, 2, 0, 0);
+        for (int minute = -3 * 1440; minute < 3 * 1440; minute += 17) {
+            LocalDateTime timestamp = time.plusMinutes(minute);
+            long expected = NightUtils.getNightDate(timestamp).toEpochDay();
+
+            assertEquals(expected, NightUtils.getNightEpochDay(timestamp));
+            assertEquals(expected, NightUtils.getNightEpochDay(EpochMinutes.of(timestamp)));
+        }
+    }
+
+    private static boolean overlapsDayByDay(LocalDateTime start, LocalDateTime end) {
+        long daysBetween = ChronoUnit.DAYS.between(start.toLocalDate(), end.toLocalDate());
+        return LongStream.rangeClosed(0, daysBetween)
+                .mapToObj(offset -> start.toLocalDate().plusDays(offset))
+                .anyMatch(date -> {
+                    LocalDateTime nightStart = date.atStartOfDay();
+                    LocalDateTime nightEnd = nightStart.plusHours(6);
+                    return !end.isBefore(nightStart) && !start.isAfter(nightEnd);
+                });
+    }
+}
@@ -0,0 +1,74 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionOverlapMergerTest {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yy HH:mm");
+
+    private final List<SleepingSession> devices = List.of(
+            session("01.10.25 23:00", "02.10.25 07:00", SleepQuality.GOOD),
+            session("03.10.25 22:00", "04.10.25 06:00", SleepQuality.NORMAL),
+            session("01.10.25 22:30", "02.10.25 06:30", SleepQuality.NORMAL),
+            session("02.10.25 06:00", "02.10.25 08:00", SleepQuality.BAD),
+            session("03.10.25 22:00", "04.10.25 06:00", SleepQuality.NORMAL),
+            session("04.10.25 06:00", "04.10.25 07:00", SleepQuality.GOOD)
+    );
+
+    @Test
+    @DisplayName("Пересекающиеся и повторяющиеся сессии должны объединяться в одну")
+    void testOverlapsAndDuplicatesAreMerged() {
+        SessionOverlapMerger.Result result = SessionOverlapMerger.normalize(devices,
+                SessionOverlapMerger.QualityPolicy.WORST);
+        List<SleepingSession> sessions = result.getSessions();
+
+        assertEquals(3, sessions.size());
+        assertEquals(3, result.getMergedCount());
+        assertEquals(LocalDateTime.of(2025, 10, 1, 22, 30), sessions.get(0).getSleepStart());
+        assertEquals(LocalDateTime.of(2025, 10, 2, 8, 0), sessions.get(0).getSleepEnd());
+        assertEquals(SleepQuality.BAD, sessions.get(0).getQuality());
+        assertEquals(480, sessions.get(1).getDurationInMinutes());
+        assertEquals(SleepQuality.GOOD, sessions.get(2).getQuality(), "Соприкасающиеся сессии не объединяются");
+    }
+
+    @Test
+    @DisplayName("Качество объединенной сессии должно выбираться политикой")
+    void testQualityPolicies() {
+        assertEquals(SleepQuality.GOOD, SessionOverlapMerger.normalize(devices,
+                SessionOverlapMerger.QualityPolicy.BEST).getSessions().get(0).getQuality());
+        assertEquals(SleepQuality.NORMAL, SessionOverlapMerger.normalize(devices,
+                SessionOverlapMerger.QualityPolicy.LONGEST).getSessions().get(0).getQuality());
+    }
+
+    @Test
+    @DisplayName("Поток должен передаваться дальше с учетом счетчиков и проверкой порядка")
+    void testStreamingCountsAndOrderCheck() {
+        List<SleepingSession> output = new ArrayList<>();
+        SessionOverlapMerger merger = new SessionOverlapMerger(SessionOverlapMerger.QualityPolicy.WORST, output::add);
+        merger.accept(session("01.10.25 22:00", "02.10.25 06:00", SleepQuality.GOOD));
+        merger.accept(session("01.10.25 22:00", "01.10.25 22:00", SleepQuality.GOOD));
+        merger.accept(session("05.10.25 22:00", "06.10.25 06:00", SleepQuality.GOOD));
+
+        assertEquals(1, output.size(), "Последняя сессия ждет возможного пересечения");
+        assertEquals(1, merger.getMergedCount());
+        merger.finish();
+        assertEquals(2, output.size());
+        assertEquals(3, merger.getInputCount());
+        assertEquals(2, merger.getOutputCount());
+        assertEquals(1, merger.getMergedCount());
+        assertThrows(IllegalArgumentException.class,
+                () -> merger.accept(session("04.10.25 22:00", "05.10.25 06:00", SleepQuality.GOOD)));
+    }
+
+    private static SleepingSession session(String start, String end, SleepQuality quality) {
+        return new SleepingSession(LocalDateTime.parse(start, FORMATTER), LocalDateTime.parse(end, FORMATTER),
+                quality);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SleepDateRangeTest {
+    private static final SleepDateRange FEBRUARY = SleepDateRange.of(LocalDate.of(2025, 2, 1),
+            LocalDate.of(2025, 2, 28));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Диапазон должен включать обе границы по началу сна")
+    void testContainsByStart() {
+        assertTrue(FEBRUARY.contains(session(LocalDateTime.of(2025, 2, 1, 0, 0))));
+        assertTrue(FEBRUARY.contains(session(LocalDateTime.of(2025, 2, 28, 23, 59))));
+        assertFalse(FEBRUARY.contains(session(LocalDateTime.of(2025, 1, 31, 23, 59))));
+        assertFalse(FEBRUARY.contains(session(LocalDateTime.of(2025, 3, 1, 0, 0))));
+        assertTrue(SleepDateRange.ALL.contains(session(LocalDateTime.of(1999, 1, 1, 0, 0))));
+        assertEquals(SleepDateRange.of(LocalDate.of(2025, 1, 2), LocalDate.of(2025, 1, 31)).toString(),
+                SleepDateRange.lastDays(30, LocalDate.of(2025, 1, 31)).toString());
+        assertThrows(IllegalArgumentException.class,
+                () -> SleepDateRange.of(LocalDate.of(2025, 2, 2), LocalDate.of(2025, 2, 1)));
+    }
+
+    @Test
+    @DisplayName("Отбор по байтам даты должен давать те же записи, что полный разбор с фильтром")
+    void testPushdownMatchesFullParse() {
+        List<String> lines = new ArrayList<>(List.of(
+                "31.01.25 24:00;01.02.25 07:00;GOOD",
+                "31.02.25 22:00;01.03.25 07:00;GOOD",
+                "28.02.25 24:00;01.03.25 07:00;BAD",
+                "  01.02.25 22:00;02.02.25 07:00;NORMAL",
+                "01.02.25 22:00;01.02.25 21:00;NORMAL",
+                "xx.02.25 22:00;02.02.25 07:00;GOOD",
+                "15.02"));
+        Random random = new Random(3);
+        for (int i = 0; i < 2000; i++) {
+            lines.add(String.format("%02d.%02d.%02d %02d:%02d;%02d.%02d.%02d 23:59;%s",
+                    1 + random.nextInt(31), 1 + random.nextInt(12), 24 + random.nextInt(3),
+                    random.nextInt(25), random.nextInt(60),
+                    28, 12, 26, SleepQuality.values()[random.nextInt(3)]));
+        }
+
+        for (String line : lines) {
+            byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+            long full = FastSleepSessionParser.parseRecord(line);
+            boolean inRange = full != FastSleepSessionParser.INVALID
+                    && FEBRUARY.contains(FastSleepSessionParser.startMinute(full));
+            long expected = inRange ? full : FastSleepSessionParser.INVALID;
+            assertEquals(expected, FastSleepSessionParser.parseRecord(bytes, 0, bytes.length, FEBRUARY), line);
+        }
+    }
+
+    @Test
+    @DisplayName("Загрузчик должен возвращать только сессии из диапазона")
+    void testLoaderAppliesRange() throws IOException {
+        Path file = tempDir.resolve("log.txt");
+        Files.writeString(file, String.join("\n",
+                "30.01.25 22:00;31.01.25 07:00;GOOD",
+                "01.02.25 22:00;02.02.25 07:00;BAD",
+                "27.02.25 22:00;28.02.25 07:00;NORMAL",
+                "01.03.25 22:00;02.03.25 07:00;GOOD"));
+
+        List<SleepingSession> sessions = MappedSleepLogLoader.load(file, ForkJoinPool.commonPool(), 16, FEBRUARY);
+        List<SleepingSession> columns = MappedSleepLogLoader.loadColumns(file, FEBRUARY).asList();
+
+        assertEquals(List.of(SleepQuality.BAD, SleepQuality.NORMAL),
+                sessions.stream().map(SleepingSession::getQuality).collect(Collectors.toList()));
+        assertEquals(sessions.stream().map(SleepingSession::getSleepStart).collect(Collectors.toList()),
+                columns.stream().map(SleepingSession::getSleepStart).collect(Collectors.toList()));
+        assertEquals(2, MultiFileSleepLogLoader.load(tempDir.toString(), FEBRUARY).size());
+
+        List<SleepingSession> streamed = new ArrayList<>();
+        long count = SleepLogReader.forEachRecord(Files.newInputStream(file), FEBRUARY,
+                record -> streamed.add(FastSleepSessionParser.toSession(record)));
+        assertEquals(2, count);
+        assertEquals(sessions.stream().map(SleepingSession::getSleepStart).collect(Collectors.toList()),
+                streamed.stream().map(SleepingSession::getSleepStart).collect(Collectors.toList()));
+    }
+
+    private static SleepingSession session(LocalDateTime start) {
+        return new SleepingSession(start, start.plusHours(8), SleepQuality.GOOD);
+    }
+}
@@ -0,0 +1,169 @@
+package ru.yandex.practicum.sleeptracker.util;
+
+import ru.yandex.practicum.sleeptracker.model.SleepQuality;
+import ru.yandex.practicum.sleeptracker.model.SleepingSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SleepLogTailerTest {
+    private static final String FIRST = "01.10.25 22:15;02.10.25 08:00;GOOD";
+    private static final String SECOND = "02.10.25 23:00;03.10.25 08:00;NORMAL";
+    private static final String THIRD = "03.10.25 23:30;04.10.25 06:20;BAD";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Первый опрос должен прочитать весь файл, а последнюю строку без перевода строки - при закрытии")
+    void testInitialPollReadsWholeFile() throws IOException {
+        Path log = tempDir.resolve("sleep_log.txt");
+        Files.writeString(log, FIRST + "\nнекорректная строка\n" + SECOND);
+        List<SleepingSession> sessions = new ArrayList<>();
+
+        try (SleepLogTailer tailer = new SleepLogTailer(log, sessions::add)) {
+            assertEquals(1, tailer.poll().getSessions());
+            assertFalse(tailer.poll().hasChanges());
+            assertEquals(Files.size(log), tailer.getOffset());
+        }
+        assertEquals(2, sessions.size());
+        assertEquals(SleepQuality.NORMAL, sessions.get(1).getQuality());
+    }
+
+    @Test
+    @DisplayName("Должен разбирать только дописанные строки и ждать завершения неполной строки")
+    void testAppendedAndPartialLines() throws IOException {
+        Path log = tempDir.resolve("sleep_log.txt");
+        Files.writeString(log, FIRST + "\n");
+        List<SleepingSession> sessions = new ArrayList<>();
+
+        try (SleepLogTailer tailer = new SleepLogTailer(log, sessions::add)) {
+            tailer.poll();
+            Files.writeString(log, SECOND.substring(0, 20), StandardOpenOption.APPEND);
+            assertEquals(0, tailer.poll().getSessions());
+
+            Files.writeString(log, SECOND.substring(20) + "\n" + THIRD + "\n", StandardOpenOption.APPEND);
+            assertEquals(2, tailer.poll().getSessions());
+        }
+        assertEquals(3, sessions.size());
+        assertEquals(SleepQuality.BAD, sessions.get(2).getQuality());
+    }
+
+    @Test
+    @DisplayName("Корректная строка без перевода строки должна учитываться один раз после ее завершения")
+    void testTerminatingAcceptedLineDoesNotDuplicate() throws IOException {
+        Path log = tempDir.resolve("sleep_log.txt");
+        Files.writeString(log, FIRST);
+        List<SleepingSession> sessions = new ArrayList<>();
+
+        try (SleepLogTailer tailer = new SleepLogTailer(log, sessions::add)) {
+            assertEquals(0, tailer.poll().getSessions());
+            Files.writeString(log, "  \n" + SECOND + "\n", StandardOpenOption.APPEND);
+            assertEquals(2, tailer.poll().getSessions());
+        }
+        assertEquals(2, sessions.size());
+    }
+
+    @Test
+    @DisplayName("Продолжение корректной на вид строки, делающее ее некорректной, не должно давать сессию")
+    void testContinuationInvalidatingLineIsRejected() throws IOException {
+        Path log = tempDir.resolve("sleep_log.txt");
+        Files.writeString(log, FIRST + "\n" + THIRD);
+        List<SleepingSession> sessions = new ArrayList<>();
+
+        try (SleepLogTailer tailer = new SleepLogTailer(log, sessions::add)) {
+            assertEquals(1, tailer.poll().getSessions());
+            Files.writeString(log, ";x\n" + THIRD, StandardOpenOption.APPEND);
+            assertEquals(0, tailer.poll().getSessions());
+            Files.writeString(log, " X\n", StandardOpenOption.APPEND);
+            assertEquals(0, tailer.poll().getSessions());
+        }
+        assertEquals(1, sessions.size());
+        assertEquals(SleepQuality.GOOD, sessions.get(0).getQuality());
+    }
+
+    @Test
+    @DisplayName("После усечения файла чтение должно начаться с начала нового содержимого")
+    void testTruncation() throws IOException {
+        Path log = tempDir.resolve("sleep_log.txt");
+        Files.writeString(log, FIRST + "\n" + SECOND + "\n");
+        List<SleepingSession> sessions = new ArrayList<>();
+
+        try (SleepLogTailer tailer = new SleepLogTailer(log, sessions::add)) {
+            tailer.poll();
+            Files.writeString(log, THIRD + "\n");
+            SleepLogTailer.Update update = tailer.poll();
+
+            assertTrue(update.isTruncated());
+            assertEquals(1, update.getSessions());
+            assertEquals(Files.size(log), tailer.getOffset());
+        }
+        assertEquals(3, sessions.size());
+    }
+
+    @Test
+    @DisplayName("При ротации должен дочитать старый файл и перейти к новому")
+    void testRotation() throws IOException {
+        Path log = tempDir.resolve("sleep_log.txt");
+        Files.writeString(log, FIRST + "\n");
+        List<SleepingSession> sessions = new ArrayList<>();
+
+        try (SleepLogTailer tailer = new SleepLogTailer(log, sessions::add)) {
+            tailer.poll();
+            Files.writeString(log, SECOND, StandardOpenOption.APPEND);
+            Files.move(log, tempDir.resolve("sleep_log.txt.1"));
+            assertEquals(0, tailer.poll().getSessions(), "Переименованный файл еще может дописываться");
+
+            Files.writeString(log, THIRD + "\n");
+            SleepLogTailer.Update update = tailer.poll();
+
+            assertTrue(update.isRotated());
+            assertEquals(2, update.getSessions(), "После ротации незавершенная строка старого файла учитывается");
+        }
+        assertEquals(3, sessions.size());
+        assertEquals(SleepQuality.BAD, sessions.get(2).getQuality());
+    }
+
+    @Test
+    @DisplayName("Режим слежения должен сообщать о новых строках")
+    void testFollowReportsAppends() throws Exception {
+        Path log = tempDir.resolve("sleep_log.txt");
+        Files.writeString(log, FIRST + "\n");
+        List<SleepingSession> sessions = new CopyOnWriteArrayList<>();
+        CountDownLatch updates = new CountDownLatch(2);
+
+        try (SleepLogTailer tailer = new SleepLogTailer(log, sessions::add)) {
+            Thread follower = new Thread(() -> {
+                try {
+                    tailer.follow(Duration.ofMillis(50), update -> updates.countDown());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            follower.start();
+            while (sessions.isEmpty()) {
+                Thread.sleep(10);
+            }
+            Files.writeString(log, SECOND + "\n", StandardOpenOption.APPEND);
+
+            assertTrue(updates.await(5, TimeUnit.SECONDS));
+            follower.interrupt();
+            follower.join(5_000);
+            assertFalse(follower.isAlive());
+        }
+        assertEquals(2, sessions.size());
+    }
+}
@@ -0,0 +1,95 @@
+package ru.yandex.practicum.sleeptracker.model;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Ядра агрегатов на Vector API с предпочтительной для процессора шириной вектора.
+ * Компилируется и запускается только с {@code --add-modules jdk.incubator.vector}, например:
+ * {@code javac --add-modules jdk.incubator.vector -cp out -d out src/vector/java/.../VectorColumnKernels.java}.
+ * Загружается из {@link ColumnKernels#vector()} через отражение, поэтому основной код от модуля не зависит.
+ */
+final class VectorColumnKernels implements ColumnKernels {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+
+    VectorColumnKernels() {
+    }
+
+    @Override
+    public String getName() {
+        return "Vector API, " + INTS.vectorBitSize() + " бит";
+    }
+
+    @Override
+    public int min(int[] values, int from, int to) {
+        IntVector lanes = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            lanes = lanes.min(IntVector.fromArray(INTS, values, i));
+        }
+        int result = lanes.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) {
+            result = Math.min(result, values[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public int max(int[] values, int from, int to) {
+        IntVector lanes = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            lanes = lanes.max(IntVector.fromArray(INTS, values, i));
+        }
+        int result = lanes.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            result = Math.max(result, values[i]);
+        }
+        return result;
+    }
+
+    // Сумма int может переполниться, поэтому каждая половина вектора расширяется до long
+    @Override
+    public long sum(int[] values, int from, int to) {
+        LongVector low = LongVector.zero(LongVector.SPECIES_PREFERRED);
+        LongVector high = low;
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            IntVector vector = IntVector.fromArray(INTS, values, i);
+            low = low.add(vector.convert(VectorOperators.I2L, 0));
+            high = high.add(vector.convert(VectorOperators.I2L, 1));
+        }
+        long result = low.add(high).reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            result += values[i];
+        }
+        return result;
+    }
+
+    // Маска сравнения с порядковым номером качества считается за одну инструкцию подсчета битов
+    @Override
+    public long[] countQualities(byte[] qualities, int from, int to) {
+        long normal = 0;
+        long bad = 0;
+        int i = from;
+        for (int bound = from + BYTES.loopBound(to - from); i < bound; i += BYTES.length()) {
+            ByteVector vector = ByteVector.fromArray(BYTES, qualities, i);
+            normal += vector.eq((byte) SleepQuality.NORMAL.ordinal()).trueCount();
+            bad += vector.eq((byte) SleepQuality.BAD.ordinal()).trueCount();
+        }
+        for (; i < to; i++) {
+            int quality = qualities[i];
+            normal += quality & 1;
+            bad += quality >> 1;
+        }
+        long[] counts = new long[SleepQuality.values().length];
+        counts[SleepQuality.NORMAL.ordinal()] = normal;
+        counts[SleepQuality.BAD.ordinal()] = bad;
+        counts[SleepQuality.GOOD.ordinal()] = (long) (to - from) - normal - bad;
+        return counts;
+    }
+}